@@ -29,7 +29,9 @@ CREATE TABLE `cart` (
                         `member_id` bigint DEFAULT NULL,
                         `product_id` bigint DEFAULT NULL,
                         `quantity` bigint DEFAULT NULL,
+                        `updated_at` datetime(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
                         PRIMARY KEY (`cart_id`),
+                        UNIQUE KEY `uk_cart_member_product` (`member_id`,`product_id`),
                         KEY `FKix170nytunweovf2v9137mx2o` (`member_id`),
                         KEY `FK3d704slv66tw6x5hmbm6p2x3u` (`product_id`),
                         CONSTRAINT `FK3d704slv66tw6x5hmbm6p2x3u` FOREIGN KEY (`product_id`) REFERENCES `product` (`product_id`),
@@ -0,0 +1,25 @@
+-- cart(member_id, product_id) 유니크 키 추가 (이미 운영 중인 DB 에 한 번 실행)
+-- 새로 만드는 DB 는 init.sql 에 같은 키가 포함되어 있으므로 실행하지 않는다.
+-- 같은 상품이 중복으로 담긴 행은 가장 먼저 담긴 행 하나만 남기고, 수량은 중복 행 중 가장 큰 값으로 맞춘다.
+
+START TRANSACTION;
+
+UPDATE cart c
+    JOIN (SELECT member_id, product_id, MIN(cart_id) AS keep_id, MAX(quantity) AS max_quantity
+          FROM cart
+          GROUP BY member_id, product_id
+          HAVING COUNT(*) > 1) d
+    ON c.cart_id = d.keep_id
+SET c.quantity = d.max_quantity;
+
+DELETE c
+FROM cart c
+         JOIN cart k
+              ON k.member_id = c.member_id
+                  AND k.product_id = c.product_id
+                  AND k.cart_id < c.cart_id;
+
+COMMIT;
+
+ALTER TABLE cart
+    ADD UNIQUE KEY uk_cart_member_product (member_id, product_id);
@@ -0,0 +1,7 @@
+-- cart.updated_at 추가 (이미 운영 중인 DB 에 한 번 실행)
+-- 새로 만드는 DB 는 init.sql 에 같은 컬럼이 포함되어 있으므로 실행하지 않는다.
+-- 행이 추가되거나 수량이 바뀔 때 DB 가 채우며, 비활성 장바구니 정리(CartPurgeJob)가 회원의 마지막 장바구니 변경 시각으로 사용한다.
+-- 기존 행은 실행 시각으로 채워지므로 실행 후 cart.purge.inactive-days 가 지나야 정리 대상이 된다.
+
+ALTER TABLE cart
+    ADD COLUMN updated_at datetime(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
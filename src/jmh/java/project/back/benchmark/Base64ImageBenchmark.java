@@ -0,0 +1,61 @@
+package project.back.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+import project.back.service.image.Base64ImageCache;
+import project.back.service.image.ProductImage;
+import project.back.service.image.ProductImageCatalog;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /products?imageFormat=base64 의 상품 이미지 변환 (static/images 14개 한 바퀴):
+ * 요청마다 클래스패스에서 읽어 인코딩하던 기존 방식 vs 시작할 때 인코딩해 둔 Base64ImageCache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Base64ImageBenchmark {
+
+    private List<String> imagePaths;
+    private Base64ImageCache cache;
+
+    @Setup
+    public void setUp() throws IOException {
+        ProductImageCatalog catalog = new ProductImageCatalog("");
+        cache = new Base64ImageCache(catalog, 64L * 1024 * 1024);
+        imagePaths = catalog.findAll().stream()
+                .map(ProductImage::fileName)
+                .sorted()
+                .map(fileName -> "/" + fileName)
+                .toList();
+    }
+
+    @Benchmark
+    public void encodePerRequest(Blackhole blackhole) throws IOException {
+        for (String imagePath : imagePaths) {
+            Resource resource = new ClassPathResource("static/images" + imagePath);
+            byte[] imageData = StreamUtils.copyToByteArray(resource.getInputStream());
+            blackhole.consume("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(imageData));
+        }
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        for (String imagePath : imagePaths) {
+            blackhole.consume(cache.dataUrl(imagePath));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package project.back.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import project.back.etc.pricing.FixedPointPrice;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 행 10,000개의 최종가격 합계: 기존 BigDecimal 계산 vs 정수 고정소수점 계산
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FinalPriceBenchmark {
+
+    private static final int ROW_COUNT = 10_000;
+
+    private long[] prices;
+    private BigDecimal[] discountRates;
+    private int[] basisPoints;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(6);
+        prices = new long[ROW_COUNT];
+        discountRates = new BigDecimal[ROW_COUNT];
+        basisPoints = new int[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            prices[i] = 500L + random.nextInt(50_000);
+            discountRates[i] = (random.nextInt(3) == 0) ? BigDecimal.valueOf(random.nextInt(500), 1) : BigDecimal.ZERO;
+            basisPoints[i] = FixedPointPrice.toBasisPoints(discountRates[i]);
+        }
+    }
+
+    @Benchmark
+    public long bigDecimal() {
+        long total = 0L;
+        for (int i = 0; i < ROW_COUNT; i++) {
+            BigDecimal price = BigDecimal.valueOf(prices[i]);
+            BigDecimal discount = discountRates[i].divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+            total += price.subtract(price.multiply(discount)).setScale(0, RoundingMode.HALF_UP).longValue();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long fixedPoint() {
+        long total = 0L;
+        for (int i = 0; i < ROW_COUNT; i++) {
+            total += FixedPointPrice.finalPrice(prices[i], basisPoints[i]);
+        }
+        return total;
+    }
+}
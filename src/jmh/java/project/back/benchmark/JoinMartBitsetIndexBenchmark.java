@@ -0,0 +1,69 @@
+package project.back.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import project.back.dto.DiscountInfoDto;
+import project.back.service.pricing.JoinMartBitsetIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10만 상품 합성 카탈로그에서 조인마트 비트셋 인덱스 조회 성능
+ * DB 의 GROUP BY/HAVING 쿼리와의 비교는 JoinMartSellingAllBenchmarkTest (./gradlew benchmarkTest)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JoinMartBitsetIndexBenchmark {
+
+    private static final int PRODUCT_COUNT = 100_000;
+
+    @Param({"7", "300"})
+    private int joinMartCount;
+
+    @Param({"10", "40"})
+    private int cartSize;
+
+    private JoinMartBitsetIndex index;
+    private List<Long> cart;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<DiscountInfoDto> rows = new ArrayList<>();
+        for (long productId = 1; productId <= PRODUCT_COUNT; productId++) {
+            for (long joinId = 1; joinId <= joinMartCount; joinId++) {
+                if (random.nextInt(10) < 8) {
+                    rows.add(new DiscountInfoDto(productId, null, joinId, null, 1000L, null));
+                }
+            }
+        }
+        index = new JoinMartBitsetIndex();
+        index.rebuild(rows);
+
+        cart = new ArrayList<>();
+        for (int i = 0; i < cartSize; i++) {
+            cart.add(1L + random.nextInt(PRODUCT_COUNT));
+        }
+    }
+
+    @Benchmark
+    public List<Long> sellingAll() {
+        return index.findJoinIdsSellingAll(cart);
+    }
+
+    @Benchmark
+    public Map<Long, Integer> sellingAtLeastHalf() {
+        return index.findJoinIdsSellingAtLeast(cart, cartSize / 2);
+    }
+}
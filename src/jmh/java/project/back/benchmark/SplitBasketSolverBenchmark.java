@@ -0,0 +1,65 @@
+package project.back.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import project.back.service.pricing.SplitBasketSolver;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 합성 장바구니에 대한 마트 분할 구매 탐색 시간
+ * 상품 기준가에 마트별 가격 수준과 상품별 편차를 곱한 가격, 판매율 80%
+ * 결과의 optimal 이 false 면 시간 예산(50ms) 안에 탐색을 끝내지 못한 것이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SplitBasketSolverBenchmark {
+
+    private static final long TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Param({"10", "50"})
+    private int cartSize;
+
+    @Param({"50", "300"})
+    private int joinMartCount;
+
+    @Param({"1", "2", "3"})
+    private int maxStores;
+
+    @Param({"0", "1000"})
+    private long storePenalty;
+
+    private long[][] costs;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(8);
+        double[] priceLevel = new double[joinMartCount];
+        for (int s = 0; s < joinMartCount; s++) {
+            priceLevel[s] = 0.9 + random.nextDouble() * 0.2;
+        }
+        costs = new long[cartSize][joinMartCount];
+        for (int j = 0; j < cartSize; j++) {
+            long basePrice = 1_000 + random.nextInt(9_000);
+            long quantity = 1 + random.nextInt(3);
+            for (int s = 0; s < joinMartCount; s++) {
+                costs[j][s] = (random.nextInt(10) < 8)
+                        ? Math.round(basePrice * priceLevel[s] * (0.95 + random.nextDouble() * 0.1)) * quantity
+                        : SplitBasketSolver.NOT_SOLD;
+            }
+        }
+    }
+
+    @Benchmark
+    public SplitBasketSolver.Result solve() {
+        return SplitBasketSolver.solve(costs, joinMartCount, maxStores, storePenalty, TIME_BUDGET_NANOS);
+    }
+}
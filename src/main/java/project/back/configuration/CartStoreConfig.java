@@ -0,0 +1,14 @@
+package project.back.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 장바구니 스케줄 작업 활성화
+ * Redis write-behind 모드의 주기적인 MySQL 반영(CartWriteBehindFlusher), MySQL 모드의 비활성 장바구니 정리(CartPurgeJob),
+ * 가격 데이터 변경 확인 후 가격 행렬 재생성(PriceMatrixEngine), 올리지 못한 장바구니 버전 재시도(CartVersionRegistry)
+ */
+@Configuration
+@EnableScheduling
+public class CartStoreConfig {
+}
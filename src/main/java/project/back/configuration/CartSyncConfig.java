@@ -0,0 +1,36 @@
+package project.back.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import project.back.service.cart.CartSyncRelay;
+
+/**
+ * 장바구니 실시간 동기화용 Redis pub/sub 구독
+ * 메시지 전송은 작은 고정 스레드 풀에서 처리한다. (기본 설정은 메시지마다 스레드를 만든다)
+ * 세션 쓰기는 CartSyncHub 의 쓰기 전용 스레드 풀에 넘기므로 느린 클라이언트가 이 스레드를 막지 않는다.
+ */
+@Configuration
+public class CartSyncConfig {
+
+    @Bean
+    public RedisMessageListenerContainer cartSyncListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                   CartSyncRelay cartSyncRelay) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("cart-sync-");
+        executor.setDaemon(true);
+        executor.initialize();
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.setTaskExecutor(executor);
+        container.addMessageListener(cartSyncRelay, new ChannelTopic(CartSyncRelay.CHANNEL));
+        return container;
+    }
+}
@@ -1,9 +1,11 @@
 package project.back.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,12 +15,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import project.back.dto.ApiResponse;
+import project.back.dto.CartBatchRequestDto;
+import project.back.dto.CartDeltaDto;
 import project.back.dto.CartDto;
 import project.back.dto.ProductSearchDto;
 import project.back.etc.RequestMemberMapper;
 import project.back.service.CartService;
+import project.back.service.cart.CartCommandExecutor;
+import project.back.service.cart.CartSyncHub;
 
 @Validated
 @RestController
@@ -28,8 +36,12 @@ public class CartController {
 
     private final CartService cartService;
     private final RequestMemberMapper requestMemberMapper;
+    private final CartSyncHub cartSyncHub;
+    private final CartCommandExecutor cartCommandExecutor;
 
     private static final String INVALID_QUANTITY_MESSAGE = "1 이상의 숫자만 입력해주세요";
+    /** 변경 API 에 붙이면 장바구니 전체 대신 바뀐 상품과 장바구니 버전만 응답 (CartDeltaDto) */
+    private static final String DELTA_RESPONSE = "response=delta";
     /**
      * [GET] 장바구니 목록 조회
      *
@@ -43,6 +55,39 @@ public class CartController {
         return ResponseEntity.ok(cartService.getCartsByMemberId(memberId));
     }
 
+    /**
+     * [GET] 장바구니 변경분 조회 (?sinceVersion=)
+     *
+     * @param sinceVersion 클라이언트가 가진 장바구니 버전
+     * @param request      유저정보를 포함하고있는 HttpServletRequest
+     * @return sinceVersion 이후 바뀐 상품과 삭제된 상품 id, 현재 장바구니 버전
+     */
+    @GetMapping(params = "sinceVersion")
+    public ResponseEntity<ApiResponse<CartDeltaDto>> getCartChanges(
+            @Min(0) @RequestParam Long sinceVersion,
+            HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartService.getCartChanges(memberId, sinceVersion));
+    }
+
+    /**
+     * [GET] 장바구니 실시간 동기화 (SSE)
+     * 연결 직후 현재 장바구니 버전(version 이벤트)을, 이후 다른 기기를 포함한 장바구니 변경마다
+     * 바뀐 상품 id -> 수량과 버전(cart 이벤트, id = 버전)을 보낸다. 폴링 대신 사용한다.
+     * 버전은 모든 서버가 공유하므로 다른 서버로 재연결해도 이어서 비교할 수 있다.
+     * 받은 버전이 가진 버전 + 1 이 아니거나(-1 은 알 수 없음) 재연결했으면 GET /cart?sinceVersion= 으로 맞춘다.
+     *
+     * @param request 유저정보를 포함하고있는 HttpServletRequest
+     * @return 이벤트 스트림
+     */
+    @GetMapping(value = "/sync/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return cartSyncHub.subscribe(memberId);
+    }
+
     /**
      * [GET] productName 을 포함하는 검색한 모든 재료 검색
      *
@@ -69,7 +114,48 @@ public class CartController {
         // TODO: JwtUtil 자체에서 해결하도록 해보자
         Long memberId = requestMemberMapper.RequestToMemberId(request);
 
-        return ResponseEntity.ok(cartService.addProduct(cartDto, memberId));
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.addProduct(cartDto, memberId)));
+    }
+
+    /** [POST] 장바구니에 상품추가 (?response=delta) */
+    @PostMapping(params = DELTA_RESPONSE)
+    public ResponseEntity<ApiResponse<CartDeltaDto>> addProductDelta(
+            @RequestBody CartDto cartDto,
+            HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.addProductDelta(cartDto, memberId)));
+    }
+
+    /**
+     * [POST] 장바구니 일괄 변경
+     * 여러 상품의 추가(ADD)/수량 변경(SET)/수량 증감(DELTA)/삭제(DELETE)를 순서대로 한 트랜잭션에서 적용
+     *
+     * @param batchRequest (operations: type, productId, quantity, delta)
+     * @param request      유저정보를 포함하고있는 HttpServletRequest
+     * @return 장바구니 목록
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<CartDto>>> applyOperations(
+            @Valid @RequestBody CartBatchRequestDto batchRequest,
+            HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.applyOperations(batchRequest.getOperations(), memberId)));
+    }
+
+    /** [POST] 장바구니 일괄 변경 (?response=delta) */
+    @PostMapping(value = "/batch", params = DELTA_RESPONSE)
+    public ResponseEntity<ApiResponse<CartDeltaDto>> applyOperationsDelta(
+            @Valid @RequestBody CartBatchRequestDto batchRequest,
+            HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.applyOperationsDelta(batchRequest.getOperations(), memberId)));
     }
 
     /**
@@ -85,7 +171,19 @@ public class CartController {
             HttpServletRequest request) {
         Long memberId = requestMemberMapper.RequestToMemberId(request);
 
-        return ResponseEntity.ok(cartService.plusQuantity(productId, memberId));
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.plusQuantity(productId, memberId)));
+    }
+
+    /** [PATCH] 장바구니의 특정 상품 수량 증가(버튼) (?response=delta) */
+    @PatchMapping(value = "/plus/{productId}", params = DELTA_RESPONSE)
+    public ResponseEntity<ApiResponse<CartDeltaDto>> plusQuantityDelta(
+            @PathVariable Long productId,
+            HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.plusQuantityDelta(productId, memberId)));
     }
 
     /**
@@ -101,7 +199,19 @@ public class CartController {
             HttpServletRequest request) {
         Long memberId = requestMemberMapper.RequestToMemberId(request);
 
-        return ResponseEntity.ok(cartService.minusQuantity(productId, memberId));
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.minusQuantity(productId, memberId)));
+    }
+
+    /** [PATCH] 장바구니의 특정 상품 수량 감소(버튼) (?response=delta) */
+    @PatchMapping(value = "/minus/{productId}", params = DELTA_RESPONSE)
+    public ResponseEntity<ApiResponse<CartDeltaDto>> minusQuantityDelta(
+            @PathVariable Long productId,
+            HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.minusQuantityDelta(productId, memberId)));
     }
 
     /**
@@ -118,7 +228,20 @@ public class CartController {
             HttpServletRequest request) {
         Long memberId = requestMemberMapper.RequestToMemberId(request);
 
-        return ResponseEntity.ok(cartService.updateQuantity(productId, count, memberId));
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.updateQuantity(productId, count, memberId)));
+    }
+
+    /** [PATCH] 장바구니의 특정 상품 수량 변경(직접입력) (?response=delta) */
+    @PatchMapping(value = "/{count}/{productId}", params = DELTA_RESPONSE)
+    public ResponseEntity<ApiResponse<CartDeltaDto>> updateQuantityDelta(
+            @Min(value = 1, message = INVALID_QUANTITY_MESSAGE) @PathVariable Long count,
+            @PathVariable Long productId,
+            HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.updateQuantityDelta(productId, count, memberId)));
     }
 
     /**
@@ -134,7 +257,19 @@ public class CartController {
             HttpServletRequest request) {
         Long memberId = requestMemberMapper.RequestToMemberId(request);
 
-        return ResponseEntity.ok(cartService.deleteProduct(productId, memberId));
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.deleteProduct(productId, memberId)));
+    }
+
+    /** [DELETE] 장바구니 상품 삭제 (개별) (?response=delta) */
+    @DeleteMapping(value = "/{productId}", params = DELTA_RESPONSE)
+    public ResponseEntity<ApiResponse<CartDeltaDto>> deleteProductDelta(
+            @PathVariable Long productId,
+            HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.deleteProductDelta(productId, memberId)));
     }
 
     /**
@@ -147,6 +282,16 @@ public class CartController {
     public ResponseEntity<ApiResponse<List<CartDto>>> deleteAllProduct(HttpServletRequest request) {
         Long memberId = requestMemberMapper.RequestToMemberId(request);
 
-        return ResponseEntity.ok(cartService.deleteAllProduct(memberId));
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.deleteAllProduct(memberId)));
+    }
+
+    /** [DELETE] 장바구니 상품 삭제 (전체) (?response=delta) */
+    @DeleteMapping(params = DELTA_RESPONSE)
+    public ResponseEntity<ApiResponse<CartDeltaDto>> deleteAllProductDelta(HttpServletRequest request) {
+        Long memberId = requestMemberMapper.RequestToMemberId(request);
+
+        return ResponseEntity.ok(cartCommandExecutor.execute(memberId,
+                () -> cartService.deleteAllProductDelta(memberId)));
     }
 }
@@ -1,14 +1,24 @@
 package project.back.controller;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import project.back.configuration.LoginUser;
 import project.back.dto.ApiResponse;
+import project.back.dto.BasketComparisonRequestDto;
 import project.back.dto.DiscountInfoDto;
+import project.back.dto.MartCoverageDto;
+import project.back.dto.SplitBasketDto;
 import project.back.service.MartProductService;
 
 import java.util.List;
@@ -21,24 +31,134 @@ public class MartProductController {
 
     private final MartProductService martProductService;
 
-    /** 장바구니에 있는 모든 상품이 존재하는 마트 목록 + 마트별 합계 출력 */
+    /**
+     * 장바구니에 있는 모든 상품이 존재하는 마트 목록 + 마트별 합계 출력
+     * 장바구니/가격이 바뀌지 않았으면 (If-None-Match 일치) DB 조회 없이 304 반환
+     */
     @GetMapping
     public ResponseEntity<ApiResponse<Map<Long, Long>>> getMartsForCart(
-            @LoginUser Long memberId
+            @LoginUser Long memberId,
+            WebRequest webRequest
     ) {
+        String eTag = martProductService.findCartETag(memberId);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
         ApiResponse<Map<Long, Long>> productTotalPrices =
                 martProductService.findMartsByProductIds(memberId);
-        return ResponseEntity.ok(productTotalPrices);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(productTotalPrices);
     }
 
-    /** 마트별 상품 가격 세부사항 조회 */
+    /**
+     * 마트별 상품 가격 세부사항 조회
+     * 장바구니/가격이 바뀌지 않았으면 (If-None-Match 일치) DB 조회 없이 304 반환
+     */
     @GetMapping("/{martId}")
     public ResponseEntity<ApiResponse<List<DiscountInfoDto>>> getMartInfoForMartId(
             @PathVariable("martId") Long martId,
-            @LoginUser Long memberId
+            @LoginUser Long memberId,
+            WebRequest webRequest
     ) {
+        String eTag = martProductService.findCartETag(memberId);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
         ApiResponse<List<DiscountInfoDto>> martInfo =
                 martProductService.findMartInfoByMartId(martId, memberId);
-        return ResponseEntity.ok(martInfo);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(martInfo);
+    }
+
+    /**
+     * 여러 마트의 상품 가격 세부사항 조회 (예: /marts/selling/details?martIds=1,2,3)
+     * 장바구니/가격이 바뀌지 않았으면 (If-None-Match 일치) DB 조회 없이 304 반환
+     */
+    @GetMapping("/details")
+    public ResponseEntity<ApiResponse<Map<Long, List<DiscountInfoDto>>>> getMartInfosForMartIds(
+            @RequestParam("martIds") List<Long> martIds,
+            @LoginUser Long memberId,
+            WebRequest webRequest
+    ) {
+        String eTag = martProductService.findCartETag(memberId);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        ApiResponse<Map<Long, List<DiscountInfoDto>>> martInfos =
+                martProductService.findMartInfosByMartIds(martIds, memberId);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(martInfos);
+    }
+
+    /**
+     * 장바구니 상품을 일부만 판매하는 마트까지 포함한 비교 (예: /marts/selling/coverage?limit=20&martIds=1,2,3)
+     * 판매 상품 수가 많은 순, 같으면 합계가 낮은 순으로 정렬하며 빠진 상품 id 를 함께 반환
+     */
+    @GetMapping("/coverage")
+    public ResponseEntity<ApiResponse<List<MartCoverageDto>>> getMartsByCoverage(
+            @RequestParam(value = "martIds", required = false) List<Long> martIds,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @LoginUser Long memberId,
+            WebRequest webRequest
+    ) {
+        String eTag = martProductService.findCartETag(memberId);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        ApiResponse<List<MartCoverageDto>> martCoverages =
+                martProductService.findMartsByCoverage(martIds, limit, memberId);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(martCoverages);
+    }
+
+    /**
+     * 장바구니를 최대 maxStores 개 마트에 나눠 살 때의 최저 금액 조합
+     * (예: /marts/selling/split?maxStores=2&storePenalty=1000&martIds=1,2,3)
+     * maxStores 는 1 ~ MAX_SPLIT_STORES, storePenalty 는 0 ~ MAX_STORE_PENALTY 이며 벗어나면 400 반환
+     */
+    @GetMapping("/split")
+    public ResponseEntity<ApiResponse<SplitBasketDto>> getSplitBasket(
+            @RequestParam(value = "martIds", required = false) List<Long> martIds,
+            @RequestParam(value = "maxStores", defaultValue = "2") int maxStores,
+            @RequestParam(value = "storePenalty", defaultValue = "0") long storePenalty,
+            @LoginUser Long memberId,
+            WebRequest webRequest
+    ) {
+        String eTag = martProductService.findCartETag(memberId);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        ApiResponse<SplitBasketDto> splitBasket =
+                martProductService.findSplitBasket(martIds, maxStores, storePenalty, memberId);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(splitBasket);
+    }
+
+    /**
+     * 여러 후보 장바구니의 마트별 합계를 한 번에 비교 (장바구니에 담지 않음)
+     * 요청: {"baskets": [{"1": 2, "3": 1}, {"2": 1}]}, 응답: 요청 순서대로 martId -> 합계
+     */
+    @PostMapping("/baskets")
+    public ResponseEntity<ApiResponse<List<Map<Long, Long>>>> compareBaskets(
+            @Valid @RequestBody BasketComparisonRequestDto request
+    ) {
+        return ResponseEntity.ok(martProductService.compareBaskets(request.getBaskets()));
+    }
+
+    private <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .build();
     }
 }
@@ -1,13 +1,25 @@
 package project.back.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import project.back.dto.ApiResponse;
-import project.back.dto.ProductDto;
+import project.back.dto.ProductCatalogDeltaDto;
+import project.back.dto.ProductPageDto;
+import project.back.etc.commonException.NoContentFoundException;
+import project.back.etc.martproduct.MartAndProductMessage;
 import project.back.service.ProductService;
+import project.back.service.catalog.ProductCatalog;
 
 import java.util.List;
 
@@ -16,12 +28,99 @@ import java.util.List;
 @RequestMapping("/products")
 public class ProductController {
 
+    /** 이미지를 URL 대신 Base64 data URL 로 받는 이전 클라이언트 호환 형식 */
+    private static final String BASE64_IMAGE_FORMAT = "base64";
+    /** 스냅샷 응답의 상품 목록 버전 (GET /products?since= 에 사용) */
+    static final String CATALOG_VERSION_HEADER = "Catalog-Version";
+
     private final ProductService productService;
+    private final ProductCatalog productCatalog;
+
+    /** imageFormat 을 보내지 않는 (이전) 클라이언트에게 줄 이미지 형식 (url, base64), 새 클라이언트는 imageFormat=url 로 요청 */
+    @Value("${app.image.default-format:base64}")
+    private String defaultImageFormat = BASE64_IMAGE_FORMAT;
+
+    /**
+     * 상품 리스트 가져오기
+     * 이미지는 imageFormat=url 이면 GET /images/{hash}/{파일 이름} URL 로, base64 이면 Base64 data URL 로 담는다.
+     * imageFormat 을 보내지 않는 이전 클라이언트는 app.image.default-format (기본 base64) 을 따른다.
+     * URL 형식은 미리 만들어 둔 스냅샷(gzip 을 받으면 gzip)을 그대로 보내고, 버전과 인코딩이 같으면 (If-None-Match 일치) 304 반환
+     */
+    @GetMapping(params = "!since")
+    public ResponseEntity<?> getAllProductDtos(
+            @RequestParam(value = "imageFormat", required = false) String imageFormat,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        String format = imageFormat != null ? imageFormat : defaultImageFormat;
+        if (BASE64_IMAGE_FORMAT.equals(format)) {
+            return ResponseEntity.ok(productService.findAllProductDtosWithBase64Images());
+        }
+
+        ProductCatalog.Snapshot snapshot = productCatalog.current();
+        if (snapshot.isEmpty()) {
+            throw new NoContentFoundException(MartAndProductMessage.EMPTY_PRODUCT_LIST.getMessage());
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String eTag = snapshot.eTag(gzip);
+        if (webRequest.checkNotModified(eTag)) {
+            return snapshotHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), snapshot, eTag).build();
+        }
+        ResponseEntity.BodyBuilder builder = snapshotHeaders(ResponseEntity.ok(), snapshot, eTag);
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return builder.body(snapshot.json());
+    }
+
+    /** 상품 리스트 변경분 가져오기 (?since=상품 목록 버전, 기록이 없으면 full=true 로 전체) */
+    @GetMapping(params = "since")
+    public ResponseEntity<ApiResponse<ProductCatalogDeltaDto>> getProductChanges(@RequestParam("since") long since) {
+        return ResponseEntity.ok(ApiResponse.success(productCatalog.changesSince(since),
+                MartAndProductMessage.LOADED_PRODUCT_CHANGES.getMessage()));
+    }
+
+    /**
+     * 상품 리스트 페이지 가져오기 (예: /products/page?cursor=120&size=50&fields=productId,productName)
+     * cursor 는 이전 페이지의 nextCursor (첫 페이지는 생략), size 를 생략하면 app.product.page-size
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<ProductPageDto>> getProductPage(
+            @RequestParam(value = "cursor", defaultValue = "0") long cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        return ResponseEntity.ok(ApiResponse.success(productCatalog.page(cursor, size, fields),
+                MartAndProductMessage.LOADED_PRODUCT_PAGE.getMessage()));
+    }
+
+    private ResponseEntity.BodyBuilder snapshotHeaders(ResponseEntity.BodyBuilder builder,
+                                                       ProductCatalog.Snapshot snapshot, String eTag) {
+        return builder.eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(CATALOG_VERSION_HEADER, String.valueOf(snapshot.version()));
+    }
 
-    /** 상품 리스트 가져오기 */
-    @GetMapping
-    public ResponseEntity<ApiResponse<List<ProductDto>>> getAllProductDtos() {
-        ApiResponse<List<ProductDto>> productList = productService.findAllProductDtos();
-        return ResponseEntity.ok(productList);
+    /** Accept-Encoding 에 gzip(또는 *)이 q=0 이 아닌 값으로 있는지 */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].replace(" ", "");
+                rejected |= parameter.matches("q=0(\\.0{0,3})?");
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package project.back.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import project.back.etc.commonException.NoContentFoundException;
+import project.back.etc.martproduct.MartAndProductMessage;
+import project.back.service.image.ProductImage;
+import project.back.service.image.ProductImageCatalog;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 상품 이미지 (ProductDto 의 URL)
+ * URL 에 내용 해시가 들어 있으므로 한 번 받은 이미지는 1년 동안 다시 요청하지 않도록 immutable 로 응답한다.
+ * Range 요청(한 구간)은 206 으로 응답하고, 본문은 Tomcat sendfile 이 가능하면 sendfile 로,
+ * 아니면 FileChannel.transferTo 로 힙에 읽어 들이지 않고 전송한다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ProductImageController {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable()
+            .getHeaderValue();
+
+    private final ProductImageCatalog productImageCatalog;
+
+    /** [GET] 상품 이미지 (If-None-Match 일치하면 304, Range 한 구간이면 206) */
+    @GetMapping(ProductImageCatalog.URL_PREFIX + "{hash}/{fileName:.+}")
+    public void getImage(@PathVariable("hash") String hash,
+                         @PathVariable("fileName") String fileName,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        ProductImage image = productImageCatalog.findByFileName(fileName)
+                .filter(found -> found.hash().equals(hash))
+                .orElseThrow(() -> new NoContentFoundException(
+                        MartAndProductMessage.NOT_FOUND_PRODUCT_IMG.getMessage()));
+
+        response.setHeader(HttpHeaders.ETAG, image.eTag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(image.eTag())) {
+            return;
+        }
+
+        long start = 0;
+        long end = image.length() - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, image)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                // 여러 구간은 전체로 응답 (RFC 9110 에서 허용)
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(image.length());
+                    end = ranges.get(0).getRangeEnd(image.length());
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE,
+                            "bytes " + start + "-" + end + "/" + image.length());
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + image.length());
+                return;
+            }
+        }
+
+        response.setContentType(image.mediaType().toString());
+        response.setContentLengthLong(end - start + 1);
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        transfer(request, response, image, start, end - start + 1);
+    }
+
+    /** If-Range 가 없거나 현재 이미지의 ETag 와 같을 때만 Range 적용 */
+    private boolean rangeApplies(HttpServletRequest request, ProductImage image) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(image.eTag());
+    }
+
+    private void transfer(HttpServletRequest request, HttpServletResponse response, ProductImage image,
+                          long start, long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, image.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
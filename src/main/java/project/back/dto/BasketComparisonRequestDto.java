@@ -0,0 +1,25 @@
+package project.back.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class BasketComparisonRequestDto {
+    public static final int MAX_BASKETS = 100;
+
+    @NotEmpty(message = "비교할 장바구니를 1개 이상 입력해주세요")
+    @Size(max = MAX_BASKETS, message = "장바구니는 한 번에 100개까지 비교할 수 있습니다")
+    private List<@NotNull Map<@NotNull Long, @NotNull @Min(value = 1, message = "1 이상의 숫자만 입력해주세요") Long>> baskets;
+
+    public BasketComparisonRequestDto(List<Map<Long, Long>> baskets) {
+        this.baskets = baskets;
+    }
+}
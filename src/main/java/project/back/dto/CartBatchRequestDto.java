@@ -0,0 +1,22 @@
+package project.back.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartBatchRequestDto {
+    public static final int MAX_OPERATIONS = 100;
+
+    @NotEmpty(message = "변경할 내용을 1개 이상 입력해주세요")
+    @Size(max = MAX_OPERATIONS, message = "장바구니는 한 번에 100개까지 변경할 수 있습니다")
+    private List<@Valid @NotNull CartOperationDto> operations;
+}
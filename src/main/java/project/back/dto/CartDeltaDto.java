@@ -0,0 +1,31 @@
+package project.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 장바구니 변경분 응답
+ * 변경 API(response=delta)는 이번 요청으로 바뀐 상품만, GET /cart?sinceVersion= 은 그 버전 이후 바뀐 상품만 담는다.
+ * 변경 API 의 version 이 클라이언트가 가진 버전 + 1 이 아니면 다른 기기의 변경이 끼어든 것이므로
+ * 가진 버전으로 GET /cart?sinceVersion= 을 호출해 맞춘다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartDeltaDto {
+    /** 응답에 반영된 장바구니 버전 */
+    private Long version;
+    /** true 면 lines 가 장바구니 전체 (요청한 버전 이후의 변경분을 알 수 없는 경우) */
+    private Boolean full;
+    /** 장바구니 상품 수 */
+    private Integer lineCount;
+    /** 추가되거나 수량이 바뀐 상품 (현재 수량) */
+    private List<CartDto> lines;
+    /** 삭제된 상품 id */
+    private List<Long> removedProductIds;
+}
@@ -1,11 +1,13 @@
 package project.back.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import project.back.entity.Cart;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class CartDto {
     private Long productId;
     private String productName;
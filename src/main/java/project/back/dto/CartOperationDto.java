@@ -0,0 +1,21 @@
+package project.back.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import project.back.etc.cart.enums.CartOperationType;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartOperationDto {
+    @NotNull(message = "연산 종류를 입력해주세요")
+    private CartOperationType type;
+    @NotNull(message = "상품을 입력해주세요")
+    private Long productId;
+    private Long quantity;
+    private Long delta;
+}
@@ -1,10 +1,11 @@
 package project.back.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import project.back.etc.pricing.FixedPointPrice;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 @Data
 @NoArgsConstructor
@@ -13,23 +14,23 @@ public class DiscountInfoDto {
     private String productName;
     private Long joinId;
     private Long stock;
-    private BigDecimal price;
-    private BigDecimal discountRate;
+    private Long price;
+    @JsonIgnore
+    private int discountBasisPoints;
     private Long finalPrice;
 
-    public DiscountInfoDto(Long productId, String productName, Long joinId, Long stock, Long price, BigDecimal discountRate) {
+    public DiscountInfoDto(Long productId, String productName, Long joinId, Long stock, Long price, Integer discountBasisPoints) {
         this.productId = productId;
         this.productName = productName;
         this.joinId = joinId;
         this.stock = stock;
-        this.price = BigDecimal.valueOf(price);
-        this.discountRate = (discountRate != null) ? discountRate : BigDecimal.ZERO;
-        this.finalPrice = calculateFinalPrice(BigDecimal.valueOf(price), this.discountRate);
+        this.price = price;
+        this.discountBasisPoints = (discountBasisPoints != null) ? discountBasisPoints : 0;
+        this.finalPrice = FixedPointPrice.finalPrice(price, this.discountBasisPoints);
     }
 
-    private Long calculateFinalPrice(BigDecimal price, BigDecimal discountRate) {
-        BigDecimal discount = discountRate.divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal finalPrice = price.subtract(price.multiply(discount));
-        return finalPrice.setScale(0, RoundingMode.HALF_UP).longValue();
+    /** 응답용 할인율 (%) */
+    public BigDecimal getDiscountRate() {
+        return FixedPointPrice.toRate(discountBasisPoints);
     }
 }
@@ -0,0 +1,22 @@
+package project.back.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class MartCoverageDto {
+    private Long martId;
+    private Integer coverageCount;
+    private List<Long> missingProductIds;
+    private Long totalPrice;
+
+    public MartCoverageDto(Long martId, Integer coverageCount, List<Long> missingProductIds, Long totalPrice) {
+        this.martId = martId;
+        this.coverageCount = coverageCount;
+        this.missingProductIds = missingProductIds;
+        this.totalPrice = totalPrice;
+    }
+}
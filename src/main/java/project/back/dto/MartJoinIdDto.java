@@ -0,0 +1,13 @@
+package project.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MartJoinIdDto {
+    private Long martId;
+    private Long joinId;
+}
@@ -0,0 +1,27 @@
+package project.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 상품 목록 변경분 응답 (GET /products?since=)
+ * 클라이언트는 products 로 덮어쓰고 removedProductIds 를 지운 뒤 version 을 다음 since 로 사용한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCatalogDeltaDto {
+    /** 응답에 반영된 상품 목록 버전 */
+    private Long version;
+    /** true 면 products 가 상품 목록 전체 (요청한 버전 이후의 변경분을 알 수 없는 경우) */
+    private Boolean full;
+    /** 추가되거나 바뀐 상품 */
+    private List<ProductDto> products;
+    /** 삭제된 상품 id */
+    private List<Long> removedProductIds;
+}
@@ -1,13 +1,18 @@
 package project.back.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/** 상품 (GET /products/page 에서 고르지 않은 필드는 null 이라 응답에서 빠짐) */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ProductDto {
+    private Long productId;
     private String productName;
+    /** 이미지 URL (/images/{hash}/{파일 이름}), 호환 모드에서는 Base64 data URL */
     private String productImgUrl;
 }
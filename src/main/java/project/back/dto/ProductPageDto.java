@@ -0,0 +1,25 @@
+package project.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 상품 목록 페이지 (GET /products/page)
+ * 다음 페이지는 nextCursor 를 cursor 로 보내 요청한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageDto {
+    /** 페이지를 만든 상품 목록 버전 */
+    private Long version;
+    /** 상품 id 순 상품 (요청한 필드만) */
+    private List<ProductDto> products;
+    /** 다음 페이지 cursor, 마지막 페이지면 null */
+    private Long nextCursor;
+}
@@ -0,0 +1,40 @@
+package project.back.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class SplitBasketDto {
+    private List<StorePurchase> stores;
+    private Long totalPrice;
+    private Long storePenalty;
+    private List<Long> unavailableProductIds;
+    private Boolean optimal;
+
+    public SplitBasketDto(List<StorePurchase> stores, Long totalPrice, Long storePenalty,
+                          List<Long> unavailableProductIds, Boolean optimal) {
+        this.stores = stores;
+        this.totalPrice = totalPrice;
+        this.storePenalty = storePenalty;
+        this.unavailableProductIds = unavailableProductIds;
+        this.optimal = optimal;
+    }
+
+    /** 한 조인마트(같은 가격을 쓰는 마트들)에서 살 상품과 금액 */
+    @Data
+    @NoArgsConstructor
+    public static class StorePurchase {
+        private List<Long> martIds;
+        private List<Long> productIds;
+        private Long totalPrice;
+
+        public StorePurchase(List<Long> martIds, List<Long> productIds, Long totalPrice) {
+            this.martIds = martIds;
+            this.productIds = productIds;
+            this.totalPrice = totalPrice;
+        }
+    }
+}
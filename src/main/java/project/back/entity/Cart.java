@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 import project.back.etc.cart.enums.CartErrorMessage;
 
 @Entity
-@Table(name = "cart")
+@Table(name = "cart", uniqueConstraints = @UniqueConstraint(
+        name = "uk_cart_member_product", columnNames = {"member_id", "product_id"}))
 @Getter
 @Builder
 @AllArgsConstructor
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import project.back.etc.pricing.BasisPointsConverter;
+import project.back.etc.pricing.FixedPointPrice;
+import project.back.service.pricing.DiscountEntityListener;
 
 import java.math.BigDecimal;
 
@@ -13,17 +16,24 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(DiscountEntityListener.class)
 public class Discount {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long discountId;
 
-    @Column(precision = 3, scale = 1, nullable = false)
-    private BigDecimal discountRate;
+    /* 할인율 (bp), 컬럼은 DECIMAL(3,1) % 그대로 */
+    @Convert(converter = BasisPointsConverter.class)
+    @Column(name = "discount_rate", precision = 3, scale = 1, nullable = false)
+    private Integer discountBasisPoints;
 
     /* 더미 데이터 삽입에 사용 */
     public Discount(BigDecimal discountRate) {
-        this.discountRate = discountRate;
+        this.discountBasisPoints = FixedPointPrice.toBasisPoints(discountRate);
+    }
+
+    public BigDecimal getDiscountRate() {
+        return FixedPointPrice.toRate(discountBasisPoints);
     }
 }
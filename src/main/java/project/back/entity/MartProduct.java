@@ -5,12 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import project.back.etc.pricing.FixedPointPrice;
+import project.back.service.pricing.MartProductEntityListener;
 
 @Entity
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(MartProductEntityListener.class)
 public class MartProduct {
 
     @Id
@@ -37,4 +40,10 @@ public class MartProduct {
     @ManyToOne(fetch = FetchType.LAZY, optional = true)
     @JoinColumn(name="discount_id")
     private Discount discount;
+
+    /** 할인이 반영된 최종가격 (원) */
+    public long getFinalPrice() {
+        int basisPoints = (discount != null) ? discount.getDiscountBasisPoints() : 0;
+        return FixedPointPrice.finalPrice(price, basisPoints);
+    }
 }
@@ -13,7 +13,11 @@ public enum CartErrorMessage {
     QUANTITY_ONE_OR_MORE("수량은 1개 이상이어야 합니다."),
     DELETE_RECOMMEND("삭제를 원한다면 삭제버튼을 눌러주세요"),
     // update, delete(개별)
-    NOT_EXIST_PRODUCT_IN_CART("장바구니에 존재하지 않는 상품입니다.");
+    NOT_EXIST_PRODUCT_IN_CART("장바구니에 존재하지 않는 상품입니다."),
+    // 일괄 변경(읽은 뒤 다른 요청으로 장바구니가 바뀐 경우)
+    CART_CHANGED("장바구니가 다른 요청으로 변경되었습니다. 다시 시도해주세요."),
+    // 같은 회원의 변경 요청이 밀린 경우
+    TOO_MANY_REQUESTS("장바구니 변경 요청이 많습니다. 잠시 후 다시 시도해주세요.");
 
     private String message;
 
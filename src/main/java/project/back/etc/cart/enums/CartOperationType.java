@@ -0,0 +1,9 @@
+package project.back.etc.cart.enums;
+
+/** 장바구니 일괄 변경 연산 종류 */
+public enum CartOperationType {
+    ADD,    // 추가 (quantity, 없으면 1)
+    SET,    // 수량 변경 (quantity)
+    DELTA,  // 수량 증감 (delta)
+    DELETE  // 삭제
+}
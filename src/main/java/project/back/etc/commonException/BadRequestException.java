@@ -0,0 +1,7 @@
+package project.back.etc.commonException;
+
+public class BadRequestException extends RuntimeException{
+    public BadRequestException(String message){
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package project.back.etc.commonException;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -91,4 +92,26 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiResponse<String>> handleConflictException(ConflictException ex) {
         return new ResponseEntity<>(ApiResponse.fail(ex.getMessage()), HttpStatus.CONFLICT);
     }
+
+    /**
+     * 사용자 정의 예외 클래스
+     * 요청 값이 허용 범위를 벗어났을 때 발생
+     * HTTP 400 Bad Request
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiResponse<String>> handleBadRequestException(BadRequestException ex) {
+        return new ResponseEntity<>(ApiResponse.fail(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * 사용자 정의 예외 클래스
+     * 같은 자원에 대한 요청이 밀려 지금은 처리할 수 없을 때 발생
+     * HTTP 429 Too Many Requests (Retry-After 포함)
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<String>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.fail(ex.getMessage()));
+    }
 }
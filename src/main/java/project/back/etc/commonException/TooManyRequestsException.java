@@ -0,0 +1,17 @@
+package project.back.etc.commonException;
+
+import lombok.Getter;
+
+/**
+ * 같은 자원에 대한 요청이 밀려 지금은 처리할 수 없을 때 발생
+ * retryAfterSeconds 는 Retry-After 헤더로 응답한다.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
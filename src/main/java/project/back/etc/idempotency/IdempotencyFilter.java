@@ -0,0 +1,207 @@
+package project.back.etc.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import project.back.dto.ApiResponse;
+import project.back.etc.RequestMemberMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 장바구니, 리뷰 변경 요청의 Idempotency-Key 처리
+ * 헤더가 있는 변경 요청의 성공 응답을 IdempotencyStore 에 저장해 두고, 같은 키로 재시도하면
+ * 컨트롤러(와 DB)를 거치지 않고 저장된 응답을 Idempotency-Replayed 헤더와 함께 그대로 돌려준다.
+ * 키는 토큰에서 꺼낸 회원 id, 메서드, 경로(쿼리 포함)별로 따로 저장하므로 다른 사용자나 다른 API 와 섞이지 않고,
+ * 같은 회원이 토큰을 재발급받은 뒤 재시도해도 같은 키로 본다. 회원을 알 수 없는 요청은 키 없이 그대로 처리한다.
+ * - 같은 키의 요청이 처리 중이면 409, 같은 키에 다른 본문을 보내면 422
+ * - 성공(2xx)이 아닌 응답은 저장하지 않으므로 재시도하면 다시 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> PATHS = List.of("/cart", "/reviews");
+    private static final List<String> METHODS = List.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final IdempotencyStore idempotencyStore;
+    private final RequestMemberMapper requestMemberMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(KEY_HEADER) == null || !METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PATHS.stream().noneMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(KEY_HEADER);
+        if (!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, IdempotencyMessage.INVALID_KEY);
+            return;
+        }
+        Long memberId = findMemberId(request);
+        if (memberId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String scopedKey = sha256((memberId + "\n" + request.getMethod() + " "
+                + request.getRequestURI() + "?" + nullToEmpty(request.getQueryString()) + "\n" + key)
+                .getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(cachedRequest.body);
+
+        StoredResponse stored = idempotencyStore.claim(scopedKey, requestHash);
+        if (stored != null) {
+            respondWithStored(response, stored, requestHash);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+            if (HttpStatus.valueOf(cachedResponse.getStatus()).is2xxSuccessful()) {
+                idempotencyStore.complete(scopedKey, new StoredResponse(requestHash, cachedResponse.getStatus(),
+                        cachedResponse.getContentType(), cachedResponse.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyStore.release(scopedKey);
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    private void respondWithStored(HttpServletResponse response, StoredResponse stored, String requestHash)
+            throws IOException {
+        if (stored.isPending()) {
+            writeError(response, HttpStatus.CONFLICT, IdempotencyMessage.IN_PROGRESS);
+            return;
+        }
+        if (!stored.requestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, IdempotencyMessage.KEY_REUSED);
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, IdempotencyMessage message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.fail(message.getMessage()));
+    }
+
+    /** 토큰의 회원 id, 토큰이 없거나 유효하지 않으면 null (인증 실패 응답은 컨트롤러에 맡김) */
+    private Long findMemberId(HttpServletRequest request) {
+        try {
+            return requestMemberMapper.RequestToMemberId(request);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 본문 해시를 먼저 구하기 위해 본문을 미리 읽어 두고 컨트롤러에는 다시 제공 */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** 본문을 이미 모두 읽어 두었으므로 바로 읽을 수 있고 끝났다고 알림 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package project.back.etc.idempotency;
+
+public enum IdempotencyMessage {
+    INVALID_KEY("Idempotency-Key 는 1~255자여야 합니다."),
+    IN_PROGRESS("같은 Idempotency-Key 의 요청을 처리하고 있습니다. 잠시 후 다시 시도해주세요."),
+    KEY_REUSED("이미 다른 요청에 사용된 Idempotency-Key 입니다.");
+
+    private final String message;
+
+    IdempotencyMessage(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,108 @@
+package project.back.etc.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Idempotency-Key 별 처리 결과 저장소
+ * idempotency:{key} 에 처리 중 표시(pending-ttl) 또는 완료된 응답(ttl)을 JSON 으로 저장한다.
+ * Redis 를 쓸 수 없으면 이 인스턴스 메모리(최대 local-max-entries 개, 오래 안 쓴 것부터 제거)에 저장하므로,
+ * 장애 동안의 재시도는 같은 인스턴스로 올 때만 저장된 응답을 받는다.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingTtl;
+    private final Map<String, LocalEntry> local;
+
+    public IdempotencyStore(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${idempotency.pending-ttl-seconds:60}") long pendingTtlSeconds,
+                            @Value("${idempotency.local-max-entries:10000}") int localMaxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.pendingTtl = Duration.ofSeconds(pendingTtlSeconds);
+        this.local = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > localMaxEntries;
+            }
+        });
+    }
+
+    /**
+     * 키가 비어 있으면 처리 중으로 표시
+     *
+     * @return 이미 저장된 결과(처리 중 포함), 이번 요청이 키를 차지했으면 null
+     */
+    public StoredResponse claim(String key, String requestHash) {
+        StoredResponse pending = StoredResponse.pending(requestHash);
+        try {
+            String json = objectMapper.writeValueAsString(pending);
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, json, pendingTtl))) {
+                return null;
+            }
+            Object existing = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            // 확인하는 사이 만료되었으면 처리 중으로 보고 재시도하게 한다
+            return existing == null ? pending : objectMapper.readValue(existing.toString(), StoredResponse.class);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("idempotency store unavailable, using local store: {}", e.getMessage());
+            return claimLocal(key, pending);
+        }
+    }
+
+    /** 처리 결과 저장 (ttl 동안 재시도에 그대로 응답) */
+    public void complete(String key, StoredResponse response) {
+        local.remove(key);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(response), ttl);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("idempotency store unavailable, using local store: {}", e.getMessage());
+            local.put(key, new LocalEntry(response, System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    /** 처리 중 표시 제거 (저장하지 않을 결과, 재시도하면 다시 처리) */
+    public void release(String key) {
+        local.remove(key);
+        try {
+            redisTemplate.delete(KEY_PREFIX + key);
+        } catch (DataAccessException e) {
+            log.warn("idempotency store unavailable: {}", e.getMessage());
+        }
+    }
+
+    private StoredResponse claimLocal(String key, StoredResponse pending) {
+        long now = System.nanoTime();
+        synchronized (local) {
+            LocalEntry existing = local.get(key);
+            if (existing != null && existing.expiresAt - now > 0) {
+                return existing.response;
+            }
+            local.put(key, new LocalEntry(pending, now + pendingTtl.toNanos()));
+            return null;
+        }
+    }
+
+    private record LocalEntry(StoredResponse response, long expiresAt) {
+    }
+}
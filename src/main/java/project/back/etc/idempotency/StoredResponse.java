@@ -0,0 +1,23 @@
+package project.back.etc.idempotency;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Idempotency-Key 로 저장한 요청 처리 결과
+ *
+ * @param requestHash 요청 본문의 SHA-256 (같은 키를 다른 요청에 쓰는지 확인)
+ * @param status      응답 상태 코드, 처리 중이면 0
+ * @param contentType 응답 Content-Type
+ * @param body        응답 본문
+ */
+public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+
+    static StoredResponse pending(String requestHash) {
+        return new StoredResponse(requestHash, 0, null, null);
+    }
+
+    @JsonIgnore
+    public boolean isPending() {
+        return status == 0;
+    }
+}
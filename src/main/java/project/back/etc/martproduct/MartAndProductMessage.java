@@ -4,17 +4,27 @@ public enum MartAndProductMessage {
     /** SUCCESS */
     LOADED_TOTAL_SUM("마트별 총 합계를 성공적으로 불러왔습니다."),
     LOADED_MART_DETAILS("마트 상품의 세부사항을 성공적으로 불러왔습니다."),
+    LOADED_MART_COVERAGE("마트별 장바구니 상품 판매 현황을 성공적으로 불러왔습니다."),
+    LOADED_BASKET_COMPARISON("장바구니별 마트 합계를 성공적으로 불러왔습니다."),
+    LOADED_SPLIT_BASKET("마트 조합별 최저 구매 금액을 성공적으로 계산했습니다."),
     LOADED_MART("마트 목록을 성공적으로 불러왔습니다."),
     LOADED_PRODUCT("상품 목록을 성공적으로 불러왔습니다."),
+    LOADED_PRODUCT_CHANGES("상품 목록 변경분을 성공적으로 불러왔습니다."),
+    LOADED_PRODUCT_PAGE("상품 목록 페이지를 성공적으로 불러왔습니다."),
 
     /** ERROR */
     NOT_FOUND_MEMBER("사용자 정보를 찾을 수 없습니다."),
     NOT_FOUND_MART("마트 정보를 찾을 수 없습니다."),
     NOT_FOUND_MART_DETAILS("해당 마트에 대한 정보를 찾을 수 없습니다."),
+    NOT_FOUND_SPLIT_BASKET("최대 마트 수 안에서 장바구니를 모두 구매할 수 있는 마트 조합이 없습니다."),
     NOT_FOUND_PRODUCT_IMG("이미지를 찾을 수 없습니다."),
     EMPTY_CART("장바구니가 비어있습니다."),
     EMPTY_CART_PRODUCTS("장바구니 상품목록이 비어있습니다."),
     EMPTY_PRODUCT_LIST("상품목록이 비어있습니다."),
+    INVALID_MAX_STORES("최대 마트 수는 1 이상 %d 이하여야 합니다."),
+    INVALID_STORE_PENALTY("마트 추가 비용은 0 이상 %d 이하여야 합니다."),
+    INVALID_PAGE_SIZE("페이지 크기는 1 이상 %d 이하여야 합니다."),
+    INVALID_FIELDS("선택할 수 있는 필드는 %s 입니다."),
     ERROR_PRODUCT_IMG_PROCESSING("이미지 파일 처리 중 오류가 발생했습니다");
 
     private final String message;
@@ -0,0 +1,24 @@
+package project.back.etc.pricing;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * DECIMAL 할인율 컬럼 <-> 베이시스 포인트 변환
+ * 컬럼 타입은 그대로 두고, 엔티티와 조회 DTO 에서만 정수로 다룬다.
+ */
+@Converter
+public class BasisPointsConverter implements AttributeConverter<Integer, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Integer basisPoints) {
+        return (basisPoints != null) ? BigDecimal.valueOf(basisPoints, 2) : null;
+    }
+
+    @Override
+    public Integer convertToEntityAttribute(BigDecimal discountRate) {
+        return (discountRate != null) ? FixedPointPrice.toBasisPoints(discountRate) : null;
+    }
+}
@@ -0,0 +1,60 @@
+package project.back.etc.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 정수 고정소수점 가격 계산
+ * 금액은 원 단위 long, 할인율은 베이시스 포인트(1bp = 0.01%) int 로 다룬다.
+ * 기존 BigDecimal 계산(할인율/100 을 소수 둘째 자리 HALF_UP, 최종가격을 정수 HALF_UP)과 결과가 같다.
+ */
+public final class FixedPointPrice {
+
+    public static final int BASIS_POINTS_PER_PERCENT = 100;
+
+    private FixedPointPrice() {
+    }
+
+    /**
+     * 할인율(%) -> 베이시스 포인트
+     * 소수 셋째 자리 이하는 0 방향으로 버린다. 최종가격은 할인율을 정수 %로 HALF_UP 한 값에만 의존하고,
+     * 0.5%는 1bp의 배수이므로 버림을 해도 HALF_UP 경계가 바뀌지 않는다.
+     *
+     * @param discountRate 할인율, null 이면 할인 없음
+     */
+    public static int toBasisPoints(BigDecimal discountRate) {
+        if (discountRate == null) {
+            return 0;
+        }
+        return discountRate.movePointRight(2).setScale(0, RoundingMode.DOWN).intValueExact();
+    }
+
+    /** 베이시스 포인트 -> 할인율(%) */
+    public static BigDecimal toRate(int basisPoints) {
+        if (basisPoints % 10 == 0) {
+            return BigDecimal.valueOf(basisPoints / 10, 1);
+        }
+        return BigDecimal.valueOf(basisPoints, 2);
+    }
+
+    /**
+     * 할인이 반영된 최종가격
+     *
+     * @param price       정가 (원)
+     * @param basisPoints 할인율 (bp)
+     * @return price * (100 - 할인율%) / 100 을 정수로 HALF_UP 한 값
+     */
+    public static long finalPrice(long price, int basisPoints) {
+        long percent = roundHalfUp(basisPoints, BASIS_POINTS_PER_PERCENT);
+        return roundHalfUp(Math.multiplyExact(price, 100L - percent), 100L);
+    }
+
+    /** numerator / denominator 를 RoundingMode.HALF_UP 으로 반올림 (denominator > 0) */
+    static long roundHalfUp(long numerator, long denominator) {
+        long half = denominator / 2;
+        if (numerator >= 0) {
+            return (numerator + half) / denominator;
+        }
+        return -((-numerator + half) / denominator);
+    }
+}
@@ -1,9 +1,14 @@
 package project.back.repository;
 
 import java.util.Optional;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import project.back.dto.CartDto;
 import project.back.dto.CartProductDto;
 import project.back.entity.Cart;
 import project.back.entity.Member;
@@ -24,7 +29,122 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
 
     Optional<Cart> findByMemberEqualsAndProductEquals(Member member, Product product);
 
-    List<Cart> findByMemberEquals(Member member);
+    boolean existsByMemberMemberIdAndProductProductId(Long memberId, Long productId);
 
-    void deleteAllByMember(Member member);
+    /**
+     * 장바구니 목록 응답용 조회
+     * 상품을 조인해 CartDto 필드만 한 번의 쿼리로 가져온다. (장바구니 상품마다 LAZY 상품 조회가 나가지 않음)
+     */
+    @Query("""
+             SELECT new project.back.dto.CartDto(p.productId, p.productName, p.productImgUrl, c.quantity)
+             FROM Cart c
+             JOIN c.product p
+             WHERE c.member.memberId = :memberId
+             ORDER BY c.cartId
+             """)
+    List<CartDto> findCartDtosByMemberId(Long memberId);
+
+    /** 장바구니 중 productIds 에 해당하는 상품만 응답용으로 조회 (변경분 응답용) */
+    @Query("""
+             SELECT new project.back.dto.CartDto(p.productId, p.productName, p.productImgUrl, c.quantity)
+             FROM Cart c
+             JOIN c.product p
+             WHERE c.member.memberId = :memberId AND p.productId IN :productIds
+             ORDER BY c.cartId
+             """)
+    List<CartDto> findCartDtosByMemberIdAndProductIdIn(Long memberId, Collection<Long> productIds);
+
+    long countByMemberMemberId(Long memberId);
+
+    /**
+     * 회원 장바구니 전체 삭제 (엔티티를 읽어 한 건씩 지우지 않고 한 번의 DELETE 로 삭제)
+     *
+     * @return 삭제된 행 수
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM cart WHERE member_id = :memberId", nativeQuery = true)
+    int deleteByMemberId(Long memberId);
+
+    /**
+     * 장바구니에 없을 때만 추가 (member_id, product_id 유니크 키로 중복 추가를 한 번의 쿼리로 막음)
+     * 같은 상품이 이미 있으면 수량을 그대로 두고 LAST_INSERT_ID 를 0 으로 만든다.
+     * 사용자/상품이 없는 외래 키 오류 같은 다른 오류는 그대로 예외로 던진다.
+     * 드라이버가 바뀐 행이 아닌 찾은 행 수를 반환하므로, 추가 여부는 같은 트랜잭션에서 findLastInsertId() 로 확인한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+             INSERT INTO cart (member_id, product_id, quantity)
+             VALUES (:memberId, :productId, :quantity)
+             ON DUPLICATE KEY UPDATE quantity = quantity + LAST_INSERT_ID(0)
+             """, nativeQuery = true)
+    void insertIfAbsent(Long memberId, Long productId, Long quantity);
+
+    /** 현재 연결에서 마지막으로 추가한 장바구니 id, insertIfAbsent 가 추가하지 않았으면 0 */
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long findLastInsertId();
+
+    /** 일괄 변경용 장바구니 조회 (트랜잭션이 끝날 때까지 행을 잠가 다른 변경과 섞이지 않음) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.member.memberId = :memberId")
+    List<Cart> findByMemberIdForUpdate(Long memberId);
+
+    /**
+     * 장바구니 상품 여러 줄 삭제
+     *
+     * @return 삭제된 행 수
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+             DELETE FROM cart
+             WHERE member_id = :memberId AND product_id IN (:productIds)
+             """, nativeQuery = true)
+    int deleteByMemberIdAndProductIdIn(Long memberId, Collection<Long> productIds);
+
+    /**
+     * 장바구니 상품 한 줄 삭제
+     *
+     * @return 삭제된 행 수, 장바구니에 상품이 없으면 0
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+             DELETE FROM cart
+             WHERE member_id = :memberId AND product_id = :productId
+             """, nativeQuery = true)
+    int deleteByMemberIdAndProductId(Long memberId, Long productId);
+
+    /**
+     * 수량 1 증가 (DB 에서 원자적으로 증가시켜 동시 요청의 증가분이 사라지지 않음)
+     *
+     * @return 변경된 행 수, 장바구니에 상품이 없으면 0
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+             UPDATE cart SET quantity = quantity + 1
+             WHERE member_id = :memberId AND product_id = :productId
+             """, nativeQuery = true)
+    int incrementQuantity(Long memberId, Long productId);
+
+    /**
+     * 수량 1 감소 (수량이 1이면 감소하지 않음)
+     *
+     * @return 변경된 행 수, 장바구니에 상품이 없거나 수량이 1이면 0
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+             UPDATE cart SET quantity = quantity - 1
+             WHERE member_id = :memberId AND product_id = :productId AND quantity > 1
+             """, nativeQuery = true)
+    int decrementQuantity(Long memberId, Long productId);
+
+    /**
+     * 수량 직접 변경 (quantity 가 1 미만이면 변경하지 않음)
+     *
+     * @return 변경된 행 수, 장바구니에 상품이 없거나 quantity 가 1 미만이면 0
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+             UPDATE cart SET quantity = :quantity
+             WHERE member_id = :memberId AND product_id = :productId AND :quantity >= 1
+             """, nativeQuery = true)
+    int updateQuantity(Long memberId, Long productId, Long quantity);
 }
@@ -8,6 +8,7 @@ import project.back.entity.JoinMart;
 import project.back.entity.MartProduct;
 import project.back.entity.Product;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,10 +21,37 @@ public interface MartProductRepository extends JpaRepository<MartProduct, Long>
                 mp.joinMart.joinId,
                 mp.stock,
                 mp.price,
-                d.discountRate)
+                d.discountBasisPoints)
             FROM MartProduct mp
             LEFT JOIN mp.discount d
             WHERE mp.product IN :products AND mp.joinMart IN :joinMarts
             """)
     List<DiscountInfoDto> findDiscountsByProductsAndJoinMarts(List<Product> products, List<JoinMart> joinMarts);
+
+    @Query("""
+            SELECT new project.back.dto.DiscountInfoDto(
+                mp.product.productId,
+                mp.product.productName,
+                mp.joinMart.joinId,
+                mp.stock,
+                mp.price,
+                d.discountBasisPoints)
+            FROM MartProduct mp
+            LEFT JOIN mp.discount d
+            WHERE mp.product.productId IN :productIds AND mp.joinMart.joinId IN :joinIds
+            """)
+    List<DiscountInfoDto> findDiscountsByProductIdsAndJoinIds(Collection<Long> productIds, Collection<Long> joinIds);
+
+    @Query("""
+            SELECT new project.back.dto.DiscountInfoDto(
+                mp.product.productId,
+                mp.product.productName,
+                mp.joinMart.joinId,
+                mp.stock,
+                mp.price,
+                d.discountBasisPoints)
+            FROM MartProduct mp
+            LEFT JOIN mp.discount d
+            """)
+    List<DiscountInfoDto> findAllDiscountInfos();
 }
@@ -3,6 +3,7 @@ package project.back.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import project.back.dto.MartJoinIdDto;
 import project.back.entity.JoinMart;
 import project.back.entity.Mart;
 
@@ -24,4 +25,11 @@ public interface MartRepository extends JpaRepository<Mart, Long> {
     Optional<Long> findJoinIdByMartId(Long martId);
 
     List<Mart> findByJoinMartJoinId(Long joinId);
+
+    @Query("""
+            SELECT new project.back.dto.MartJoinIdDto(m.id, m.joinMart.joinId)
+            FROM Mart m
+            WHERE m.joinMart IS NOT NULL
+            """)
+    List<MartJoinIdDto> findAllMartJoinIds();
 }
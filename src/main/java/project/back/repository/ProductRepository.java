@@ -3,9 +3,13 @@ package project.back.repository;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import project.back.entity.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findAllByProductNameContaining(String productName);
+
+    @Query("SELECT p.productId FROM Product p")
+    List<Long> findAllProductIds();
 }
@@ -1,24 +1,40 @@
 package project.back.service;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import project.back.dto.ApiResponse;
+import project.back.dto.CartDeltaDto;
 import project.back.dto.CartDto;
+import project.back.dto.CartOperationDto;
 import project.back.dto.ProductSearchDto;
-import project.back.entity.Cart;
 import project.back.entity.Member;
 import project.back.entity.Product;
 import project.back.etc.commonException.ConflictException;
 import project.back.etc.commonException.NoContentFoundException;
 import project.back.etc.cart.enums.CartErrorMessage;
+import project.back.etc.cart.enums.CartOperationType;
 import project.back.etc.cart.enums.CartSuccessMessage;
-import project.back.repository.CartRepository;
 import project.back.repository.ProductRepository;
 import project.back.repository.memberrepository.MemberRepository;
+import project.back.service.cart.CartChangeLog;
+import project.back.service.cart.CartChangedEvent;
+import project.back.service.cart.CartStore;
+import project.back.service.cart.CartVersionRegistry;
+import project.back.service.pricing.MemberBasketTotals;
+import project.back.service.search.ProductNameIndex;
 
 @Slf4j
 @Service
@@ -26,10 +42,17 @@ import project.back.repository.memberrepository.MemberRepository;
 public class CartService {
 
     private static final Long FIRST_ADD_VALUE = 1L;
+    private static final LongConsumer NO_OP = version -> {
+    };
 
-    private final CartRepository cartRepository;
+    private final CartStore cartStore;
     private final ProductRepository productRepository;
     private final MemberRepository memberRepository;
+    private final CartVersionRegistry cartVersionRegistry;
+    private final CartChangeLog cartChangeLog;
+    private final MemberBasketTotals memberBasketTotals;
+    private final ProductNameIndex productNameIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 장바구니 목록 조회
@@ -40,10 +63,8 @@ public class CartService {
      */
     @Transactional
     public ApiResponse<List<CartDto>> getCartsByMemberId(Long memberId) {
-        Member member = getMemberByMemberId(memberId);
-        List<CartDto> cartDtos = cartRepository.findByMemberEquals(member).stream()
-                .map(CartDto::CartToDto)
-                .toList();
+        getMemberByMemberId(memberId);
+        List<CartDto> cartDtos = getCartDtos(memberId);
         return ApiResponse.success(cartDtos, CartSuccessMessage.GET.getMessage());
     }
 
@@ -51,17 +72,17 @@ public class CartService {
      * 상품 검색
      *
      * @param productName 상품이름(String)
-     * @return 상품이름을 포함하는 상품들(과 이미지)
+     * @return 상품이름을 포함하는 상품들(과 이미지), 일치 정도 순 (ProductNameIndex 적재 전이면 SQL LIKE 검색)
      * @throws NoContentFoundException productName 을 포함하는 상품이 없는경우
      */
     public ApiResponse<List<ProductSearchDto>> findAllByProductName(String productName) {
-        List<Product> products = productRepository.findAllByProductNameContaining(productName);
+        List<ProductSearchDto> ProductSearchDtos = productNameIndex.isReady()
+                ? productNameIndex.search(productName)
+                : productRepository.findAllByProductNameContaining(productName).stream()
+                        .map(ProductSearchDto::productToSearchDto)
+                        .toList();
 
-        validateProducts(productName, products);
-
-        List<ProductSearchDto> ProductSearchDtos = products.stream()
-                .map(ProductSearchDto::productToSearchDto)
-                .toList();
+        validateProducts(productName, ProductSearchDtos);
 
         return ApiResponse.success(ProductSearchDtos, CartSuccessMessage.SEARCH.getMessage());
     }
@@ -76,26 +97,17 @@ public class CartService {
      */
     @Transactional
     public ApiResponse<List<CartDto>> addProduct(CartDto cartDto, Long memberId) {
-        Member member = getMemberByMemberId(memberId);
-        Product product = getProductByProductId(cartDto.getProductId());
-
-        checkAlreadyExist(member, product);
-
-        Cart cart = Cart.builder()
-                .product(product)
-                .member(member)
-                .quantity(FIRST_ADD_VALUE)
-                .build();
+        addLine(cartDto.getProductId(), memberId);
 
-        cartRepository.save(cart);
+        return lineChanged(memberId, cartDto.getProductId(), CartSuccessMessage.ADD);
+    }
 
-        List<CartDto> cartDtos = cartRepository.findByMemberEquals(member).stream()
-                .map(CartDto::CartToDto)
-                .toList();
+    /** 상품을 장바구니에 저장(등록), 추가된 상품만 응답 */
+    @Transactional
+    public ApiResponse<CartDeltaDto> addProductDelta(CartDto cartDto, Long memberId) {
+        addLine(cartDto.getProductId(), memberId);
 
-        return ApiResponse.success(cartDtos,
-                String.format(CartSuccessMessage.ADD.getMessage(), cart.getProduct().getProductName())
-        );
+        return lineChangedDelta(memberId, cartDto.getProductId(), CartSuccessMessage.ADD);
     }
     /**
      * 상품 수량 변경(직접입력)
@@ -108,17 +120,17 @@ public class CartService {
      */
     @Transactional
     public ApiResponse<List<CartDto>> updateQuantity(Long productId, Long count, Long memberId) {
-        Cart cart = getCartByMemberIdAndProductId(memberId, productId);
+        updateLine(productId, count, memberId);
 
-        cart.updateQuantity(count);
-        cartRepository.save(cart);
+        return lineChanged(memberId, productId, CartSuccessMessage.UPDATE);
+    }
 
-        List<CartDto> cartDtos = cartRepository.findByMemberEquals(cart.getMember()).stream()
-                .map(CartDto::CartToDto)
-                .toList();
+    /** 상품 수량 변경(직접입력), 변경된 상품만 응답 */
+    @Transactional
+    public ApiResponse<CartDeltaDto> updateQuantityDelta(Long productId, Long count, Long memberId) {
+        updateLine(productId, count, memberId);
 
-        return ApiResponse.success(cartDtos,
-                String.format(CartSuccessMessage.UPDATE.getMessage(), cart.getProduct().getProductName()));
+        return lineChangedDelta(memberId, productId, CartSuccessMessage.UPDATE);
     }
     /**
      * 상품 수량 변경(증가)
@@ -130,17 +142,17 @@ public class CartService {
      */
     @Transactional
     public ApiResponse<List<CartDto>> plusQuantity(Long productId, Long memberId) {
-        Cart cart = getCartByMemberIdAndProductId(memberId, productId);
+        incrementLine(productId, memberId);
 
-        cart.plusQuantity();
-        cartRepository.save(cart);
+        return lineChanged(memberId, productId, CartSuccessMessage.UPDATE);
+    }
 
-        List<CartDto> cartDtos = cartRepository.findByMemberEquals(cart.getMember()).stream()
-                .map(CartDto::CartToDto)
-                .toList();
+    /** 상품 수량 변경(증가), 변경된 상품만 응답 */
+    @Transactional
+    public ApiResponse<CartDeltaDto> plusQuantityDelta(Long productId, Long memberId) {
+        incrementLine(productId, memberId);
 
-        return ApiResponse.success(cartDtos,
-                String.format(CartSuccessMessage.UPDATE.getMessage(), cart.getProduct().getProductName()));
+        return lineChangedDelta(memberId, productId, CartSuccessMessage.UPDATE);
     }
     /**
      * 상품 수량 변경(감소)
@@ -153,17 +165,17 @@ public class CartService {
      */
     @Transactional
     public ApiResponse<List<CartDto>> minusQuantity(Long productId, Long memberId) {
-        Cart cart = getCartByMemberIdAndProductId(memberId, productId);
+        decrementLine(productId, memberId);
 
-        cart.minusQuantity();
-        cartRepository.save(cart);
+        return lineChanged(memberId, productId, CartSuccessMessage.UPDATE);
+    }
 
-        List<CartDto> cartDtos = cartRepository.findByMemberEquals(cart.getMember()).stream()
-                .map(CartDto::CartToDto)
-                .toList();
+    /** 상품 수량 변경(감소), 변경된 상품만 응답 */
+    @Transactional
+    public ApiResponse<CartDeltaDto> minusQuantityDelta(Long productId, Long memberId) {
+        decrementLine(productId, memberId);
 
-        return ApiResponse.success(cartDtos,
-                String.format(CartSuccessMessage.UPDATE.getMessage(), cart.getProduct().getProductName()));
+        return lineChangedDelta(memberId, productId, CartSuccessMessage.UPDATE);
     }
     /**
      * 장바구니 상품 삭제(개별)
@@ -175,18 +187,23 @@ public class CartService {
      */
     @Transactional
     public ApiResponse<List<CartDto>> deleteProduct(Long productId, Long memberId) {
-        Member member = getMemberByMemberId(memberId);
-        Product product = getProductByProductId(productId);
-        Cart cart = getCartByMemberAndProduct(member, product);
+        Product product = removeLine(productId, memberId);
+        linesChangedAfterCommit(memberId, Map.of(productId, 0L), NO_OP);
 
-        cartRepository.delete(cart);
-
-        List<CartDto> cartDtos = cartRepository.findByMemberEquals(member).stream()
-                .map(CartDto::CartToDto)
-                .toList();
+        List<CartDto> cartDtos = getCartDtos(memberId);
 
         return ApiResponse.success(cartDtos,
-                String.format(CartSuccessMessage.DELETE.getMessage(), cart.getProduct().getProductName()));
+                String.format(CartSuccessMessage.DELETE.getMessage(), product.getProductName()));
+    }
+
+    /** 장바구니 상품 삭제(개별), 삭제된 상품 id 만 응답 */
+    @Transactional
+    public ApiResponse<CartDeltaDto> deleteProductDelta(Long productId, Long memberId) {
+        Product product = removeLine(productId, memberId);
+        CartDeltaDto delta = delta(memberId, List.of(), List.of(productId), Map.of(productId, 0L));
+
+        return ApiResponse.success(delta,
+                String.format(CartSuccessMessage.DELETE.getMessage(), product.getProductName()));
     }
 
     /**
@@ -198,12 +215,309 @@ public class CartService {
      */
     @Transactional
     public ApiResponse<List<CartDto>> deleteAllProduct(Long memberId) {
-        Member member = getMemberByMemberId(memberId);
-        cartRepository.deleteAllByMember(member);
-        List<CartDto> cartDtos = cartRepository.findByMemberEquals(member).stream()
-                .map(CartDto::CartToDto)
+        clearLines(memberId, NO_OP);
+        return ApiResponse.success(List.of(), CartSuccessMessage.DELETE_ALL.getMessage());
+    }
+
+    /** 장바구니 상품 삭제 (전체), 빈 장바구니(full)와 버전만 응답 */
+    @Transactional
+    public ApiResponse<CartDeltaDto> deleteAllProductDelta(Long memberId) {
+        CartDeltaDto delta = CartDeltaDto.builder()
+                .full(true)
+                .lineCount(0)
+                .lines(List.of())
+                .removedProductIds(List.of())
+                .build();
+        clearLines(memberId, delta::setVersion);
+        return ApiResponse.success(delta, CartSuccessMessage.DELETE_ALL.getMessage());
+    }
+
+    /**
+     * 장바구니 일괄 변경
+     * 요청 순서대로 추가/수량 변경/수량 증감/삭제를 적용한 최종 결과만 한 트랜잭션에서 반영한다.
+     * 장바구니를 한 번 잠가 읽고 삭제 한 번, 추가/변경 배치 한 번으로 반영하므로 연산 수와 관계없이 쿼리 수가 같다.
+     * 연산 하나라도 실패하면 아무것도 반영하지 않는다.
+     *
+     * @param operations 변경 목록 (순서대로 적용)
+     * @param memberId   사용자 고유번호
+     * @return 장바구니 목록
+     * @throws EntityNotFoundException  사용자 정보나 추가할 상품 정보를 찾을 수 없는 경우, 장바구니에 존재하지 않는 상품을 변경하는 경우
+     * @throws ConflictException        이미 담겨있는 상품을 추가하는 경우, 읽은 뒤 바꿀 상품이 다른 요청으로 바뀐 경우 (Redis 저장소)
+     * @throws IllegalArgumentException 수량이 1보다 작아지는 경우
+     */
+    @Transactional
+    public ApiResponse<List<CartDto>> applyOperations(List<CartOperationDto> operations, Long memberId) {
+        Map<Long, Long> changed = applyLines(operations, memberId);
+        if (!changed.isEmpty()) {
+            linesChangedAfterCommit(memberId, changed, NO_OP);
+        }
+
+        return ApiResponse.success(getCartDtos(memberId),
+                String.format(CartSuccessMessage.BATCH.getMessage(), changed.size()));
+    }
+
+    /** 장바구니 일괄 변경, 바뀐 상품과 삭제된 상품 id 만 응답 */
+    @Transactional
+    public ApiResponse<CartDeltaDto> applyOperationsDelta(List<CartOperationDto> operations, Long memberId) {
+        Map<Long, Long> changed = applyLines(operations, memberId);
+        List<Long> removedProductIds = changed.entrySet().stream()
+                .filter(line -> line.getValue() == 0L)
+                .map(Map.Entry::getKey)
                 .toList();
-        return ApiResponse.success(cartDtos, CartSuccessMessage.DELETE_ALL.getMessage());
+        Set<Long> upsertedProductIds = changed.entrySet().stream()
+                .filter(line -> line.getValue() > 0L)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        CartDeltaDto delta = delta(memberId, cartStore.findCartLines(memberId, upsertedProductIds),
+                removedProductIds, changed);
+
+        return ApiResponse.success(delta, String.format(CartSuccessMessage.BATCH.getMessage(), changed.size()));
+    }
+
+    /**
+     * 장바구니 변경분 조회
+     * sinceVersion 이후 바뀐 상품만 응답한다. 장바구니 버전은 모든 인스턴스가 공유하므로 다른 인스턴스에서 받은 버전도 쓸 수 있다.
+     * 그 사이 변경 기록이 없거나(오래된 버전, 서버 재시작, 놓친 동기화 메시지), 전체 삭제가 있었거나,
+     * 버전을 알 수 없으면 장바구니 전체를 full 로 응답한다.
+     *
+     * @param memberId     사용자 고유번호
+     * @param sinceVersion 클라이언트가 가진 장바구니 버전
+     * @return 바뀐 상품과 삭제된 상품 id, 현재 장바구니 버전
+     * @throws EntityNotFoundException 사용자정보를 찾을 수 없는경우
+     */
+    @Transactional
+    public ApiResponse<CartDeltaDto> getCartChanges(Long memberId, Long sinceVersion) {
+        getMemberByMemberId(memberId);
+        long version = cartVersionRegistry.current(memberId);
+        Optional<Set<Long>> changed = cartChangeLog.changedSince(memberId, sinceVersion, version);
+
+        CartDeltaDto delta;
+        if (changed.isEmpty()) {
+            List<CartDto> cartDtos = getCartDtos(memberId);
+            delta = new CartDeltaDto(version, true, cartDtos.size(), cartDtos, List.of());
+        } else {
+            List<CartDto> lines = cartStore.findCartLines(memberId, changed.get());
+            Set<Long> present = lines.stream().map(CartDto::getProductId).collect(Collectors.toSet());
+            List<Long> removedProductIds = changed.get().stream()
+                    .filter(productId -> !present.contains(productId))
+                    .sorted()
+                    .toList();
+            delta = new CartDeltaDto(version, false, (int) cartStore.countLines(memberId), lines, removedProductIds);
+        }
+        return ApiResponse.success(delta, CartSuccessMessage.GET_CHANGES.getMessage());
+    }
+
+    // 상품을 추가하고 추가되지 않았으면 원인을 찾는 메서드
+    private void addLine(Long productId, Long memberId) {
+        if (productId == null) {
+            throw new EntityNotFoundException(CartErrorMessage.NOT_FOUND_PRODUCT.getMessage());
+        }
+        boolean added;
+        try {
+            added = cartStore.addIfAbsent(memberId, productId, FIRST_ADD_VALUE);
+        } catch (DataIntegrityViolationException e) {
+            // 사용자/상품이 없어 외래 키 제약에 걸렸으면 찾을 수 없음으로, 그 외 무결성 오류는 그대로 던진다
+            getMemberByMemberId(memberId);
+            getProductByProductId(productId);
+            throw e;
+        }
+        validateAdded(added, memberId, productId);
+    }
+
+    // 수량을 바꾸고(직접입력/증가/감소) 바뀌지 않았으면 원인을 찾는 메서드
+    private void updateLine(Long productId, Long count, Long memberId) {
+        boolean updated = cartStore.updateQuantity(memberId, productId, count);
+        validateQuantityUpdated(updated, memberId, productId, CartErrorMessage.QUANTITY_ONE_OR_MORE.getMessage());
+    }
+
+    private void incrementLine(Long productId, Long memberId) {
+        boolean updated = cartStore.increment(memberId, productId);
+        validateQuantityUpdated(updated, memberId, productId, CartErrorMessage.INVALID_QUANTITY.getMessage());
+    }
+
+    private void decrementLine(Long productId, Long memberId) {
+        boolean updated = cartStore.decrement(memberId, productId);
+        validateQuantityUpdated(updated, memberId, productId,
+                CartErrorMessage.QUANTITY_ONE_OR_MORE.getMessage() + CartErrorMessage.DELETE_RECOMMEND.getMessage());
+    }
+
+    // 상품 한 줄 삭제 후 삭제된 상품을 반환하는 메서드
+    private Product removeLine(Long productId, Long memberId) {
+        getMemberByMemberId(memberId);
+        Product product = getProductByProductId(productId);
+        if (!cartStore.remove(memberId, productId)) {
+            throw new EntityNotFoundException(CartErrorMessage.NOT_EXIST_PRODUCT_IN_CART.getMessage());
+        }
+        return product;
+    }
+
+    // 장바구니를 비우고 커밋 후 버전을 올리는 메서드
+    private void clearLines(Long memberId, LongConsumer onVersion) {
+        Member member = getMemberByMemberId(memberId);
+        cartStore.clear(member);
+        cartVersionRegistry.bumpAfterCommit(memberId, version -> {
+            cartChangeLog.recordCleared(memberId, version);
+            memberBasketTotals.onCleared(memberId, version);
+            eventPublisher.publishEvent(CartChangedEvent.cleared(memberId, version));
+            onVersion.accept(version);
+        });
+    }
+
+    // 일괄 변경을 반영하고 바뀐 상품 id -> 수량(삭제는 0)을 반환하는 메서드
+    private Map<Long, Long> applyLines(List<CartOperationDto> operations, Long memberId) {
+        getMemberByMemberId(memberId);
+        validateAddedProducts(operations);
+
+        Map<Long, Long> before = cartStore.findQuantitiesForUpdate(memberId);
+        Map<Long, Long> after = new HashMap<>(before);
+        operations.forEach(operation -> applyOperation(after, operation));
+
+        Map<Long, Long> upserts = after.entrySet().stream()
+                .filter(line -> !line.getValue().equals(before.get(line.getKey())))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Set<Long> removals = before.keySet().stream()
+                .filter(productId -> !after.containsKey(productId))
+                .collect(Collectors.toSet());
+        if ((!upserts.isEmpty() || !removals.isEmpty()) && !cartStore.applyLines(memberId, before, upserts, removals)) {
+            throw new ConflictException(CartErrorMessage.CART_CHANGED.getMessage());
+        }
+
+        Map<Long, Long> changed = new HashMap<>(upserts);
+        removals.forEach(productId -> changed.put(productId, 0L));
+        return changed;
+    }
+
+    // 일괄 변경 연산 하나를 장바구니(상품 id -> 수량)에 적용하는 메서드, 단건 API 와 같은 조건으로 검증
+    private void applyOperation(Map<Long, Long> cart, CartOperationDto operation) {
+        Long productId = operation.getProductId();
+        Long quantity = cart.get(productId);
+        if (operation.getType() == CartOperationType.ADD) {
+            if (quantity != null) {
+                throw new ConflictException(CartErrorMessage.ALREADY_EXIST_PRODUCT.getMessage());
+            }
+            Long added = Objects.requireNonNullElse(operation.getQuantity(), FIRST_ADD_VALUE);
+            cart.put(productId, validateQuantity(added, CartErrorMessage.QUANTITY_ONE_OR_MORE.getMessage()));
+            return;
+        }
+        if (quantity == null) {
+            throw new EntityNotFoundException(CartErrorMessage.NOT_EXIST_PRODUCT_IN_CART.getMessage());
+        }
+        switch (operation.getType()) {
+            case SET -> cart.put(productId,
+                    validateQuantity(operation.getQuantity(), CartErrorMessage.QUANTITY_ONE_OR_MORE.getMessage()));
+            case DELTA -> cart.put(productId, validateQuantity(
+                    operation.getDelta() == null ? null : quantity + operation.getDelta(),
+                    CartErrorMessage.QUANTITY_ONE_OR_MORE.getMessage() + CartErrorMessage.DELETE_RECOMMEND.getMessage()));
+            case DELETE -> cart.remove(productId);
+            default -> throw new IllegalArgumentException(operation.getType().name());
+        }
+    }
+
+    // 수량이 없으면 입력 오류, 1보다 작으면 quantityMessage 로 예외를 던지는 메서드
+    private Long validateQuantity(Long quantity, String quantityMessage) {
+        if (quantity == null) {
+            throw new IllegalArgumentException(CartErrorMessage.INVALID_QUANTITY.getMessage());
+        }
+        if (quantity < 1) {
+            throw new IllegalArgumentException(quantityMessage);
+        }
+        return quantity;
+    }
+
+    // 일괄 변경에서 추가할 상품이 모두 존재하는지 한 번의 쿼리로 검증하는 메서드
+    private void validateAddedProducts(List<CartOperationDto> operations) {
+        Set<Long> productIds = operations.stream()
+                .filter(operation -> operation.getType() == CartOperationType.ADD)
+                .map(CartOperationDto::getProductId)
+                .collect(Collectors.toSet());
+        if (!productIds.isEmpty() && productRepository.findAllById(productIds).size() != productIds.size()) {
+            throw new EntityNotFoundException(CartErrorMessage.NOT_FOUND_PRODUCT.getMessage());
+        }
+    }
+
+    /**
+     * 커밋 후 장바구니 버전을 한 번 올리고, 그 버전으로 변경 기록과 회원별 마트 합계에 바뀐 상품들을 반영하고
+     * 다른 기기 동기화를 위한 변경 이벤트를 발행하는 메서드
+     * onVersion 은 올라간 버전을 받는다. (변경분 응답의 version, 커밋 후 직렬화 전에 채워짐)
+     */
+    private void linesChangedAfterCommit(Long memberId, Map<Long, Long> productIdToQuantity, LongConsumer onVersion) {
+        cartVersionRegistry.bumpAfterCommit(memberId, version -> {
+            cartChangeLog.record(memberId, version, productIdToQuantity.keySet());
+            memberBasketTotals.onLinesChanged(memberId, productIdToQuantity, version);
+            eventPublisher.publishEvent(CartChangedEvent.linesChanged(memberId, version, productIdToQuantity));
+            onVersion.accept(version);
+        });
+    }
+
+    // 장바구니 목록을 상품 정보가 포함된 DTO 로 한 번에 가져오는 메서드
+    private List<CartDto> getCartDtos(Long memberId) {
+        return cartStore.findCart(memberId);
+    }
+
+    // 상품 한 줄 변경 후 변경된 수량을 반영하고 장바구니 목록을 응답으로 만드는 메서드
+    private ApiResponse<List<CartDto>> lineChanged(Long memberId, Long productId, CartSuccessMessage message) {
+        List<CartDto> cartDtos = getCartDtos(memberId);
+        CartDto changed = findCartDto(cartDtos, productId);
+        linesChangedAfterCommit(memberId, Map.of(productId, changed.getQuantity()), NO_OP);
+
+        return ApiResponse.success(cartDtos, String.format(message.getMessage(), changed.getProductName()));
+    }
+
+    // 상품 한 줄 변경 후 변경된 수량을 반영하고 그 한 줄만 응답으로 만드는 메서드
+    private ApiResponse<CartDeltaDto> lineChangedDelta(Long memberId, Long productId, CartSuccessMessage message) {
+        List<CartDto> lines = cartStore.findCartLines(memberId, List.of(productId));
+        CartDto changed = findCartDto(lines, productId);
+        CartDeltaDto delta = delta(memberId, lines, List.of(), Map.of(productId, changed.getQuantity()));
+
+        return ApiResponse.success(delta, String.format(message.getMessage(), changed.getProductName()));
+    }
+
+    // 바뀐 상품만 담은 변경분 응답을 만드는 메서드, version 은 커밋 후 채워진다
+    private CartDeltaDto delta(Long memberId, List<CartDto> lines, List<Long> removedProductIds,
+                               Map<Long, Long> changed) {
+        CartDeltaDto delta = CartDeltaDto.builder()
+                .full(false)
+                .lineCount((int) cartStore.countLines(memberId))
+                .lines(lines)
+                .removedProductIds(removedProductIds)
+                .build();
+        if (!changed.isEmpty()) {
+            linesChangedAfterCommit(memberId, changed, delta::setVersion);
+        } else {
+            delta.setVersion(cartVersionRegistry.current(memberId));
+        }
+        return delta;
+    }
+
+    // 장바구니 목록에서 상품 한 줄을 찾는 메서드
+    private CartDto findCartDto(List<CartDto> cartDtos, Long productId) {
+        return cartDtos.stream()
+                .filter(cartDto -> cartDto.getProductId().equals(productId))
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(CartErrorMessage.NOT_EXIST_PRODUCT_IN_CART.getMessage()));
+    }
+
+    // 추가되지 않았으면 사용자, 상품 순으로 원인을 찾고, 모두 있으면 이미 담긴 상품으로 보는 메서드
+    private void validateAdded(boolean added, Long memberId, Long productId) {
+        if (added) {
+            return;
+        }
+        getMemberByMemberId(memberId);
+        getProductByProductId(productId);
+        throw new ConflictException(CartErrorMessage.ALREADY_EXIST_PRODUCT.getMessage());
+    }
+
+    // 수량이 변경되지 않았으면 사용자, 상품, 장바구니 순으로 원인을 찾고, 모두 있으면 수량 조건 위반으로 보는 메서드
+    private void validateQuantityUpdated(boolean updated, Long memberId, Long productId, String quantityMessage) {
+        if (updated) {
+            return;
+        }
+        getMemberByMemberId(memberId);
+        getProductByProductId(productId);
+        if (!cartStore.contains(memberId, productId)) {
+            throw new EntityNotFoundException(CartErrorMessage.NOT_EXIST_PRODUCT_IN_CART.getMessage());
+        }
+        throw new IllegalArgumentException(quantityMessage);
     }
 
     // member 검증 및 객체가져오는 메서드
@@ -218,31 +532,11 @@ public class CartService {
                 .orElseThrow(() -> new EntityNotFoundException(CartErrorMessage.NOT_FOUND_PRODUCT.getMessage()));
     }
 
-    // Cart 검증 및 객체 가져오는 메서드
-    private Cart getCartByMemberAndProduct(Member member, Product product) {
-        return cartRepository.findByMemberEqualsAndProductEquals(member, product)
-                .orElseThrow(
-                        () -> new EntityNotFoundException(CartErrorMessage.NOT_EXIST_PRODUCT_IN_CART.getMessage()));
-    }
-    // member, product, cart를 검증 및 객체를 가져오는 메서드
-    private Cart getCartByMemberIdAndProductId(Long memberId, Long productId){
-        Member member = getMemberByMemberId(memberId);
-        Product product = getProductByProductId(productId);
-        Cart cart = getCartByMemberAndProduct(member, product);
-        return cart;
-    }
     // products 검증 메서드
-    private void validateProducts(String productName, List<Product> products) {
+    private void validateProducts(String productName, List<ProductSearchDto> products) {
         if (products.isEmpty()) {
             throw new NoContentFoundException(
                     String.format(CartErrorMessage.NOT_EXIST_PRODUCT.getMessage(), productName));
         }
     }
-    // addProduct 시 이미 cart 에 존재하는 객체인지 검증하는 메서드
-    private void checkAlreadyExist(Member member, Product product) {
-        cartRepository.findByMemberEqualsAndProductEquals(member, product)
-                .ifPresent(c -> {
-                    throw new ConflictException(CartErrorMessage.ALREADY_EXIST_PRODUCT.getMessage());
-                });
-    }
 }
@@ -2,38 +2,73 @@ package project.back.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import project.back.configuration.LoginUser;
 import project.back.dto.ApiResponse;
 import project.back.dto.CartProductDto;
 import project.back.dto.DiscountInfoDto;
-import project.back.dto.ProductAndDiscountDataDto;
-import project.back.entity.JoinMart;
-import project.back.entity.Mart;
+import project.back.dto.MartCoverageDto;
+import project.back.dto.SplitBasketDto;
 import project.back.entity.Member;
-import project.back.entity.Product;
+import project.back.etc.commonException.BadRequestException;
 import project.back.etc.commonException.NoContentFoundException;
 import project.back.etc.martproduct.MartAndProductMessage;
 import project.back.repository.*;
 import project.back.repository.memberrepository.MemberRepository;
+import project.back.service.cart.CartStore;
+import project.back.service.cart.CartVersionRegistry;
+import project.back.service.pricing.JoinMartBitsetIndex;
+import project.back.service.pricing.JoinMartMartIndex;
+import project.back.service.pricing.MartSellingCache;
+import project.back.service.pricing.MemberBasketTotals;
+import project.back.service.pricing.PriceMatrix;
+import project.back.service.pricing.PriceMatrixEngine;
+import project.back.service.pricing.SplitBasketSolver;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MartProductService {
 
+    public static final int MAX_COVERAGE_LIMIT = 100;
+    public static final int MAX_SPLIT_STORES = 3;
+    /** 마트 추가 비용 상한 (원), 합계가 넘치지 않도록 제한 */
+    public static final long MAX_STORE_PENALTY = 1_000_000_000L;
+
+    /** 판매 상품 수 내림차순 -> 합계 오름차순 -> martId 오름차순 */
+    private static final Comparator<CoverageCandidate> COVERAGE_RANKING =
+            Comparator.comparingInt(CoverageCandidate::coverageCount).reversed()
+                    .thenComparingLong(CoverageCandidate::totalPrice)
+                    .thenComparingLong(CoverageCandidate::martId);
+
     private final MartProductRepository martProductRepository;
-    private final CartRepository cartRepository;
-    private final ProductRepository productRepository;
-    private final JoinMartRepository joinMartRepository;
-    private final MartRepository martRepository;
+    private final CartStore cartStore;
     private final MemberRepository memberRepository;
+    private final PriceMatrixEngine priceMatrixEngine;
+    private final JoinMartBitsetIndex joinMartBitsetIndex;
+    private final JoinMartMartIndex joinMartMartIndex;
+    private final MartSellingCache martSellingCache;
+    private final CartVersionRegistry cartVersionRegistry;
+    private final MemberBasketTotals memberBasketTotals;
+
+    /* 마트 조합 탐색 시간 예산, 넘기면 그때까지의 최적 조합을 반환 */
+    @Value("${pricing.split-basket.time-budget-ms:50}")
+    private long splitBasketTimeBudgetMs = 50L;
 
     /**
      * 장바구니에 있는 모든 상품이 존재하는 마트 목록 + 마트별 합계 출력
@@ -44,90 +79,375 @@ public class MartProductService {
      */
     @Transactional(readOnly = true)
     public ApiResponse<Map<Long, Long>> findMartsByProductIds(@LoginUser Long memberId) {
-        ProductAndDiscountDataDto loadData = getProductAndDiscountData(memberId);
+        MartSellingCache.Key cacheKey = cacheKey(memberId);
+        Map<Long, Long> totals = martSellingCache.getTotals(cacheKey);
+        if (totals == null) {
+            totals = calculateTotalFinalPriceByMart(memberId, cacheKey.cartVersion());
+            martSellingCache.putTotals(cacheKey, totals);
+        }
+
+        return ApiResponse.success(totals, MartAndProductMessage.LOADED_TOTAL_SUM.getMessage());
+    }
+
+    /**
+     * 장바구니 상품을 일부만 판매하는 마트까지 포함한 비교
+     * 판매 상품 수가 많은 순, 같으면 판매 상품 합계가 낮은 순으로 상위 limit 개 마트를 반환한다.
+     * 마트가 수천 개여도 크기 limit 의 힙만 유지하며, 빠진 상품 목록은 선택된 마트만 계산한다.
+     *
+     * @param martIds 비교할 마트 (주변 마트 등), 비어있으면 연결된 모든 마트
+     * @param limit   반환할 마트 수 (1 ~ MAX_COVERAGE_LIMIT)
+     * @return 마트별 판매 상품 수, 빠진 상품 id, 판매 상품 합계를 순위대로 ApiResponse 형태로 반환
+     * @throws EntityNotFoundException 사용자 엔티티를 찾을 수 없을 때 발생
+     * @throws NoContentFoundException 장바구니에 데이터가 존재하지 않거나 비어있을 때 발생
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<List<MartCoverageDto>> findMartsByCoverage(
+            List<Long> martIds,
+            int limit,
+            @LoginUser Long memberId
+    ) {
+        int k = Math.min(Math.max(limit, 1), MAX_COVERAGE_LIMIT);
+        Map<Long, Long> productIdToQuantity = getCartProducts(memberId).stream()
+                .collect(Collectors.toMap(
+                        CartProductDto::getProductId,
+                        CartProductDto::getQuantity,
+                        Long::sum,
+                        TreeMap::new));
+        List<Long> productIds = new ArrayList<>(productIdToQuantity.keySet());
+        Set<Long> targetMartIds = (martIds == null || martIds.isEmpty()) ? null : new HashSet<>(martIds);
+
+        PriceMatrix matrix = priceMatrixEngine.current();
+        int[] rows = new int[productIds.size()];
+        long[] quantities = new long[productIds.size()];
+        for (int j = 0; j < productIds.size(); j++) {
+            rows[j] = matrix.productIndex(productIds.get(j));
+            quantities[j] = productIdToQuantity.get(productIds.get(j));
+        }
+
+        JoinMartBitsetIndex.Coverage coverage = joinMartBitsetIndex.coverage(productIds);
+        PriorityQueue<CoverageCandidate> heap = new PriorityQueue<>(k + 1, COVERAGE_RANKING.reversed());
+        for (int i = 0; i < coverage.joinIds().length; i++) {
+            int col = matrix.joinIndex(coverage.joinIds()[i]);
+            if (col < 0 || (heap.size() == k && coverage.count(i) < heap.peek().coverageCount())) {
+                continue;
+            }
+            long[] covered = new long[(productIds.size() + 63) >>> 6];
+            int coverageCount = 0;
+            long totalPrice = 0L;
+            for (int j = 0; j < productIds.size(); j++) {
+                if (rows[j] < 0 || !coverage.sells(i, j)) {
+                    continue;
+                }
+                long price = matrix.finalPrice(rows[j], col);
+                if (price == PriceMatrix.NOT_SOLD) {
+                    continue;
+                }
+                covered[j >>> 6] |= 1L << j;
+                coverageCount++;
+                totalPrice += price * quantities[j];
+            }
+            if (coverageCount == 0) {
+                continue;
+            }
+            for (Long martId : joinMartMartIndex.findMartIds(coverage.joinIds()[i])) {
+                if (targetMartIds != null && !targetMartIds.contains(martId)) {
+                    continue;
+                }
+                heap.offer(new CoverageCandidate(martId, coverageCount, totalPrice, covered));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        }
+
+        List<MartCoverageDto> ranked = heap.stream()
+                .sorted(COVERAGE_RANKING)
+                .map(candidate -> new MartCoverageDto(
+                        candidate.martId(),
+                        candidate.coverageCount(),
+                        candidate.missingProductIds(productIds),
+                        candidate.totalPrice()))
+                .toList();
+        return ApiResponse.success(ranked, MartAndProductMessage.LOADED_MART_COVERAGE.getMessage());
+    }
+
+    /**
+     * 장바구니를 최대 maxStores 개 마트에 나눠 살 때의 최저 금액 조합
+     * 같은 조인마트의 마트는 가격이 같으므로 조인마트 단위로 조합을 찾고, 해당 마트 id 들을 함께 반환한다.
+     * 어느 마트에서도 팔지 않는 상품은 제외하고 unavailableProductIds 로 반환한다.
+     *
+     * @param martIds      비교할 마트 (주변 마트 등), 비어있으면 연결된 모든 마트
+     * @param maxStores    최대 마트 수 (1 ~ MAX_SPLIT_STORES)
+     * @param storePenalty 첫 마트 이후 마트 하나당 더할 금액 (이동 비용 등, 0 ~ MAX_STORE_PENALTY)
+     * @return 마트별 구매 상품과 금액, 전체 금액을 ApiResponse 형태로 반환
+     * @throws BadRequestException     maxStores 나 storePenalty 가 범위를 벗어났을 때 발생
+     * @throws EntityNotFoundException 사용자 엔티티를 찾을 수 없을 때 발생
+     * @throws NoContentFoundException 장바구니가 비어있거나, maxStores 개 안에서 가능한 조합이 없을 때 발생
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<SplitBasketDto> findSplitBasket(
+            List<Long> martIds,
+            int maxStores,
+            long storePenalty,
+            @LoginUser Long memberId
+    ) {
+        if (maxStores < 1 || maxStores > MAX_SPLIT_STORES) {
+            throw new BadRequestException(
+                    String.format(MartAndProductMessage.INVALID_MAX_STORES.getMessage(), MAX_SPLIT_STORES));
+        }
+        if (storePenalty < 0 || storePenalty > MAX_STORE_PENALTY) {
+            throw new BadRequestException(
+                    String.format(MartAndProductMessage.INVALID_STORE_PENALTY.getMessage(), MAX_STORE_PENALTY));
+        }
+        Map<Long, Long> productIdToQuantity = getCartProducts(memberId).stream()
+                .collect(Collectors.toMap(
+                        CartProductDto::getProductId,
+                        CartProductDto::getQuantity,
+                        Long::sum,
+                        TreeMap::new));
+        Set<Long> targetMartIds = (martIds == null || martIds.isEmpty()) ? null : new HashSet<>(martIds);
+        PriceMatrix matrix = priceMatrixEngine.current();
+
+        List<Integer> cols = new ArrayList<>();
+        List<List<Long>> storeMartIds = new ArrayList<>();
+        for (int col = 0; col < matrix.joinCount(); col++) {
+            List<Long> linked = joinMartMartIndex.findMartIds(matrix.joinIdAt(col)).stream()
+                    .filter(martId -> targetMartIds == null || targetMartIds.contains(martId))
+                    .toList();
+            if (!linked.isEmpty()) {
+                cols.add(col);
+                storeMartIds.add(linked);
+            }
+        }
 
-        return ApiResponse.success(calculateTotalFinalPriceByMart(
-                        loadData.getDiscountInfoList(),
-                        loadData.getCartProductList()),
-                MartAndProductMessage.LOADED_TOTAL_SUM.getMessage());
+        List<Long> productIds = new ArrayList<>();
+        List<Long> unavailableProductIds = new ArrayList<>();
+        List<long[]> costs = new ArrayList<>();
+        productIdToQuantity.forEach((productId, quantity) -> {
+            int row = matrix.productIndex(productId);
+            long[] itemCosts = new long[cols.size()];
+            boolean sold = false;
+            for (int s = 0; s < cols.size(); s++) {
+                long price = (row < 0) ? PriceMatrix.NOT_SOLD : matrix.finalPrice(row, cols.get(s));
+                itemCosts[s] = (price == PriceMatrix.NOT_SOLD) ? SplitBasketSolver.NOT_SOLD : price * quantity;
+                sold |= price != PriceMatrix.NOT_SOLD;
+            }
+            if (sold) {
+                productIds.add(productId);
+                costs.add(itemCosts);
+            } else {
+                unavailableProductIds.add(productId);
+            }
+        });
+        if (productIds.isEmpty()) {
+            throw new NoContentFoundException(MartAndProductMessage.EMPTY_CART_PRODUCTS.getMessage());
+        }
+
+        SplitBasketSolver.Result result = SplitBasketSolver.solve(
+                costs.toArray(long[][]::new),
+                cols.size(),
+                maxStores,
+                storePenalty,
+                TimeUnit.MILLISECONDS.toNanos(splitBasketTimeBudgetMs));
+        if (!result.feasible()) {
+            throw new NoContentFoundException(MartAndProductMessage.NOT_FOUND_SPLIT_BASKET.getMessage());
+        }
+
+        List<SplitBasketDto.StorePurchase> stores = new ArrayList<>();
+        for (int store : result.stores()) {
+            List<Long> purchased = new ArrayList<>();
+            long storeTotal = 0L;
+            for (int j = 0; j < productIds.size(); j++) {
+                if (result.assignment()[j] == store) {
+                    purchased.add(productIds.get(j));
+                    storeTotal += costs.get(j)[store];
+                }
+            }
+            stores.add(new SplitBasketDto.StorePurchase(storeMartIds.get(store), purchased, storeTotal));
+        }
+        SplitBasketDto splitBasket = new SplitBasketDto(stores, result.itemTotal(), result.penalty(),
+                unavailableProductIds, result.optimal());
+        return ApiResponse.success(splitBasket, MartAndProductMessage.LOADED_SPLIT_BASKET.getMessage());
+    }
+
+    /**
+     * 장바구니에 담지 않은 여러 후보 장바구니(레시피, 주간 식단 등)의 마트별 합계를 한 번에 계산
+     * 모든 장바구니를 같은 가격 행렬 스냅샷으로 계산하며, 장바구니 테이블에는 쓰지 않는다.
+     *
+     * @param baskets 장바구니 목록 (상품 id -> 수량)
+     * @return 요청 순서대로 장바구니별 마트 합계를 ApiResponse 형태로 반환, 모두 판매하는 마트가 없으면 빈 맵
+     */
+    public ApiResponse<List<Map<Long, Long>>> compareBaskets(List<Map<Long, Long>> baskets) {
+        PriceMatrix matrix = priceMatrixEngine.current();
+        List<Map<Long, Long>> martTotals = baskets.stream()
+                .map(basket -> toMartTotals(memberBasketTotals.compute(matrix, basket)))
+                .toList();
+        return ApiResponse.success(martTotals, MartAndProductMessage.LOADED_BASKET_COMPARISON.getMessage());
+    }
+
+    /**
+     * 마트 비교 결과의 ETag
+     * 장바구니 버전과 가격 버전이 같으면 같은 값이므로, 304 응답 여부를 DB 조회 없이 판단할 수 있다.
+     */
+    public String findCartETag(Long memberId) {
+        return martSellingCache.eTag(cacheKey(memberId));
     }
 
     /**
      * 마트별 상품 가격 세부사항 조회
+     * 요청한 마트의 조인마트 행만 조회한다.
      *
      * @return 선택된 마트의 상품의 세부 정보를 포함하는 객체를 ApiResponse 형태로 반환
-     * @throws EntityNotFoundException 사용자 정보를 찾을 수 없을 때 발생
+     * @throws EntityNotFoundException 사용자 정보나 마트 정보를 찾을 수 없을 때 발생
      * @throws NoContentFoundException 장바구니에 데이터가 존재하지 않거나 비어있을 때 발생
      */
     @Transactional(readOnly = true)
     public ApiResponse<List<DiscountInfoDto>> findMartInfoByMartId(Long martId, @LoginUser Long memberId) {
-        ProductAndDiscountDataDto loadData = getProductAndDiscountData(memberId);
+        Map<Long, List<DiscountInfoDto>> martInfo = findMartInfo(List.of(martId), memberId);
 
-        Long joinId = martRepository.findJoinIdByMartId(martId)
-                .orElseThrow(() -> new EntityNotFoundException(MartAndProductMessage.NOT_FOUND_MART_DETAILS.getMessage()));
+        return ApiResponse.success(martInfo.get(martId), MartAndProductMessage.LOADED_MART_DETAILS.getMessage());
+    }
+
+    /**
+     * 여러 마트의 상품 가격 세부사항 조회
+     * 요청한 마트들의 조인마트 행만 한 번의 쿼리로 조회한다.
+     *
+     * @return martId별 상품 세부 정보를 ApiResponse 형태로 반환
+     * @throws EntityNotFoundException 사용자 정보나 마트 정보를 찾을 수 없을 때 발생
+     * @throws NoContentFoundException 장바구니에 데이터가 존재하지 않거나 비어있을 때 발생
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<Map<Long, List<DiscountInfoDto>>> findMartInfosByMartIds(
+            List<Long> martIds,
+            @LoginUser Long memberId
+    ) {
+        return ApiResponse.success(findMartInfo(martIds, memberId),
+                MartAndProductMessage.LOADED_MART_DETAILS.getMessage());
+    }
 
-        List<DiscountInfoDto> filteredDiscountInfo = loadData.getDiscountInfoList().stream()
-                .filter(dto -> dto.getJoinId().equals(joinId))
+    /** 캐시에 없는 마트만 계산하여 martId별 세부 정보를 반환 */
+    private Map<Long, List<DiscountInfoDto>> findMartInfo(List<Long> martIds, Long memberId) {
+        MartSellingCache.Key cacheKey = cacheKey(memberId);
+        Map<Long, List<DiscountInfoDto>> martInfo = new LinkedHashMap<>();
+        List<Long> missingMartIds = new ArrayList<>();
+        for (Long martId : martIds) {
+            List<DiscountInfoDto> cached = martSellingCache.getDetails(cacheKey, martId);
+            martInfo.put(martId, cached);
+            if (cached == null) {
+                missingMartIds.add(martId);
+            }
+        }
+        if (missingMartIds.isEmpty()) {
+            return martInfo;
+        }
+
+        List<Long> productIds = pricedProductIds(priceMatrixEngine.current(), getCartProducts(memberId));
+        Map<Long, Long> martIdToJoinId = new HashMap<>();
+        for (Long martId : missingMartIds) {
+            Long joinId = joinMartMartIndex.findJoinId(martId)
+                    .orElseThrow(() -> new EntityNotFoundException(MartAndProductMessage.NOT_FOUND_MART_DETAILS.getMessage()));
+            martIdToJoinId.put(martId, joinId);
+        }
+
+        Map<Long, List<DiscountInfoDto>> detailsByJoinId =
+                loadDiscountInfoByJoinIds(productIds, martIdToJoinId.values());
+        martIdToJoinId.forEach((martId, joinId) -> {
+            List<DiscountInfoDto> details = detailsByJoinId.getOrDefault(joinId, List.of());
+            martSellingCache.putDetails(cacheKey, martId, details);
+            martInfo.put(martId, details);
+        });
+        return martInfo;
+    }
+
+    /**
+     * 장바구니 상품을 모두 판매하는 조인마트 중 요청한 조인마트의 할인 정보만 조회
+     * 해당하는 조인마트가 없으면 쿼리를 실행하지 않는다.
+     */
+    private Map<Long, List<DiscountInfoDto>> loadDiscountInfoByJoinIds(List<Long> productIds, Collection<Long> joinIds) {
+        List<Long> sellingAll = joinMartBitsetIndex.findJoinIdsSellingAll(productIds);
+        List<Long> targetJoinIds = joinIds.stream()
+                .distinct()
+                .filter(sellingAll::contains)
                 .toList();
+        if (targetJoinIds.isEmpty()) {
+            return Map.of();
+        }
+        return martProductRepository.findDiscountsByProductIdsAndJoinIds(productIds, targetJoinIds).stream()
+                .collect(Collectors.groupingBy(DiscountInfoDto::getJoinId));
+    }
 
-        return ApiResponse.success(filteredDiscountInfo, MartAndProductMessage.LOADED_MART_DETAILS.getMessage());
+    /** 현재 장바구니 버전과 가격 버전으로 캐시 키 생성 */
+    private MartSellingCache.Key cacheKey(Long memberId) {
+        return martSellingCache.key(memberId, cartVersionRegistry.current(memberId));
     }
 
-    /** 사용자 확인 */
-    private ProductAndDiscountDataDto getProductAndDiscountData(Long memberId) {
+    /** 사용자 확인 후 회원의 장바구니 상품 목록을 반환 */
+    private List<CartProductDto> getCartProducts(Long memberId) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new EntityNotFoundException(MartAndProductMessage.NOT_FOUND_MEMBER.getMessage()));
 
-        return loadProductsAndDiscounts(member);
-    }
-
-    /** 회원의 장바구니에 있는 상품 목록과 각 상품의 마트별 할인 정보를 반환 */
-    private ProductAndDiscountDataDto loadProductsAndDiscounts(Member member) {
-        List<CartProductDto> cartProductList = cartRepository.findCartsByMember(member);
+        List<CartProductDto> cartProductList = cartStore.findCartProducts(member);
         if (cartProductList.isEmpty()) {
             throw new NoContentFoundException(MartAndProductMessage.EMPTY_CART.getMessage());
         }
+        return cartProductList;
+    }
 
-        List<Product> productList = cartProductList.stream()
-                .map(dto -> productRepository.findById(dto.getProductId()))
-                .flatMap(Optional::stream)
-                .collect(Collectors.toList());
-        if (productList.isEmpty()) {
+    /**
+     * 장바구니 상품 중 가격 행렬에 있는 상품 id (중복 제외)
+     * 남는 상품이 없으면 예외를 던진다.
+     */
+    private List<Long> pricedProductIds(PriceMatrix matrix, List<CartProductDto> cartProductList) {
+        List<Long> productIds = cartProductList.stream()
+                .map(CartProductDto::getProductId)
+                .distinct()
+                .filter(productId -> matrix.productIndex(productId) >= 0)
+                .toList();
+        if (productIds.isEmpty()) {
             throw new NoContentFoundException(MartAndProductMessage.EMPTY_CART_PRODUCTS.getMessage());
         }
-        Long numberOfProducts = (long) productList.size();
-
-        List<JoinMart> joinMartList =
-                joinMartRepository.findJoinMartsSellingAllProducts(productList, numberOfProducts);
+        return productIds;
+    }
 
-        List<DiscountInfoDto> discountInfoList =
-                martProductRepository.findDiscountsByProductsAndJoinMarts(productList, joinMartList);
+    /**
+     * 회원별로 증분 유지되는 조인마트 합계에서 장바구니 상품을 모두 판매하는 조인마트를 골라
+     * 조인마트 -> 마트 인덱스로 각 마트의 총 합계를 반환
+     * 유지 중인 합계가 없거나 버전이 맞지 않을 때만 장바구니를 다시 읽는다.
+     */
+    private Map<Long, Long> calculateTotalFinalPriceByMart(Long memberId, long cartVersion) {
+        MemberBasketTotals.Totals totals = memberBasketTotals.find(memberId, cartVersion);
+        if (totals == null) {
+            totals = memberBasketTotals.rebuild(memberId, cartVersion, getCartProducts(memberId));
+        }
+        if (totals.lineCount() == 0) {
+            throw new NoContentFoundException(MartAndProductMessage.EMPTY_CART.getMessage());
+        }
+        if (totals.pricedLineCount() == 0) {
+            throw new NoContentFoundException(MartAndProductMessage.EMPTY_CART_PRODUCTS.getMessage());
+        }
 
-        return new ProductAndDiscountDataDto(productList, discountInfoList, cartProductList);
+        return toMartTotals(totals);
     }
 
-    /** 마트별로 상품의 최종 가격을 수량과 함께 계산하여, 각 마트의 총 합계를 반환 */
-    private Map<Long, Long> calculateTotalFinalPriceByMart(
-            List<DiscountInfoDto> discountInfoDto,
-            List<CartProductDto> cartProductList
-    ) {
-        Map<Long, Long> productIdToQuantity = cartProductList.stream()
-                .collect(Collectors.toMap(
-                        CartProductDto::getProductId,
-                        CartProductDto::getQuantity,
-                        Long::sum));
-
+    /** 조인마트별 합계를 조인마트 -> 마트 인덱스로 마트별 합계로 변환 */
+    private Map<Long, Long> toMartTotals(MemberBasketTotals.Totals totals) {
         Map<Long, Long> martIdToTotalPrice = new HashMap<>();
-
-        discountInfoDto.stream()
-                .filter(dto -> productIdToQuantity.containsKey(dto.getProductId()))
-                .forEach(dto -> {
-                    List<Mart> marts = martRepository.findByJoinMartJoinId(dto.getJoinId());
-                    marts.forEach(mart -> {
-                        Long totalPrice = dto.getFinalPrice() * productIdToQuantity.get(dto.getProductId());
-                        martIdToTotalPrice.merge(mart.getId(), totalPrice, Long::sum);
-                    });
-                });
+        totals.joinIdToTotal().forEach((joinId, totalPrice) -> joinMartMartIndex.findMartIds(joinId)
+                .forEach(martId -> martIdToTotalPrice.merge(martId, totalPrice, Long::sum)));
         return martIdToTotalPrice;
     }
+
+    /** 부분 판매 비교의 순위 후보, covered 는 장바구니 상품 위치별 판매 여부 비트 */
+    private record CoverageCandidate(long martId, int coverageCount, long totalPrice, long[] covered) {
+
+        List<Long> missingProductIds(List<Long> productIds) {
+            List<Long> missing = new ArrayList<>();
+            for (int j = 0; j < productIds.size(); j++) {
+                if ((covered[j >>> 6] & (1L << j)) == 0) {
+                    missing.add(productIds.get(j));
+                }
+            }
+            return missing;
+        }
+    }
 }
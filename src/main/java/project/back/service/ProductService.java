@@ -1,20 +1,19 @@
 package project.back.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
 import project.back.dto.ApiResponse;
 import project.back.dto.ProductDto;
 import project.back.entity.Product;
 import project.back.etc.commonException.NoContentFoundException;
 import project.back.etc.martproduct.MartAndProductMessage;
 import project.back.repository.ProductRepository;
+import project.back.service.image.Base64ImageCache;
+import project.back.service.image.ProductImage;
+import project.back.service.image.ProductImageCatalog;
 
-import java.io.IOException;
-import java.util.Base64;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,18 +21,43 @@ import java.util.stream.Collectors;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductImageCatalog productImageCatalog;
+    private final Base64ImageCache base64ImageCache;
 
     /**
      * 상품 리스트 가져오기
-     * 변환 과정에서 상품의 이미지는 Base64 형식으로 인코딩됩니다.
+     * 상품의 이미지는 내용 해시가 들어간 URL(/images/{hash}/{파일 이름})로 담습니다.
+     *
+     * @return 상품 이름과 이미지 URL 을 ApiResponse 형태로 반환
+     * @throws RuntimeException 이미지 파일이 없을 때 발생
+     * @throws NoContentFoundException 상품 목록이 비어있을 때 발생
+     */
+    public ApiResponse<List<ProductDto>> findAllProductDtos() {
+        return findAllProductDtos(this::convertToProductDto);
+    }
+
+    /**
+     * 상품 리스트 가져오기 (이전 클라이언트 호환)
+     * 상품의 이미지는 Base64 data URL 로 담습니다. (Base64ImageCache 에 미리 인코딩된 값)
      *
      * @return 이미지 파일 경로를 Base64로 인코딩 하여 ApiResponse 형태로 반환
      * @throws RuntimeException 이미지 파일 처리 중 오류 발생
      * @throws NoContentFoundException 상품 목록이 비어있을 때 발생
      */
-    public ApiResponse<List<ProductDto>> findAllProductDtos() {
-        List<ProductDto> productDto = productRepository.findAll().stream()
+    public ApiResponse<List<ProductDto>> findAllProductDtosWithBase64Images() {
+        return findAllProductDtos(this::convertToBase64ProductDto);
+    }
+
+    /** 상품 목록 (이미지 URL), 비어 있어도 예외 없이 반환 (ProductCatalog 스냅샷 생성용) */
+    public List<ProductDto> findProductDtos() {
+        return productRepository.findAll().stream()
             .map(this::convertToProductDto)
+            .toList();
+    }
+
+    private ApiResponse<List<ProductDto>> findAllProductDtos(Function<Product, ProductDto> converter) {
+        List<ProductDto> productDto = productRepository.findAll().stream()
+            .map(converter)
             .collect(Collectors.toList());
         if (productDto.isEmpty()) {
             throw new NoContentFoundException(MartAndProductMessage.EMPTY_PRODUCT_LIST.getMessage());
@@ -41,25 +65,17 @@ public class ProductService {
         return ApiResponse.success(productDto, MartAndProductMessage.LOADED_PRODUCT.getMessage());
     }
 
-    /** 이미지를 Base64로 인코딩하고, ProductDto로 반환 */
+    /** 이미지 URL 을 담아 ProductDto로 반환 */
     private ProductDto convertToProductDto(Product product) {
-        String base64Image =
-                "data:image/jpeg;base64," + encodeImageToBase64(product.getProductImgUrl());
-        return new ProductDto(product.getProductName(), base64Image);
+        String imageUrl = productImageCatalog.findByImagePath(product.getProductImgUrl())
+                .map(ProductImage::url)
+                .orElseThrow(() -> new RuntimeException(MartAndProductMessage.NOT_FOUND_PRODUCT_IMG.getMessage()));
+        return new ProductDto(product.getProductId(), product.getProductName(), imageUrl);
     }
 
-    /** 이미지 파일을 Base64로 인코딩하여 반환 */
-    private String encodeImageToBase64(String imagePath) {
-        Resource resource =
-                new ClassPathResource("static/images" + (imagePath != null ? imagePath : "/null.png"));
-        try {
-            if (!resource.exists()) {
-                throw new RuntimeException(MartAndProductMessage.NOT_FOUND_PRODUCT_IMG.getMessage());
-            }
-            byte[] imageData = StreamUtils.copyToByteArray(resource.getInputStream());
-            return Base64.getEncoder().encodeToString(imageData);
-        } catch (IOException e) {
-            throw new RuntimeException(MartAndProductMessage.ERROR_PRODUCT_IMG_PROCESSING.getMessage());
-        }
+    /** 미리 인코딩해 둔 Base64 이미지를 담아 ProductDto로 반환 */
+    private ProductDto convertToBase64ProductDto(Product product) {
+        return new ProductDto(product.getProductId(), product.getProductName(),
+                base64ImageCache.dataUrl(product.getProductImgUrl()));
     }
 }
@@ -0,0 +1,59 @@
+package project.back.service.cart;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장바구니 행을 MySQL cart 테이블에 JDBC 배치로 반영 (일괄 변경, write-behind flush)
+ */
+@Component
+@RequiredArgsConstructor
+public class CartBatchWriter {
+
+    private static final String DELETE_MEMBER_CART = "DELETE FROM cart WHERE member_id = ?";
+    private static final String INSERT_CART = "INSERT INTO cart (member_id, product_id, quantity) VALUES (?, ?, ?)";
+    private static final String UPSERT_CART = INSERT_CART + " ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 회원의 장바구니 상품 추가 또는 수량 변경 (member_id, product_id 유니크 키 기준)
+     *
+     * @param productIdToQuantity 상품 id -> 변경 후 수량
+     */
+    public void upsertLines(Long memberId, Map<Long, Long> productIdToQuantity) {
+        List<Map.Entry<Long, Long>> lines = new ArrayList<>(productIdToQuantity.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_CART, lines, lines.size(), (ps, line) -> {
+            ps.setLong(1, memberId);
+            ps.setLong(2, line.getKey());
+            ps.setLong(3, line.getValue());
+        });
+    }
+
+    /**
+     * 회원들의 장바구니 행을 한 트랜잭션에서 통째로 교체
+     *
+     * @param memberIdToCart 회원 id -> (상품 id -> 수량)
+     */
+    @Transactional
+    public void replaceCarts(Map<Long, Map<Long, Long>> memberIdToCart) {
+        List<Long> memberIds = new ArrayList<>(memberIdToCart.keySet());
+        List<long[]> rows = new ArrayList<>();
+        memberIdToCart.forEach((memberId, cart) -> cart.forEach(
+                (productId, quantity) -> rows.add(new long[]{memberId, productId, quantity})));
+
+        jdbcTemplate.batchUpdate(DELETE_MEMBER_CART, memberIds, memberIds.size(),
+                (ps, memberId) -> ps.setLong(1, memberId));
+        jdbcTemplate.batchUpdate(INSERT_CART, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setLong(2, row[1]);
+            ps.setLong(3, row[2]);
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package project.back.service.cart;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 회원별 최근 장바구니 변경 기록 (장바구니 버전 -> 바뀐 상품 id)
+ * GET /cart?sinceVersion= 에서 클라이언트가 가진 버전 이후 바뀐 상품만 응답하는 데 사용한다.
+ * 회원마다 최근 MAX_VERSIONS 개 버전만 들고 있으며, 기록이 모자라거나 중간에 전체 삭제가 있으면 변경분을 알 수 없다고 응답한다.
+ * 버전을 올리지 못한 변경(UNKNOWN)이 들어오면 그 회원의 기록을 버린다.
+ * 장바구니 버전은 모든 인스턴스가 공유하며, 다른 인스턴스의 변경은 cart:sync 메시지(CartSyncRelay)로 받아 기록한다.
+ * 기록은 메모리에만 있으므로 재시작했거나 메시지를 놓친 버전이 있으면 변경분을 알 수 없다고 응답한다.
+ */
+@Component
+public class CartChangeLog {
+
+    private static final int MAX_VERSIONS = 64;
+    private static final int MAX_MEMBERS = 10_000;
+
+    /** 전체 삭제 표시 */
+    private static final Set<Long> CLEARED = Collections.emptySet();
+
+    private final Map<Long, TreeMap<Long, Set<Long>>> logs = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, TreeMap<Long, Set<Long>>> eldest) {
+                    return size() > MAX_MEMBERS;
+                }
+            });
+
+    /** cartVersion 에서 바뀐 상품 기록 */
+    public void record(Long memberId, long cartVersion, Collection<Long> productIds) {
+        put(memberId, cartVersion, Set.copyOf(productIds));
+    }
+
+    /** cartVersion 에서 장바구니 전체 삭제 기록 */
+    public void recordCleared(Long memberId, long cartVersion) {
+        put(memberId, cartVersion, CLEARED);
+    }
+
+    /**
+     * sinceVersion 이후 currentVersion 까지 바뀐 상품 id
+     *
+     * @return 바뀐 상품 id, 그 사이 기록이 빠져 있거나 전체 삭제가 있었으면 empty
+     */
+    public Optional<Set<Long>> changedSince(Long memberId, long sinceVersion, long currentVersion) {
+        if (sinceVersion < 0 || sinceVersion > currentVersion) {
+            return Optional.empty();
+        }
+        if (sinceVersion == currentVersion) {
+            return Optional.of(Set.of());
+        }
+        synchronized (logs) {
+            TreeMap<Long, Set<Long>> log = logs.get(memberId);
+            if (log == null) {
+                return Optional.empty();
+            }
+            Map<Long, Set<Long>> range = log.subMap(sinceVersion, false, currentVersion, true);
+            if (range.size() != currentVersion - sinceVersion) {
+                return Optional.empty();
+            }
+            Set<Long> productIds = new HashSet<>();
+            for (Set<Long> changed : range.values()) {
+                if (changed == CLEARED) {
+                    return Optional.empty();
+                }
+                productIds.addAll(changed);
+            }
+            return Optional.of(productIds);
+        }
+    }
+
+    private void put(Long memberId, long cartVersion, Set<Long> productIds) {
+        synchronized (logs) {
+            if (cartVersion == CartVersionRegistry.UNKNOWN) {
+                logs.remove(memberId);
+                return;
+            }
+            TreeMap<Long, Set<Long>> log = logs.computeIfAbsent(memberId, id -> new TreeMap<>());
+            log.put(cartVersion, productIds);
+            while (log.size() > MAX_VERSIONS) {
+                log.pollFirstEntry();
+            }
+        }
+    }
+}
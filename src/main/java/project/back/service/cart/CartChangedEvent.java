@@ -0,0 +1,23 @@
+package project.back.service.cart;
+
+import java.util.Map;
+
+/**
+ * 커밋된 장바구니 변경 이벤트 (장바구니 버전이 올라간 뒤 발행)
+ * 다른 기기로 보내는 실시간 동기화 메시지로도 그대로 직렬화된다.
+ *
+ * @param memberId            회원 id
+ * @param version             이 변경으로 올라간 장바구니 버전
+ * @param productIdToQuantity 바뀐 상품 id -> 변경 후 수량, 삭제되었으면 0
+ * @param cleared             장바구니 전체 삭제 여부
+ */
+public record CartChangedEvent(Long memberId, long version, Map<Long, Long> productIdToQuantity, boolean cleared) {
+
+    public static CartChangedEvent linesChanged(Long memberId, long version, Map<Long, Long> productIdToQuantity) {
+        return new CartChangedEvent(memberId, version, Map.copyOf(productIdToQuantity), false);
+    }
+
+    public static CartChangedEvent cleared(Long memberId, long version) {
+        return new CartChangedEvent(memberId, version, Map.of(), true);
+    }
+}
@@ -0,0 +1,71 @@
+package project.back.service.cart;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.back.etc.cart.enums.CartErrorMessage;
+import project.back.etc.commonException.TooManyRequestsException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 회원별 장바구니 명령 직렬화 (lock striping)
+ * 회원 id 를 고정 개수의 락 중 하나에 대응시켜, 같은 회원의 명령은 한 번에 하나씩 실행하고
+ * 다른 회원의 명령은 (같은 락에 걸리지 않는 한) 병렬로 실행한다.
+ * 명령은 트랜잭션 밖에서 호출해 커밋과 커밋 후 처리(버전, 마트 합계, 동기화 이벤트)까지 락 안에서 끝나게 한다.
+ * 메모리 락이므로 DB 행 잠금을 요청 동안 잡지 않으며, 다른 인스턴스 사이의 직렬화는 DB 의 원자적 변경에 맡긴다.
+ */
+@Component
+public class CartCommandExecutor {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final long lockTimeoutMs;
+    private final long retryAfterSeconds;
+
+    public CartCommandExecutor(@Value("${cart.command.stripes:1024}") int stripes,
+                               @Value("${cart.command.lock-timeout-ms:3000}") long lockTimeoutMs,
+                               @Value("${cart.command.retry-after-seconds:1}") long retryAfterSeconds) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 회원의 다른 장바구니 명령이 끝난 뒤 command 실행
+     *
+     * @throws TooManyRequestsException lockTimeoutMs 안에 차례가 오지 않은 경우 (429, Retry-After)
+     */
+    public <T> T execute(Long memberId, Supplier<T> command) {
+        ReentrantLock lock = lockFor(memberId);
+        acquire(lock);
+        try {
+            return command.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock) {
+        try {
+            if (lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new TooManyRequestsException(CartErrorMessage.TOO_MANY_REQUESTS.getMessage(), retryAfterSeconds);
+    }
+
+    /** 연속된 회원 id 가 이웃한 락에 고르게 퍼지도록 섞어서 대응 */
+    private ReentrantLock lockFor(Long memberId) {
+        long hash = memberId * 0x9E3779B97F4A7C15L;
+        return locks[(int) (hash ^ (hash >>> 32)) & mask];
+    }
+}
@@ -0,0 +1,59 @@
+package project.back.service.cart;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 회원별 장바구니 해시(상품 id -> 수량)와 dirty 표시에 대한 원자 연산
+ * 변경 연산은 해시 변경과 dirty 버전 증가를 하나의 원자 연산으로 처리해,
+ * 반영된 변경은 반드시 이후 flush 대상이 된다.
+ * MySQL 에 반영된(dirty 가 아닌) 해시는 일정 시간 쓰이지 않으면 만료되고, dirty 해시는 만료되지 않는다.
+ */
+public interface CartHashOperations {
+
+    /** MySQL 에서 장바구니를 읽어 해시를 만들었는지 (빈 장바구니도 loaded), 있으면 만료 시간을 다시 늘린다 */
+    boolean isLoaded(Long memberId);
+
+    /** 해시가 없을 때만 MySQL 장바구니로 해시 생성 (dirty 로 표시하지 않음) */
+    void loadIfAbsent(Long memberId, Map<Long, Long> productIdToQuantity);
+
+    /** 상품 id -> 수량 */
+    Map<Long, Long> entries(Long memberId);
+
+    boolean putIfAbsent(Long memberId, Long productId, long quantity);
+
+    /** 상품이 있고 변경 후 수량이 min 이상일 때만 수량에 delta 를 더함 */
+    boolean adjustIfPresent(Long memberId, Long productId, long delta, long min);
+
+    /** 상품이 있을 때만 수량 변경 */
+    boolean setIfPresent(Long memberId, Long productId, long quantity);
+
+    boolean remove(Long memberId, Long productId);
+
+    /**
+     * 여러 상품의 수량 변경과 삭제를 한 번에 반영
+     * 바꿀 상품의 현재 수량이 expected 와 다르면(expected 에 없으면 장바구니에 없어야 함) 반영하지 않는다.
+     *
+     * @return 반영했는지
+     */
+    boolean apply(Long memberId, Map<Long, Long> expected, Map<Long, Long> upserts, Set<Long> removals);
+
+    /** 상품을 모두 지우고 빈 장바구니로 표시 */
+    void clear(Long memberId);
+
+    /** flush 가 필요한 회원 id -> dirty 버전, excluded 회원을 빼고 최대 limit 명 */
+    Map<Long, Long> dirtyMembers(int limit, Set<Long> excluded);
+
+    /** dirty 버전이 그대로일 때만(flush 하는 사이 바뀌지 않았을 때만) dirty 표시를 제거하고 해시를 만료 대상으로 바꿈 */
+    void clearDirty(Long memberId, long dirtyVersion);
+
+    /**
+     * flush 주기 락을 잡거나, 이미 owner 가 잡고 있으면 유지 시간을 다시 늘림
+     *
+     * @return 락을 가졌는지
+     */
+    boolean tryLockFlush(String owner, long ttlMillis);
+
+    /** owner 가 잡은 flush 주기 락 해제 */
+    void unlockFlush(String owner);
+}
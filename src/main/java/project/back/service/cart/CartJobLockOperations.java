@@ -0,0 +1,18 @@
+package project.back.service.cart;
+
+/**
+ * 여러 인스턴스 중 한 곳에서만 실행할 장바구니 작업의 락
+ * 락은 owner 값과 함께 유지 시간 동안만 잡히며, 작업이 길면 같은 owner 로 다시 잡아 유지 시간을 늘린다.
+ */
+public interface CartJobLockOperations {
+
+    /**
+     * job 락을 잡거나, 이미 owner 가 잡고 있으면 유지 시간을 다시 늘림
+     *
+     * @return 락을 가졌는지
+     */
+    boolean tryLock(String job, String owner, long ttlMillis);
+
+    /** owner 가 잡은 job 락 해제 */
+    void unlock(String job, String owner);
+}
@@ -0,0 +1,246 @@
+package project.back.service.cart;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.back.service.pricing.MemberBasketTotals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 비활성 회원의 장바구니 정리
+ * 장바구니 행이 cart.purge.inactive-days 동안 하나도 바뀌지 않은 회원의 장바구니를 지운다.
+ * cart_id 키셋으로 chunk-size 행씩 훑으며 그 안에 나온 회원만 검사하고 지우므로, 문장마다 잠그는 범위가 작고
+ * 각 문장은 따로 커밋된다. (긴 트랜잭션이나 테이블 전체 잠금이 없음)
+ * 일시정지(JMX pause)하면 현재 chunk 까지만 처리하고 멈추며, 재개하면 멈춘 cart_id 다음부터 이어서 훑는다.
+ * 여러 인스턴스가 같은 시각에 실행하므로 Redis 락(cart:job:purge:lock)을 잡은 인스턴스만 정리하고, chunk 마다 락 유지 시간을 늘린다.
+ * (락을 잃거나 Redis 를 쓸 수 없으면 그 chunk 전에 멈춤)
+ * Redis write-behind 모드에서는 Redis 해시가 최신 장바구니이므로 동작하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ManagedResource(objectName = "project.back:type=CartPurgeJob")
+@ConditionalOnProperty(name = "cart.store.type", havingValue = "jpa", matchIfMissing = true)
+public class CartPurgeJob {
+
+    private static final String LOCK_JOB = "purge";
+
+    private static final String SCAN_CHUNK = """
+            SELECT cart_id, member_id FROM cart
+            WHERE cart_id > :lastCartId
+            ORDER BY cart_id
+            LIMIT :chunkSize
+            """;
+    private static final String FIND_INACTIVE_MEMBERS = """
+            SELECT member_id FROM cart
+            WHERE member_id IN (:memberIds)
+            GROUP BY member_id
+            HAVING MAX(updated_at) < :cutoff
+            """;
+    /** 검사 후 그 사이 장바구니를 바꾼 회원은 남긴다 (DISTINCT 로 파생 테이블을 먼저 만들어 같은 테이블을 참조) */
+    private static final String DELETE_INACTIVE_CARTS = """
+            DELETE FROM cart
+            WHERE member_id IN (:memberIds)
+              AND member_id NOT IN (SELECT member_id FROM (
+                  SELECT DISTINCT member_id FROM cart
+                  WHERE member_id IN (:memberIds) AND updated_at >= :cutoff) recent)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CartVersionRegistry cartVersionRegistry;
+    private final CartChangeLog cartChangeLog;
+    private final MemberBasketTotals memberBasketTotals;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CartJobLockOperations cartJobLockOperations;
+
+    private final String lockOwner = UUID.randomUUID().toString();
+
+    @Value("${cart.purge.enabled:true}")
+    private boolean enabled = true;
+    @Value("${cart.purge.inactive-days:90}")
+    private int inactiveDays = 90;
+    @Value("${cart.purge.chunk-size:1000}")
+    private int chunkSize = 1000;
+    @Value("${cart.purge.chunk-pause-ms:50}")
+    private long chunkPauseMs = 50;
+    @Value("${cart.purge.lock-ms:300000}")
+    private long lockMs = 300_000L;
+
+    private final AtomicBoolean paused = new AtomicBoolean();
+    private final AtomicBoolean running = new AtomicBoolean();
+    /** 다음에 이어서 훑을 cart_id (한 바퀴를 다 훑으면 0) */
+    private volatile long lastCartId;
+    private volatile PurgeResult lastResult;
+
+    @Scheduled(cron = "${cart.purge.cron:0 30 4 * * *}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * 일시정지되거나 끝까지 훑을 때까지 정리
+     *
+     * @return 이번 실행 결과, 이미 실행 중이거나 일시정지 상태거나 다른 인스턴스가 정리 중이면 null
+     */
+    @ManagedOperation
+    public PurgeResult purge() {
+        if (paused.get() || !running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            if (!lock()) {
+                return null;
+            }
+            try {
+                return run(LocalDateTime.now().minusDays(inactiveDays));
+            } finally {
+                unlock();
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @ManagedOperation
+    public void pause() {
+        paused.set(true);
+    }
+
+    @ManagedOperation
+    public void resume() {
+        paused.set(false);
+    }
+
+    @ManagedAttribute
+    public boolean isPaused() {
+        return paused.get();
+    }
+
+    @ManagedAttribute
+    public long getLastCartId() {
+        return lastCartId;
+    }
+
+    @ManagedAttribute
+    public String getLastResult() {
+        PurgeResult result = lastResult;
+        return result == null ? null : result.toString();
+    }
+
+    private PurgeResult run(LocalDateTime cutoff) {
+        long startNanos = System.nanoTime();
+        long scannedRows = 0;
+        long deletedRows = 0;
+        int purgedMembers = 0;
+        boolean completed = false;
+
+        while (!paused.get() && lock()) {
+            List<long[]> chunk = jdbcTemplate.query(SCAN_CHUNK,
+                    new MapSqlParameterSource("lastCartId", lastCartId).addValue("chunkSize", chunkSize),
+                    (rs, rowNum) -> new long[]{rs.getLong("cart_id"), rs.getLong("member_id")});
+            if (chunk.isEmpty()) {
+                lastCartId = 0;
+                completed = true;
+                break;
+            }
+            scannedRows += chunk.size();
+            lastCartId = chunk.get(chunk.size() - 1)[0];
+
+            Set<Long> memberIds = new TreeSet<>();
+            chunk.forEach(row -> memberIds.add(row[1]));
+            MapSqlParameterSource params = new MapSqlParameterSource("memberIds", memberIds)
+                    .addValue("cutoff", cutoff);
+            List<Long> inactiveMemberIds = jdbcTemplate.queryForList(FIND_INACTIVE_MEMBERS, params, Long.class);
+            if (!inactiveMemberIds.isEmpty()) {
+                deletedRows += jdbcTemplate.update(DELETE_INACTIVE_CARTS,
+                        new MapSqlParameterSource("memberIds", inactiveMemberIds).addValue("cutoff", cutoff));
+                purgedMembers += inactiveMemberIds.size();
+                inactiveMemberIds.forEach(this::cleared);
+            }
+            if (!sleepBetweenChunks()) {
+                break;
+            }
+        }
+
+        PurgeResult result = new PurgeResult(scannedRows, deletedRows, purgedMembers,
+                (System.nanoTime() - startNanos) / 1_000_000, completed);
+        lastResult = result;
+        log.info("cart purge {}: scanned={} deleted={} members={} elapsedMs={} rowsPerSecond={}",
+                completed ? "completed" : "stopped", result.scannedRows(), result.deletedRows(),
+                result.purgedMembers(), result.elapsedMillis(), result.deletedRowsPerSecond());
+        return result;
+    }
+
+    /** 지운 장바구니를 메모리 상태(버전, 변경 기록, 마트 합계)와 연결된 기기에 전체 삭제로 반영 */
+    private void cleared(Long memberId) {
+        long version = cartVersionRegistry.bump(memberId);
+        cartChangeLog.recordCleared(memberId, version);
+        memberBasketTotals.onCleared(memberId, version);
+        eventPublisher.publishEvent(CartChangedEvent.cleared(memberId, version));
+    }
+
+    /** 정리 락을 잡거나 유지 시간을 늘림, Redis 를 쓸 수 없으면 false */
+    private boolean lock() {
+        try {
+            return cartJobLockOperations.tryLock(LOCK_JOB, lockOwner, lockMs);
+        } catch (DataAccessException e) {
+            log.warn("cart purge lock unavailable, skipping: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void unlock() {
+        try {
+            cartJobLockOperations.unlock(LOCK_JOB, lockOwner);
+        } catch (DataAccessException e) {
+            log.warn("cart purge unlock failed, lock expires in {} ms: {}", lockMs, e.getMessage());
+        }
+    }
+
+    private boolean sleepBetweenChunks() {
+        if (chunkPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 정리 결과
+     *
+     * @param scannedRows   훑은 장바구니 행 수
+     * @param deletedRows   지운 장바구니 행 수
+     * @param purgedMembers 장바구니를 지운 회원 수
+     * @param completed     끝까지 훑었는지 (false 면 일시정지나 락을 잃어 멈춤)
+     */
+    public record PurgeResult(long scannedRows, long deletedRows, int purgedMembers, long elapsedMillis,
+                              boolean completed) {
+
+        public long deletedRowsPerSecond() {
+            return elapsedMillis == 0 ? deletedRows : deletedRows * 1000 / elapsedMillis;
+        }
+    }
+}
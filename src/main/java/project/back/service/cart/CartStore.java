@@ -0,0 +1,69 @@
+package project.back.service.cart;
+
+import project.back.dto.CartDto;
+import project.back.dto.CartProductDto;
+import project.back.entity.Member;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 장바구니 저장소
+ * 변경 연산은 조건이 맞을 때만 원자적으로 반영하고 반영 여부를 반환한다.
+ * 반영되지 않은 이유(사용자/상품 없음, 장바구니에 없는 상품, 수량 조건)는 호출하는 쪽에서 확인한다.
+ * cart.store.type 설정으로 MySQL(jpa, 기본값) 또는 Redis write-behind(redis) 구현을 선택한다.
+ */
+public interface CartStore {
+
+    /** 장바구니 목록 (상품 정보 포함) */
+    List<CartDto> findCart(Long memberId);
+
+    /** 장바구니 중 productIds 에 해당하는 상품만 (상품 정보 포함, 장바구니에 없는 상품은 빠짐) */
+    List<CartDto> findCartLines(Long memberId, Collection<Long> productIds);
+
+    /** 장바구니 상품 수 */
+    long countLines(Long memberId);
+
+    /** 마트 비교용 장바구니 상품 id 와 수량 */
+    List<CartProductDto> findCartProducts(Member member);
+
+    /** 장바구니에 상품이 있는지 */
+    boolean contains(Long memberId, Long productId);
+
+    /** 장바구니에 없을 때만 추가 */
+    boolean addIfAbsent(Long memberId, Long productId, long quantity);
+
+    /** 수량 1 증가 */
+    boolean increment(Long memberId, Long productId);
+
+    /** 수량이 1보다 클 때만 1 감소 */
+    boolean decrement(Long memberId, Long productId);
+
+    /** quantity 가 1 이상일 때만 수량 변경 */
+    boolean updateQuantity(Long memberId, Long productId, long quantity);
+
+    /** 상품 한 줄 삭제 */
+    boolean remove(Long memberId, Long productId);
+
+    /**
+     * 일괄 변경용 상품 id -> 수량
+     * MySQL 은 트랜잭션이 끝날 때까지 행을 잠그고, Redis 는 잠그지 않으므로 applyLines 가 그 사이 변경을 확인한다.
+     */
+    Map<Long, Long> findQuantitiesForUpdate(Long memberId);
+
+    /**
+     * 일괄 변경 결과 반영
+     * 바꿀 상품이 findQuantitiesForUpdate 이후 다른 요청으로 바뀌었으면 덮어쓰지 않고 false 를 반환한다.
+     *
+     * @param before   findQuantitiesForUpdate 로 읽은 상품 id -> 수량
+     * @param upserts  추가하거나 수량을 바꿀 상품 id -> 수량
+     * @param removals 삭제할 상품 id
+     * @return 반영했는지
+     */
+    boolean applyLines(Long memberId, Map<Long, Long> before, Map<Long, Long> upserts, Set<Long> removals);
+
+    /** 장바구니 전체 삭제 */
+    void clear(Member member);
+}
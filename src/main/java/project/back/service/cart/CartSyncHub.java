@@ -0,0 +1,212 @@
+package project.back.service.cart;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이 인스턴스에 연결된 장바구니 실시간 동기화(SSE) 세션
+ * 회원별 세션 목록을 들고 있다가 장바구니 변경 메시지를 그 회원의 모든 세션에 보낸다.
+ * 세션은 서블릿 비동기 요청이므로 연결마다 스레드를 잡지 않는다.
+ * 소켓 쓰기는 막힐 수 있으므로 세션마다 보낼 이벤트를 쌓아 두고 전용 스레드 풀(cart.sync.write-threads)에서 순서대로 보낸다.
+ * 그래서 느린 클라이언트가 스케줄러 스레드(heartbeat)나 pub/sub 수신 스레드를 막지 않으며,
+ * 쌓인 이벤트가 cart.sync.max-pending-events 를 넘는 세션은 닫는다. (다시 연결하면 버전으로 맞춤)
+ * 연결 직후 현재 장바구니 버전을 보내므로, 클라이언트는 가진 버전과 다르면 GET /cart?sinceVersion= 으로 맞춘다.
+ * 버전은 모든 인스턴스가 공유하는 값(CartVersionRegistry)이므로 어느 인스턴스에 다시 연결해도 같은 기준으로 비교된다.
+ * 변경 메시지에는 바뀐 상품과 수량이 함께 담겨 버전 없이도 반영할 수 있다.
+ */
+@Slf4j
+@Component
+public class CartSyncHub {
+
+    static final String VERSION_EVENT = "version";
+    static final String CART_EVENT = "cart";
+    private static final int MAX_SESSIONS_PER_MEMBER = 10;
+
+    private final CartVersionRegistry cartVersionRegistry;
+    private final Executor writeExecutor;
+
+    @Value("${cart.sync.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000L;
+    @Value("${cart.sync.max-pending-events:64}")
+    private int maxPendingEvents = 64;
+
+    private final Map<Long, Deque<Session>> sessions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CartSyncHub(CartVersionRegistry cartVersionRegistry,
+                       @Value("${cart.sync.write-threads:4}") int writeThreads) {
+        this(cartVersionRegistry, writeExecutor(writeThreads));
+    }
+
+    CartSyncHub(CartVersionRegistry cartVersionRegistry, Executor writeExecutor) {
+        this.cartVersionRegistry = cartVersionRegistry;
+        this.writeExecutor = writeExecutor;
+    }
+
+    /** 회원의 새 세션, 세션이 너무 많으면 가장 오래된 세션을 닫는다 */
+    public SseEmitter subscribe(Long memberId) {
+        Session session = new Session(memberId, new SseEmitter(timeoutMs));
+        Deque<Session> memberSessions = sessions.computeIfAbsent(memberId, id -> new ConcurrentLinkedDeque<>());
+        memberSessions.addLast(session);
+        session.emitter.onCompletion(() -> remove(session));
+        session.emitter.onTimeout(() -> remove(session));
+        session.emitter.onError(e -> remove(session));
+        while (memberSessions.size() > MAX_SESSIONS_PER_MEMBER) {
+            Session oldest = memberSessions.pollFirst();
+            if (oldest != null) {
+                oldest.close(null);
+            }
+        }
+
+        session.send(SseEmitter.event()
+                .name(VERSION_EVENT)
+                .data(cartVersionRegistry.current(memberId)));
+        return session.emitter;
+    }
+
+    /**
+     * 이 인스턴스에 연결된 회원 세션에 변경 전송 (보낼 목록에 넣기만 하고 기다리지 않음)
+     * 이벤트 id 는 공유 장바구니 버전이며, 버전을 알 수 없는 변경(UNKNOWN)은 id 없이 보내 클라이언트가 전체를 다시 받게 한다.
+     */
+    public void deliver(CartChangedEvent event) {
+        Deque<Session> memberSessions = sessions.get(event.memberId());
+        if (memberSessions == null) {
+            return;
+        }
+        for (Session session : memberSessions) {
+            SseEmitter.SseEventBuilder message = SseEmitter.event();
+            if (event.version() != CartVersionRegistry.UNKNOWN) {
+                message.id(Long.toString(event.version()));
+            }
+            session.send(message.name(CART_EVENT).data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /** 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주석 이벤트 전송, 끊긴 세션 정리 */
+    @Scheduled(fixedDelayString = "${cart.sync.heartbeat-ms:25000}")
+    public void heartbeat() {
+        sessions.values().forEach(memberSessions -> memberSessions.forEach(
+                session -> session.send(SseEmitter.event().comment("ping"))));
+    }
+
+    /** 현재 연결된 세션 수 */
+    public int sessionCount() {
+        return sessions.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writeExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    private void remove(Session session) {
+        sessions.computeIfPresent(session.memberId, (id, memberSessions) -> {
+            memberSessions.remove(session);
+            return memberSessions.isEmpty() ? null : memberSessions;
+        });
+    }
+
+    private static Executor writeExecutor(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("cart-sync-write-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /** SSE 세션 하나와 아직 보내지 않은 이벤트 (한 번에 한 스레드만 보냄) */
+    private final class Session {
+
+        private final Long memberId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Session(Long memberId, SseEmitter emitter) {
+            this.memberId = memberId;
+            this.emitter = emitter;
+        }
+
+        /** 보낼 목록에 추가, 목록이 가득 찼으면 (클라이언트가 못 따라오면) 세션을 닫는다 */
+        void send(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                log.debug("cart sync session too slow, closing: memberId={}", memberId);
+                close(null);
+                return;
+            }
+            pending.add(event);
+            scheduleWrite();
+        }
+
+        private void scheduleWrite() {
+            if (closed.get() || pending.isEmpty() || !writing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writeExecutor.execute(this::write);
+            } catch (RejectedExecutionException e) {
+                log.warn("cart sync write rejected, closing session: memberId={}", memberId);
+                close(null);
+            }
+        }
+
+        private void write() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("cart sync session closed: memberId={}", memberId, e);
+                close(e);
+            } finally {
+                writing.set(false);
+            }
+            // 마지막 확인 뒤에 추가된 이벤트
+            scheduleWrite();
+        }
+
+        private void close(Throwable error) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            remove(this);
+            pending.clear();
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package project.back.service.cart;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 장바구니 변경을 Redis pub/sub(cart:sync 채널)으로 모든 인스턴스에 전달
+ * 커밋된 변경 이벤트를 채널에 발행하고, 채널에서 받은 메시지는 변경 기록(CartChangeLog)에 남긴 뒤
+ * 이 인스턴스에 연결된 세션(CartSyncHub)으로 보낸다. 다른 인스턴스의 변경도 기록되므로 변경분 조회가 full 로 떨어지지 않는다.
+ * Redis 발행이 실패하면 이 인스턴스의 세션에만 보낸다. (다른 인스턴스의 기기는 다음 연결/변경 때 버전 차이로 맞춘다)
+ */
+@Slf4j
+@Component
+public class CartSyncRelay implements MessageListener {
+
+    public static final String CHANNEL = "cart:sync";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CartSyncHub cartSyncHub;
+    private final CartChangeLog cartChangeLog;
+    private final ObjectMapper objectMapper;
+
+    public CartSyncRelay(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                         CartSyncHub cartSyncHub, CartChangeLog cartChangeLog, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.cartSyncHub = cartSyncHub;
+        this.cartChangeLog = cartChangeLog;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onCartChanged(CartChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("cart sync publish failed, delivering locally: memberId={}", event.memberId(), e);
+            cartSyncHub.deliver(event);
+        }
+    }
+
+    /** 자기가 발행한 메시지도 받으며, 같은 버전은 같은 내용으로 다시 기록될 뿐이다 */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CartChangedEvent event;
+        try {
+            event = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), CartChangedEvent.class);
+        } catch (IOException e) {
+            log.warn("invalid cart sync message", e);
+            return;
+        }
+        if (event.cleared()) {
+            cartChangeLog.recordCleared(event.memberId(), event.version());
+        } else {
+            cartChangeLog.record(event.memberId(), event.version(), event.productIdToQuantity().keySet());
+        }
+        cartSyncHub.deliver(event);
+    }
+}
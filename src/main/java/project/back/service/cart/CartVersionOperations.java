@@ -0,0 +1,14 @@
+package project.back.service.cart;
+
+/**
+ * 회원별 장바구니 버전 저장소
+ * 모든 인스턴스가 같은 버전을 보도록 공유 저장소에 두며, 실패하면 DataAccessException 을 던진다.
+ */
+public interface CartVersionOperations {
+
+    /** 현재 버전 */
+    long current(Long memberId);
+
+    /** 버전을 올리고 올라간 버전 반환 */
+    long increment(Long memberId);
+}
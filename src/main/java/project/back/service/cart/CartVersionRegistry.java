@@ -0,0 +1,93 @@
+package project.back.service.cart;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * 회원별 장바구니 버전
+ * 장바구니가 바뀔 때마다 증가하며, 마트 비교 결과 캐시와 ETag 의 키로 사용된다.
+ * 어느 인스턴스에서 바뀌어도 모든 인스턴스가 같은 버전을 보도록 공유 저장소(CartVersionOperations)에 둔다.
+ * 커밋 전에 버전을 올리면 변경 전 데이터로 계산한 결과가 새 버전으로 캐시될 수 있으므로 커밋 후에 올린다.
+ * 저장소를 쓸 수 없으면 UNKNOWN 을 돌려주고(캐시와 ETag 를 쓰지 않음), 올리지 못한 버전은 주기적으로 다시 올린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CartVersionRegistry {
+
+    /** 저장소를 쓸 수 없어 버전을 알 수 없음 */
+    public static final long UNKNOWN = -1L;
+
+    private final CartVersionOperations cartVersionOperations;
+
+    /** 버전을 올리지 못한 회원 id */
+    private final Set<Long> pendingBumps = ConcurrentHashMap.newKeySet();
+
+    /** 현재 장바구니 버전, 알 수 없으면 UNKNOWN */
+    public long current(Long memberId) {
+        if (pendingBumps.contains(memberId) && bump(memberId) == UNKNOWN) {
+            return UNKNOWN;
+        }
+        try {
+            return cartVersionOperations.current(memberId);
+        } catch (DataAccessException e) {
+            log.warn("cart version unavailable: memberId={}, {}", memberId, e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /** 현재 트랜잭션이 커밋되면 장바구니 버전 증가 (트랜잭션 밖이면 즉시 증가) */
+    public void bumpAfterCommit(Long memberId) {
+        bumpAfterCommit(memberId, version -> {
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 장바구니 버전을 올리고, 올라간 버전(실패하면 UNKNOWN)으로 afterBump 실행
+     * 커밋된 변경을 메모리 상태에 반영할 때 사용한다.
+     */
+    public void bumpAfterCommit(Long memberId, LongConsumer afterBump) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterBump.accept(bump(memberId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                afterBump.accept(bump(memberId));
+            }
+        });
+    }
+
+    /** 장바구니 버전 증가, 실패하면 나중에 다시 올리도록 남기고 UNKNOWN */
+    public long bump(Long memberId) {
+        try {
+            long version = cartVersionOperations.increment(memberId);
+            pendingBumps.remove(memberId);
+            return version;
+        } catch (DataAccessException e) {
+            pendingBumps.add(memberId);
+            log.warn("cart version bump failed, retrying later: memberId={}, {}", memberId, e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /** 올리지 못한 버전을 다시 올려, 다른 인스턴스가 바뀌기 전 버전으로 캐시한 결과를 쓰지 않게 한다 */
+    @Scheduled(fixedDelayString = "${cart.version.retry-interval-ms:1000}")
+    public void retryPendingBumps() {
+        for (Long memberId : pendingBumps) {
+            if (bump(memberId) == UNKNOWN) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package project.back.service.cart;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 장바구니의 변경을 모아 MySQL 에 반영
+ * 주기마다 dirty 회원을 배치 크기만큼 꺼내 장바구니를 한 번에 교체하고,
+ * 그동안 다시 바뀌지 않은 회원만 dirty 표시를 지운다. (바뀐 회원은 다음 주기에 다시 반영)
+ * 배치가 실패하면 회원별로 나눠 다시 시도하고, 실패한 회원은 dirty 로 남긴 채 재시도 시각까지 배치에서 뺀다.
+ * (재시도 간격은 실패할 때마다 두 배, 최대 flush-retry-max-ms) 계속 실패하는 회원이 배치를 채워 다른 회원이 밀리지 않게 한다.
+ * 여러 인스턴스가 같은 회원을 동시에 반영해 이전 장바구니로 덮어쓰지 않도록, 주기마다 Redis 락(cart:flush:lock)을 잡은
+ * 인스턴스만 반영하고 배치마다 락 유지 시간을 늘린다. (배치 하나가 flush-lock-ms 안에 끝나야 한다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cart.store.type", havingValue = "redis")
+public class CartWriteBehindFlusher {
+
+    private final CartHashOperations cartHashOperations;
+    private final CartBatchWriter cartBatchWriter;
+
+    private static final long RETRY_BASE_MS = 1_000L;
+
+    private final String lockOwner = UUID.randomUUID().toString();
+    /** 반영에 실패한 회원 id -> 재시도 상태 */
+    private final Map<Long, Retry> retries = new ConcurrentHashMap<>();
+
+    @Value("${cart.store.flush-batch-size:500}")
+    private int batchSize = 500;
+    @Value("${cart.store.flush-lock-ms:30000}")
+    private long lockMs = 30_000L;
+    @Value("${cart.store.flush-retry-max-ms:60000}")
+    private long retryMaxMs = 60_000L;
+
+    /** 락을 잡은 경우에만 반영, 다른 인스턴스가 반영 중이면 이번 주기는 건너뜀 */
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:1000}")
+    public void flush() {
+        if (!cartHashOperations.tryLockFlush(lockOwner, lockMs)) {
+            return;
+        }
+        try {
+            int taken;
+            do {
+                taken = flushBatch();
+            } while (taken == batchSize && cartHashOperations.tryLockFlush(lockOwner, lockMs));
+        } finally {
+            cartHashOperations.unlockFlush(lockOwner);
+        }
+    }
+
+    /** 종료 전 남은 변경 반영 */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 재시도 시각이 지나지 않은 회원을 뺀 dirty 회원 한 배치 반영
+     *
+     * @return 배치로 꺼낸 회원 수 (실패한 회원 포함)
+     */
+    int flushBatch() {
+        long now = System.currentTimeMillis();
+        Set<Long> deferred = retries.entrySet().stream()
+                .filter(entry -> entry.getValue().retryAt() > now)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        Map<Long, Long> memberIdToVersion = cartHashOperations.dirtyMembers(batchSize, deferred);
+        Map<Long, Map<Long, Long>> memberIdToCart = new HashMap<>();
+        memberIdToVersion.forEach((memberId, version) -> {
+            if (cartHashOperations.isLoaded(memberId)) {
+                memberIdToCart.put(memberId, cartHashOperations.entries(memberId));
+            } else {
+                // 해시 없이 dirty 만 남은 경우 (해시가 지워짐) MySQL 을 비우지 않고 표시만 지운다
+                cartHashOperations.clearDirty(memberId, version);
+            }
+        });
+        if (memberIdToCart.isEmpty()) {
+            return memberIdToVersion.size();
+        }
+
+        try {
+            cartBatchWriter.replaceCarts(memberIdToCart);
+            memberIdToCart.keySet().forEach(memberId -> flushed(memberId, memberIdToVersion.get(memberId)));
+        } catch (DataAccessException e) {
+            log.warn("cart flush batch failed, retrying per member: members={}", memberIdToCart.size(), e);
+            flushEach(memberIdToCart, memberIdToVersion);
+        }
+        return memberIdToVersion.size();
+    }
+
+    private void flushEach(Map<Long, Map<Long, Long>> memberIdToCart, Map<Long, Long> memberIdToVersion) {
+        for (Map.Entry<Long, Map<Long, Long>> entry : memberIdToCart.entrySet()) {
+            Long memberId = entry.getKey();
+            try {
+                cartBatchWriter.replaceCarts(Map.of(memberId, entry.getValue()));
+                flushed(memberId, memberIdToVersion.get(memberId));
+            } catch (DataAccessException e) {
+                Retry retry = retries.compute(memberId, (id, previous) -> {
+                    int attempts = (previous == null) ? 1 : previous.attempts() + 1;
+                    return new Retry(attempts, retryAt(attempts));
+                });
+                log.error("cart flush failed: memberId={} attempts={}", memberId, retry.attempts(), e);
+            }
+        }
+    }
+
+    private void flushed(Long memberId, long dirtyVersion) {
+        cartHashOperations.clearDirty(memberId, dirtyVersion);
+        retries.remove(memberId);
+    }
+
+    /** attempts 번째 실패 뒤 다시 시도할 시각 */
+    private long retryAt(int attempts) {
+        long delay = RETRY_BASE_MS << Math.min(attempts - 1, 30);
+        return System.currentTimeMillis() + Math.min(delay, retryMaxMs);
+    }
+
+    /** 반영 실패 횟수와 다음 재시도 시각 */
+    private record Retry(int attempts, long retryAt) {
+    }
+}
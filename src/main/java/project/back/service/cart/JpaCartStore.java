@@ -0,0 +1,105 @@
+package project.back.service.cart;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import project.back.dto.CartDto;
+import project.back.dto.CartProductDto;
+import project.back.entity.Cart;
+import project.back.entity.Member;
+import project.back.repository.CartRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL cart 테이블에 바로 읽고 쓰는 장바구니 저장소 (기본값)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cart.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaCartStore implements CartStore {
+
+    private final CartRepository cartRepository;
+    private final CartBatchWriter cartBatchWriter;
+
+    @Override
+    public List<CartDto> findCart(Long memberId) {
+        return cartRepository.findCartDtosByMemberId(memberId);
+    }
+
+    @Override
+    public List<CartDto> findCartLines(Long memberId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return cartRepository.findCartDtosByMemberIdAndProductIdIn(memberId, productIds);
+    }
+
+    @Override
+    public long countLines(Long memberId) {
+        return cartRepository.countByMemberMemberId(memberId);
+    }
+
+    @Override
+    public List<CartProductDto> findCartProducts(Member member) {
+        return cartRepository.findCartsByMember(member);
+    }
+
+    @Override
+    public boolean contains(Long memberId, Long productId) {
+        return cartRepository.existsByMemberMemberIdAndProductProductId(memberId, productId);
+    }
+
+    @Override
+    public boolean addIfAbsent(Long memberId, Long productId, long quantity) {
+        cartRepository.insertIfAbsent(memberId, productId, quantity);
+        return cartRepository.findLastInsertId() > 0;
+    }
+
+    @Override
+    public boolean increment(Long memberId, Long productId) {
+        return cartRepository.incrementQuantity(memberId, productId) > 0;
+    }
+
+    @Override
+    public boolean decrement(Long memberId, Long productId) {
+        return cartRepository.decrementQuantity(memberId, productId) > 0;
+    }
+
+    @Override
+    public boolean updateQuantity(Long memberId, Long productId, long quantity) {
+        return cartRepository.updateQuantity(memberId, productId, quantity) > 0;
+    }
+
+    @Override
+    public boolean remove(Long memberId, Long productId) {
+        return cartRepository.deleteByMemberIdAndProductId(memberId, productId) > 0;
+    }
+
+    @Override
+    public Map<Long, Long> findQuantitiesForUpdate(Long memberId) {
+        return cartRepository.findByMemberIdForUpdate(memberId).stream()
+                .collect(Collectors.toMap(cart -> cart.getProduct().getProductId(), Cart::getQuantity));
+    }
+
+    /** 삭제 한 번과 추가/변경 JDBC 배치 한 번으로 반영 (행을 잠그고 읽었으므로 그 사이 변경이 없음) */
+    @Override
+    public boolean applyLines(Long memberId, Map<Long, Long> before, Map<Long, Long> upserts, Set<Long> removals) {
+        if (!removals.isEmpty()) {
+            cartRepository.deleteByMemberIdAndProductIdIn(memberId, removals);
+        }
+        if (!upserts.isEmpty()) {
+            cartBatchWriter.upsertLines(memberId, upserts);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear(Member member) {
+        cartRepository.deleteByMemberId(member.getMemberId());
+    }
+}
@@ -0,0 +1,243 @@
+package project.back.service.cart;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 해시 기반 장바구니 연산
+ * cart:{memberId} 해시에 상품 id -> 수량과 적재 표시 필드를, cart:dirty 해시에 회원 id -> dirty 버전을 저장한다.
+ * 조건부 변경과 dirty 버전 증가는 Lua 스크립트 하나로 실행해 원자적으로 반영한다.
+ * 변경하면 해시의 만료 시간을 없애고(PERSIST), flush 로 dirty 표시가 지워지면 cart.store.idle-ttl-seconds 뒤 만료되게 한다.
+ * 읽을 때(isLoaded) 만료 시간을 다시 늘리므로, 확인 직후 이어지는 변경 사이에 해시가 만료되지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store.type", havingValue = "redis")
+public class RedisCartHashOperations implements CartHashOperations {
+
+    static final String LOADED_FIELD = "_loaded";
+    private static final String KEY_PREFIX = "cart:";
+    private static final String DIRTY_KEY = "cart:dirty";
+    private static final String FLUSH_LOCK_KEY = "cart:flush:lock";
+    /** expected 에서 장바구니에 없어야 하는 상품의 수량 (수량은 1 이상, APPLY 스크립트의 '0' 과 같음) */
+    private static final String ABSENT = "0";
+
+    private static final String MARK_DIRTY = "redis.call('PERSIST', KEYS[1]) redis.call('HINCRBY', KEYS[2], ARGV[1], 1) ";
+
+    private static final RedisScript<Long> TOUCH = script("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            if redis.call('TTL', KEYS[1]) > 0 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end
+            return 1
+            """);
+    /* ARGV: 만료 시간(초), (필드, 값) ... */
+    private static final RedisScript<Long> LOAD_IF_ABSENT = script("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """);
+    private static final RedisScript<Long> PUT_IF_ABSENT = script("""
+            if redis.call('HSETNX', KEYS[1], ARGV[2], ARGV[3]) == 0 then return 0 end
+            """ + MARK_DIRTY + "return 1");
+    private static final RedisScript<Long> ADJUST_IF_PRESENT = script("""
+            local quantity = redis.call('HGET', KEYS[1], ARGV[2])
+            if not quantity then return 0 end
+            local changed = tonumber(quantity) + tonumber(ARGV[3])
+            if changed < tonumber(ARGV[4]) then return 0 end
+            redis.call('HSET', KEYS[1], ARGV[2], changed)
+            """ + MARK_DIRTY + "return 1");
+    private static final RedisScript<Long> SET_IF_PRESENT = script("""
+            if redis.call('HEXISTS', KEYS[1], ARGV[2]) == 0 then return 0 end
+            redis.call('HSET', KEYS[1], ARGV[2], ARGV[3])
+            """ + MARK_DIRTY + "return 1");
+    private static final RedisScript<Long> REMOVE = script("""
+            if redis.call('HDEL', KEYS[1], ARGV[2]) == 0 then return 0 end
+            """ + MARK_DIRTY + "return 1");
+    /* ARGV: memberId, 변경 상품 수 n, (상품 id, 수량) x n, 확인 상품 수 k, (상품 id, 예상 수량) x k, 삭제 상품 id ... */
+    private static final RedisScript<Long> APPLY = script("""
+            local upserts = tonumber(ARGV[2])
+            local checks = 3 + upserts * 2
+            local expected = tonumber(ARGV[checks])
+            for i = 0, expected - 1 do
+                local quantity = redis.call('HGET', KEYS[1], ARGV[checks + 1 + i * 2])
+                if (quantity or '0') ~= ARGV[checks + 2 + i * 2] then return 0 end
+            end
+            for i = 0, upserts - 1 do
+                redis.call('HSET', KEYS[1], ARGV[3 + i * 2], ARGV[4 + i * 2])
+            end
+            for i = checks + 1 + expected * 2, #ARGV do
+                redis.call('HDEL', KEYS[1], ARGV[i])
+            end
+            """ + MARK_DIRTY + "return 1");
+    private static final RedisScript<Long> CLEAR = script("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], '""" + LOADED_FIELD + "', '1') " + MARK_DIRTY + "return 1");
+    /* KEYS: cart:dirty, cart:{memberId} / ARGV: memberId, dirty 버전, 만료 시간(초) */
+    private static final RedisScript<Long> CLEAR_DIRTY = script("""
+            if redis.call('HGET', KEYS[1], ARGV[1]) ~= ARGV[2] then return 0 end
+            redis.call('HDEL', KEYS[1], ARGV[1])
+            redis.call('EXPIRE', KEYS[2], ARGV[3])
+            return 1
+            """);
+    private static final RedisScript<Long> LOCK = script("""
+            local owner = redis.call('GET', KEYS[1])
+            if owner and owner ~= ARGV[1] then return 0 end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """);
+    private static final RedisScript<Long> UNLOCK = script("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end
+            return redis.call('DEL', KEYS[1])
+            """);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String idleTtlSeconds;
+
+    public RedisCartHashOperations(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                   @Value("${cart.store.idle-ttl-seconds:86400}") long idleTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.idleTtlSeconds = Long.toString(idleTtlSeconds);
+    }
+
+    @Override
+    public boolean isLoaded(Long memberId) {
+        Long result = redisTemplate.execute(TOUCH, List.of(key(memberId)), idleTtlSeconds);
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public void loadIfAbsent(Long memberId, Map<Long, Long> productIdToQuantity) {
+        List<String> args = new ArrayList<>();
+        args.add(idleTtlSeconds);
+        args.add(LOADED_FIELD);
+        args.add("1");
+        productIdToQuantity.forEach((productId, quantity) -> {
+            args.add(productId.toString());
+            args.add(quantity.toString());
+        });
+        redisTemplate.execute(LOAD_IF_ABSENT, List.of(key(memberId)), args.toArray());
+    }
+
+    @Override
+    public Map<Long, Long> entries(Long memberId) {
+        Map<Long, Long> productIdToQuantity = new HashMap<>();
+        redisTemplate.opsForHash().entries(key(memberId)).forEach((field, value) -> {
+            if (!LOADED_FIELD.equals(field)) {
+                productIdToQuantity.put(Long.valueOf((String) field), Long.valueOf((String) value));
+            }
+        });
+        return productIdToQuantity;
+    }
+
+    @Override
+    public boolean putIfAbsent(Long memberId, Long productId, long quantity) {
+        return change(PUT_IF_ABSENT, memberId, productId, quantity);
+    }
+
+    @Override
+    public boolean adjustIfPresent(Long memberId, Long productId, long delta, long min) {
+        return change(ADJUST_IF_PRESENT, memberId, productId, delta, min);
+    }
+
+    @Override
+    public boolean setIfPresent(Long memberId, Long productId, long quantity) {
+        return change(SET_IF_PRESENT, memberId, productId, quantity);
+    }
+
+    @Override
+    public boolean remove(Long memberId, Long productId) {
+        return change(REMOVE, memberId, productId);
+    }
+
+    @Override
+    public boolean apply(Long memberId, Map<Long, Long> expected, Map<Long, Long> upserts, Set<Long> removals) {
+        List<String> args = new ArrayList<>();
+        args.add(memberId.toString());
+        args.add(Integer.toString(upserts.size()));
+        upserts.forEach((productId, quantity) -> {
+            args.add(productId.toString());
+            args.add(quantity.toString());
+        });
+        Set<Long> changed = new HashSet<>(upserts.keySet());
+        changed.addAll(removals);
+        args.add(Integer.toString(changed.size()));
+        changed.forEach(productId -> {
+            args.add(productId.toString());
+            Long quantity = expected.get(productId);
+            args.add(quantity == null ? ABSENT : quantity.toString());
+        });
+        removals.forEach(productId -> args.add(productId.toString()));
+        Long result = redisTemplate.execute(APPLY, List.of(key(memberId), DIRTY_KEY), args.toArray());
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public void clear(Long memberId) {
+        redisTemplate.execute(CLEAR, List.of(key(memberId), DIRTY_KEY), memberId.toString());
+    }
+
+    @Override
+    public Map<Long, Long> dirtyMembers(int limit, Set<Long> excluded) {
+        Map<Long, Long> memberIdToVersion = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions().count(limit).build();
+        try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(DIRTY_KEY, options)) {
+            while (cursor.hasNext() && memberIdToVersion.size() < limit) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                Long memberId = Long.valueOf((String) entry.getKey());
+                if (!excluded.contains(memberId)) {
+                    memberIdToVersion.put(memberId, Long.valueOf((String) entry.getValue()));
+                }
+            }
+        }
+        return memberIdToVersion;
+    }
+
+    @Override
+    public void clearDirty(Long memberId, long dirtyVersion) {
+        redisTemplate.execute(CLEAR_DIRTY, List.of(DIRTY_KEY, key(memberId)),
+                memberId.toString(), Long.toString(dirtyVersion), idleTtlSeconds);
+    }
+
+    @Override
+    public boolean tryLockFlush(String owner, long ttlMillis) {
+        Long result = redisTemplate.execute(LOCK, List.of(FLUSH_LOCK_KEY), owner, Long.toString(ttlMillis));
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public void unlockFlush(String owner) {
+        redisTemplate.execute(UNLOCK, List.of(FLUSH_LOCK_KEY), owner);
+    }
+
+    private boolean change(RedisScript<Long> script, Long memberId, Long productId, long... values) {
+        Object[] args = new Object[2 + values.length];
+        args[0] = memberId.toString();
+        args[1] = productId.toString();
+        for (int i = 0; i < values.length; i++) {
+            args[2 + i] = Long.toString(values[i]);
+        }
+        Long result = redisTemplate.execute(script, List.of(key(memberId), DIRTY_KEY), args);
+        return result != null && result == 1L;
+    }
+
+    private static String key(Long memberId) {
+        return KEY_PREFIX + memberId;
+    }
+
+    private static RedisScript<Long> script(String source) {
+        return new DefaultRedisScript<>(source, Long.class);
+    }
+}
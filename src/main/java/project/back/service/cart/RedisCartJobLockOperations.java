@@ -0,0 +1,53 @@
+package project.back.service.cart;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Redis 기반 장바구니 작업 락
+ * cart:job:{job}:lock 에 owner 를 PX 만료 시간과 함께 두고, owner 가 같을 때만 늘리거나 지운다.
+ */
+@Component
+public class RedisCartJobLockOperations implements CartJobLockOperations {
+
+    private static final String KEY_PREFIX = "cart:job:";
+    private static final String KEY_SUFFIX = ":lock";
+
+    /* ARGV: owner, 유지 시간(ms) */
+    private static final RedisScript<Long> LOCK = new DefaultRedisScript<>("""
+            local owner = redis.call('GET', KEYS[1])
+            if owner and owner ~= ARGV[1] then return 0 end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """, Long.class);
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public RedisCartJobLockOperations(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean tryLock(String job, String owner, long ttlMillis) {
+        Long result = redisTemplate.execute(LOCK, List.of(key(job)), owner, Long.toString(ttlMillis));
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public void unlock(String job, String owner) {
+        redisTemplate.execute(UNLOCK, List.of(key(job)), owner);
+    }
+
+    private static String key(String job) {
+        return KEY_PREFIX + job + KEY_SUFFIX;
+    }
+}
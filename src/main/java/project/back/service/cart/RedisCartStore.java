@@ -0,0 +1,163 @@
+package project.back.service.cart;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import project.back.dto.CartDto;
+import project.back.dto.CartProductDto;
+import project.back.entity.Member;
+import project.back.entity.Product;
+import project.back.repository.CartRepository;
+import project.back.repository.ProductRepository;
+import project.back.repository.memberrepository.MemberRepository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Redis write-behind 장바구니 저장소 (cart.store.type=redis)
+ * 회원의 장바구니를 Redis 해시(상품 id -> 수량)로 읽고 쓰며, MySQL cart 테이블은 CartWriteBehindFlusher 가 모아서 반영한다.
+ * 해시가 없는 회원은 처음 접근할 때 MySQL 장바구니로 해시를 만든다.
+ *
+ * 장애 시 동작
+ * - 애플리케이션이 죽어도 변경과 dirty 표시는 이미 Redis 에 있으므로, 재시작(또는 다른 인스턴스)의 flush 가 반영한다.
+ *   flush 는 회원 장바구니 전체를 덮어쓰므로 flush 도중 죽어 같은 회원을 다시 flush 해도 결과가 같다.
+ * - Redis 가 영속화(AOF) 없이 재시작되면 마지막 flush 이후의 변경(flush 주기 이내)은 사라지고,
+ *   다음 접근 때 MySQL 에 반영된 장바구니로 다시 시작한다.
+ * - Redis 변경은 DB 트랜잭션에 참여하지 않으므로 이후 롤백되어도 되돌리지 않는다.
+ * - 일괄 변경은 행을 잠그지 않는 대신 바꿀 상품이 읽은 뒤 바뀌었으면 반영하지 않는다. (요청은 409 로 실패)
+ * - MySQL 에 반영된 해시는 cart.store.idle-ttl-seconds 동안 쓰이지 않으면 Redis 에서 사라지고 다음 접근 때 다시 만든다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cart.store.type", havingValue = "redis")
+public class RedisCartStore implements CartStore {
+
+    private final CartHashOperations cartHashOperations;
+    private final CartRepository cartRepository;
+    private final ProductRepository productRepository;
+    private final MemberRepository memberRepository;
+
+    @Override
+    public List<CartDto> findCart(Long memberId) {
+        return toCartDtos(load(memberId));
+    }
+
+    @Override
+    public List<CartDto> findCartLines(Long memberId, Collection<Long> productIds) {
+        Map<Long, Long> productIdToQuantity = load(memberId);
+        productIdToQuantity.keySet().retainAll(productIds);
+        return toCartDtos(productIdToQuantity);
+    }
+
+    @Override
+    public long countLines(Long memberId) {
+        return load(memberId).size();
+    }
+
+    @Override
+    public List<CartProductDto> findCartProducts(Member member) {
+        return load(member.getMemberId()).entrySet().stream()
+                .map(entry -> new CartProductDto(entry.getValue(), member.getMemberId(), entry.getKey()))
+                .sorted(Comparator.comparing(CartProductDto::getProductId))
+                .toList();
+    }
+
+    @Override
+    public boolean contains(Long memberId, Long productId) {
+        return load(memberId).containsKey(productId);
+    }
+
+    /** Redis 에는 외래키가 없으므로 사용자와 상품이 있을 때만 추가 */
+    @Override
+    public boolean addIfAbsent(Long memberId, Long productId, long quantity) {
+        if (!memberRepository.existsById(memberId) || !productRepository.existsById(productId)) {
+            return false;
+        }
+        ensureLoaded(memberId);
+        return cartHashOperations.putIfAbsent(memberId, productId, quantity);
+    }
+
+    @Override
+    public boolean increment(Long memberId, Long productId) {
+        ensureLoaded(memberId);
+        return cartHashOperations.adjustIfPresent(memberId, productId, 1L, 1L);
+    }
+
+    @Override
+    public boolean decrement(Long memberId, Long productId) {
+        ensureLoaded(memberId);
+        return cartHashOperations.adjustIfPresent(memberId, productId, -1L, 1L);
+    }
+
+    @Override
+    public boolean updateQuantity(Long memberId, Long productId, long quantity) {
+        if (quantity < 1) {
+            return false;
+        }
+        ensureLoaded(memberId);
+        return cartHashOperations.setIfPresent(memberId, productId, quantity);
+    }
+
+    @Override
+    public boolean remove(Long memberId, Long productId) {
+        ensureLoaded(memberId);
+        return cartHashOperations.remove(memberId, productId);
+    }
+
+    /** Redis 에는 행 잠금이 없으므로 잠그지 않고 읽으며, 그 사이 다른 변경은 applyLines 가 확인한다 */
+    @Override
+    public Map<Long, Long> findQuantitiesForUpdate(Long memberId) {
+        return load(memberId);
+    }
+
+    /** 바꿀 상품의 수량이 읽은 때와 같을 때만 반영 (다른 인스턴스나 단건 변경을 덮어쓰지 않음) */
+    @Override
+    public boolean applyLines(Long memberId, Map<Long, Long> before, Map<Long, Long> upserts, Set<Long> removals) {
+        ensureLoaded(memberId);
+        return cartHashOperations.apply(memberId, before, upserts, removals);
+    }
+
+    @Override
+    public void clear(Member member) {
+        cartHashOperations.clear(member.getMemberId());
+    }
+
+    private Map<Long, Long> load(Long memberId) {
+        ensureLoaded(memberId);
+        return cartHashOperations.entries(memberId);
+    }
+
+    /** 상품 id 순 (Redis 해시에는 담은 순서가 없음) */
+    private List<CartDto> toCartDtos(Map<Long, Long> productIdToQuantity) {
+        if (productIdToQuantity.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> products = productRepository.findAllById(productIdToQuantity.keySet()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        return productIdToQuantity.entrySet().stream()
+                .filter(entry -> products.containsKey(entry.getKey()))
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    Product product = products.get(entry.getKey());
+                    return new CartDto(product.getProductId(), product.getProductName(), product.getProductImgUrl(),
+                            entry.getValue());
+                })
+                .toList();
+    }
+
+    /** 해시가 없으면 MySQL 장바구니로 생성 */
+    private void ensureLoaded(Long memberId) {
+        if (cartHashOperations.isLoaded(memberId)) {
+            return;
+        }
+        Map<Long, Long> productIdToQuantity = cartRepository.findCartDtosByMemberId(memberId).stream()
+                .collect(Collectors.toMap(CartDto::getProductId, CartDto::getQuantity, Long::sum));
+        cartHashOperations.loadIfAbsent(memberId, productIdToQuantity);
+    }
+}
@@ -0,0 +1,64 @@
+package project.back.service.cart;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Redis 기반 장바구니 버전
+ * cart:ver:{memberId} 에 버전을 두고 바뀔 때마다 INCR 한다. 키는 cart.version.ttl-seconds 동안 바뀌지 않으면 사라지며,
+ * 다시 만들 때는 현재 시각(ms x 1000)에서 시작해 사라지기 전의 버전과 겹치지 않게 한다.
+ */
+@Component
+public class RedisCartVersionOperations implements CartVersionOperations {
+
+    private static final String KEY_PREFIX = "cart:ver:";
+
+    /* ARGV: 시작 버전, 만료 시간(초) */
+    private static final RedisScript<Long> CURRENT = new DefaultRedisScript<>("""
+            local version = redis.call('GET', KEYS[1])
+            if version then return tonumber(version) end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            return tonumber(ARGV[1])
+            """, Long.class);
+    private static final RedisScript<Long> INCREMENT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'NX')
+            local version = redis.call('INCR', KEYS[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return version
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final long ttlSeconds;
+
+    public RedisCartVersionOperations(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                      @Value("${cart.version.ttl-seconds:2592000}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    public long current(Long memberId) {
+        return execute(CURRENT, memberId);
+    }
+
+    @Override
+    public long increment(Long memberId) {
+        return execute(INCREMENT, memberId);
+    }
+
+    private long execute(RedisScript<Long> script, Long memberId) {
+        Long version = redisTemplate.execute(script, List.of(KEY_PREFIX + memberId),
+                Long.toString(System.currentTimeMillis() * 1000), Long.toString(ttlSeconds));
+        if (version == null) {
+            throw new RedisSystemException("cart version script returned no result", null);
+        }
+        return version;
+    }
+}
@@ -0,0 +1,302 @@
+package project.back.service.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.back.dto.ApiResponse;
+import project.back.dto.ProductCatalogDeltaDto;
+import project.back.dto.ProductDto;
+import project.back.dto.ProductPageDto;
+import project.back.etc.martproduct.MartAndProductMessage;
+import project.back.service.ProductService;
+import project.back.service.pricing.PriceMatrixRebuiltEvent;
+import project.back.service.search.ProductChangedEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 상품 목록 스냅샷 (GET /products)
+ * 가격 데이터를 다시 불러올 때(PriceMatrixRebuiltEvent), 이 인스턴스의 상품 저장/삭제가 커밋된 뒤(트랜잭션마다 한 번),
+ * 다른 인스턴스가 상품 목록 버전(ProductCatalogVersion)을 올린 뒤 상품 목록을 읽어 응답 JSON 과 그 gzip 을 만들어 두고,
+ * 요청에는 만들어 둔 바이트를 그대로 보낸다.
+ * ETag 는 본문의 해시라 같은 내용이면 어느 인스턴스에서 받아도 같고, 본문마다 달라야 하므로 gzip 본문에는 -gz 를 붙인다.
+ * 버전은 모든 인스턴스가 공유하는 ProductCatalogVersion 이며, GET /products?since= 에는 공유된 변경 기록으로 변경분만 응답한다.
+ * 버전을 알 수 없거나 기록이 지워진 버전으로 요청하면 전체를 응답한다.
+ * 목록 화면용 페이지(GET /products/page)는 스냅샷을 상품 id 키셋으로 잘라 고른 필드만 담는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalog {
+
+    /** 페이지 응답에서 고를 수 있는 필드 */
+    static final List<String> FIELDS = List.of("productId", "productName", "productImgUrl");
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final ProductCatalogVersion catalogVersion;
+
+    @Value("${app.product.page-size:100}")
+    private int defaultPageSize = 100;
+    @Value("${app.product.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    private volatile Snapshot snapshot;
+    /** 마지막으로 다시 만들 때 읽은 상품 목록 버전 */
+    private volatile long readVersion = ProductCatalogVersion.UNKNOWN;
+
+    /** 실패해도 가격 갱신은 막지 않고 이전 스냅샷을 유지 */
+    @EventListener
+    public void onPriceMatrixRebuilt(PriceMatrixRebuiltEvent event) {
+        rebuildQuietly();
+    }
+
+    /**
+     * 상품 저장/삭제가 커밋된 뒤 버전을 올리고 다시 만듦 (한 트랜잭션의 여러 변경은 한 번에, 트랜잭션 밖이면 바로)
+     * 다른 인스턴스는 refreshIfChanged 에서 올라간 버전을 보고 다시 만든다.
+     */
+    @EventListener
+    @SuppressWarnings("unchecked")
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            catalogVersion.increment(Set.of(event.productId()));
+            rebuildQuietly();
+            return;
+        }
+        Set<Long> productIds = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (productIds != null) {
+            productIds.add(event.productId());
+            return;
+        }
+        Set<Long> changedIds = new HashSet<>(Set.of(event.productId()));
+        TransactionSynchronizationManager.bindResource(this, changedIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                catalogVersion.increment(changedIds);
+                rebuildQuietly();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ProductCatalog.this);
+            }
+        });
+    }
+
+    /** 다른 인스턴스가 상품 목록 버전을 올렸으면 다시 만든다 (Redis 를 쓸 수 없으면 지금 스냅샷 유지) */
+    @Scheduled(fixedDelayString = "${app.product.catalog-refresh-ms:1000}")
+    public void refreshIfChanged() {
+        long version = catalogVersion.current();
+        if (version != ProductCatalogVersion.UNKNOWN && version != readVersion) {
+            rebuildQuietly();
+        }
+    }
+
+    /** 현재 스냅샷 (아직 없으면 생성) */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * 상품 목록을 다시 읽어 상품이나 버전이 바뀐 경우에만 새 스냅샷으로 교체
+     * 버전을 먼저 읽으므로 스냅샷에는 그 버전까지 커밋된 변경이 모두 들어 있다.
+     * 버전이 그대로인데 상품이 바뀌었으면 (아직 버전을 올리지 않았거나 Redis 를 쓸 수 없는 변경)
+     * 다음 버전까지 UNKNOWN 으로 두어 변경분 대신 전체를 응답하게 한다.
+     *
+     * @return 현재 스냅샷
+     */
+    public synchronized Snapshot rebuild() {
+        long read = catalogVersion.current();
+        NavigableMap<Long, ProductDto> products = new TreeMap<>();
+        productService.findProductDtos().forEach(product -> products.put(product.getProductId(), product));
+        Snapshot previous = snapshot;
+        boolean sameProducts = previous != null && previous.products().equals(products);
+        boolean versionChanged = read != ProductCatalogVersion.UNKNOWN && read != readVersion;
+        if (sameProducts && !versionChanged) {
+            return previous;
+        }
+
+        long version = versionChanged ? read : ProductCatalogVersion.UNKNOWN;
+        Snapshot rebuilt;
+        if (sameProducts) {
+            rebuilt = new Snapshot(version, previous.products(), previous.json(), previous.gzip(), previous.hash());
+        } else {
+            byte[] json = render(products);
+            rebuilt = new Snapshot(version, Collections.unmodifiableNavigableMap(products), json, gzip(json),
+                    sha256(json));
+        }
+        snapshot = rebuilt;
+        if (versionChanged) {
+            readVersion = read;
+        }
+        log.info("product catalog snapshot: version={} products={} jsonBytes={} gzipBytes={}",
+                version, products.size(), rebuilt.json().length, rebuilt.gzip().length);
+        return rebuilt;
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("product catalog snapshot rebuild failed, keeping version={}",
+                    snapshot == null ? null : snapshot.version(), e);
+        }
+    }
+
+    /** since 버전 이후 바뀐 상품, 버전을 알 수 없거나 기록이 없으면 전체 */
+    public ProductCatalogDeltaDto changesSince(long since) {
+        Snapshot current = current();
+        Optional<Set<Long>> recorded = current.version() == ProductCatalogVersion.UNKNOWN || since > current.version()
+                ? Optional.empty()
+                : catalogVersion.changedProductIds(since, current.version());
+        if (recorded.isEmpty()) {
+            return ProductCatalogDeltaDto.builder()
+                    .version(current.version())
+                    .full(true)
+                    .products(List.copyOf(current.products().values()))
+                    .removedProductIds(List.of())
+                    .build();
+        }
+        Set<Long> changedIds = new TreeSet<>(recorded.get());
+
+        List<ProductDto> changed = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        for (Long productId : changedIds) {
+            ProductDto product = current.products().get(productId);
+            if (product != null) {
+                changed.add(product);
+            } else {
+                removed.add(productId);
+            }
+        }
+        return ProductCatalogDeltaDto.builder()
+                .version(current.version())
+                .full(false)
+                .products(changed)
+                .removedProductIds(removed)
+                .build();
+    }
+
+    /**
+     * cursor(마지막으로 받은 상품 id) 다음 상품부터 size 개 (상품 id 순, 현재 스냅샷에서)
+     * 페이지 사이에 상품 목록이 바뀌어도 상품 id 기준이라 이미 받은 상품을 다시 받거나 건너뛰지 않는다.
+     *
+     * @param size   페이지 크기, null 이면 app.product.page-size
+     * @param fields 응답에 담을 필드, 비어 있으면 모두
+     * @throws IllegalArgumentException 페이지 크기가 1~app.product.max-page-size 를 벗어나거나 없는 필드를 요청한 경우
+     */
+    public ProductPageDto page(long cursor, Integer size, Collection<String> fields) {
+        int pageSize = size != null ? size : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException(
+                    String.format(MartAndProductMessage.INVALID_PAGE_SIZE.getMessage(), maxPageSize));
+        }
+        Set<String> selected = fields == null ? Set.of() : Set.copyOf(fields);
+        if (!FIELDS.containsAll(selected)) {
+            throw new IllegalArgumentException(
+                    String.format(MartAndProductMessage.INVALID_FIELDS.getMessage(), String.join(",", FIELDS)));
+        }
+
+        Snapshot current = current();
+        List<ProductDto> products = new ArrayList<>(Math.min(pageSize, current.products().size()));
+        Long lastProductId = null;
+        for (ProductDto product : current.products().tailMap(cursor, false).values()) {
+            if (products.size() == pageSize) {
+                break;
+            }
+            products.add(select(product, selected));
+            lastProductId = product.getProductId();
+        }
+        boolean hasNext = lastProductId != null && current.products().higherKey(lastProductId) != null;
+        return ProductPageDto.builder()
+                .version(current.version())
+                .products(products)
+                .nextCursor(hasNext ? lastProductId : null)
+                .build();
+    }
+
+    private static ProductDto select(ProductDto product, Set<String> fields) {
+        if (fields.isEmpty()) {
+            return product;
+        }
+        return new ProductDto(
+                fields.contains("productId") ? product.getProductId() : null,
+                fields.contains("productName") ? product.getProductName() : null,
+                fields.contains("productImgUrl") ? product.getProductImgUrl() : null);
+    }
+
+    private byte[] render(Map<Long, ProductDto> products) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.success(new ArrayList<>(products.values()),
+                    MartAndProductMessage.LOADED_PRODUCT.getMessage()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] json) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 상품 목록 스냅샷
+     *
+     * @param version  상품 목록 버전, 알 수 없으면 ProductCatalogVersion.UNKNOWN
+     * @param products 상품 id -> 상품 (상품 id 순)
+     * @param json     GET /products 응답 본문
+     * @param gzip     json 을 gzip 으로 압축한 본문
+     * @param hash     json 의 SHA-256
+     */
+    public record Snapshot(long version, NavigableMap<Long, ProductDto> products, byte[] json, byte[] gzip,
+                           String hash) {
+
+        public boolean isEmpty() {
+            return products.isEmpty();
+        }
+
+        /** 보낼 본문의 ETag (gzip 본문은 -gz) */
+        public String eTag(boolean gzip) {
+            return "\"catalog-" + hash + (gzip ? "-gz" : "") + "\"";
+        }
+    }
+}
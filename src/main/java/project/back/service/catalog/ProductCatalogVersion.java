@@ -0,0 +1,110 @@
+package project.back.service.catalog;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 목록 버전
+ * 상품 저장/삭제가 커밋될 때마다 Redis 의 catalog:version 을 올려, 모든 인스턴스가 같은 버전으로 상품 목록 스냅샷을 만든다.
+ * 이 버전이 GET /products 의 Catalog-Version 과 ?since= 기준이 된다.
+ * 버전마다 바뀐 상품 id 를 catalog:changes 에 최근 MAX_VERSIONS 개만 남겨, 어느 인스턴스에서 받은 버전이든 변경분을 구할 수 있게 한다.
+ */
+@Slf4j
+@Component
+public class ProductCatalogVersion {
+
+    /** Redis 를 쓸 수 없어 확인하지 못함 */
+    public static final long UNKNOWN = -1L;
+
+    /** 바뀐 상품 id 를 남겨 두는 버전 수 */
+    static final int MAX_VERSIONS = 64;
+
+    private static final String KEY = "catalog:version";
+    private static final String CHANGES_KEY = "catalog:changes";
+
+    /* KEYS: 버전, 변경 기록 / ARGV: 바뀐 상품 id (쉼표 구분), 남길 버전 수 */
+    private static final RedisScript<Long> INCREMENT = new DefaultRedisScript<>("""
+            local version = redis.call('INCR', KEYS[1])
+            redis.call('HSET', KEYS[2], version, ARGV[1])
+            redis.call('HDEL', KEYS[2], version - tonumber(ARGV[2]))
+            return version
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public ProductCatalogVersion(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /** 현재 버전, 한 번도 바뀌지 않았으면 0, Redis 를 쓸 수 없으면 UNKNOWN */
+    public long current() {
+        try {
+            Object version = redisTemplate.opsForValue().get(KEY);
+            return version == null ? 0L : Long.parseLong(version.toString());
+        } catch (DataAccessException e) {
+            log.warn("product catalog version unavailable: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /** 버전을 올리고 바뀐 상품 id 를 기록, 실패하면 다른 인스턴스는 다음 변경 때까지 이 변경을 모른다 */
+    public void increment(Collection<Long> productIds) {
+        String ids = productIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            redisTemplate.execute(INCREMENT, List.of(KEY, CHANGES_KEY), ids, Integer.toString(MAX_VERSIONS));
+        } catch (DataAccessException e) {
+            log.warn("product catalog version increment failed, other instances keep their snapshot: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * since 다음 버전부터 until 버전까지 바뀐 상품 id
+     *
+     * @return 기록이 지워졌거나 Redis 를 쓸 수 없으면 empty
+     */
+    public Optional<Set<Long>> changedProductIds(long since, long until) {
+        if (since < 0 || until - since > MAX_VERSIONS) {
+            return Optional.empty();
+        }
+        List<Object> fields = new ArrayList<>();
+        for (long version = since + 1; version <= until; version++) {
+            fields.add(Long.toString(version));
+        }
+        if (fields.isEmpty()) {
+            return Optional.of(Set.of());
+        }
+        List<Object> recorded;
+        try {
+            recorded = redisTemplate.opsForHash().multiGet(CHANGES_KEY, fields);
+        } catch (DataAccessException e) {
+            log.warn("product catalog changes unavailable: {}", e.getMessage());
+            return Optional.empty();
+        }
+        Set<Long> productIds = new HashSet<>();
+        for (Object ids : recorded) {
+            if (ids == null) {
+                return Optional.empty();
+            }
+            Arrays.stream(ids.toString().split(","))
+                    .filter(id -> !id.isEmpty())
+                    .map(Long::valueOf)
+                    .forEach(productIds::add);
+        }
+        return Optional.of(productIds);
+    }
+}
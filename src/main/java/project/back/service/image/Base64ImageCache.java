@@ -0,0 +1,95 @@
+package project.back.service.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.back.etc.martproduct.MartAndProductMessage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 이전 클라이언트용 Base64 이미지(data URL) 캐시 (GET /products?imageFormat=base64)
+ * 시작할 때 이미지마다 한 번 읽고 인코딩해 두어, 상품 목록 응답은 파일을 읽거나 인코딩하지 않고 같은 문자열을 공유한다.
+ * (data URL 은 ASCII 라 String 이 1바이트 배열 하나로 저장되며, 응답마다 복사하지 않는다)
+ * 전체 크기가 app.image.base64-cache-max-bytes 를 넘으면 가장 오래 쓰지 않은 이미지부터 버리고, 다음에 쓸 때 다시 인코딩한다.
+ */
+@Slf4j
+@Component
+public class Base64ImageCache {
+
+    /** 기존 응답과 같게 모든 이미지를 image/jpeg 로 표시 */
+    static final String DATA_URL_PREFIX = "data:image/jpeg;base64,";
+
+    private final ProductImageCatalog productImageCatalog;
+    private final long maxBytes;
+    /** 상품 이미지 경로(/carrot.jpeg) -> data URL (접근 순서) */
+    private final LinkedHashMap<String, String> dataUrls = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    public Base64ImageCache(ProductImageCatalog productImageCatalog,
+                            @Value("${app.image.base64-cache-max-bytes:67108864}") long maxBytes) {
+        this.productImageCatalog = productImageCatalog;
+        this.maxBytes = maxBytes;
+        for (ProductImage image : productImageCatalog.findAll()) {
+            String imagePath = "/" + image.fileName();
+            put(imagePath, encode(imagePath));
+        }
+        log.info("base64 image cache loaded: images={} bytes={}", dataUrls.size(), usedBytes);
+    }
+
+    /**
+     * 상품 이미지 경로(null 이면 기본 이미지)의 Base64 data URL
+     *
+     * @throws RuntimeException 이미지 파일이 없거나 읽지 못한 경우
+     */
+    public String dataUrl(String imagePath) {
+        String key = imagePath != null ? imagePath : ProductImageCatalog.DEFAULT_IMAGE;
+        synchronized (this) {
+            String cached = dataUrls.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String dataUrl = encode(key);
+        put(key, dataUrl);
+        return dataUrl;
+    }
+
+    synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    synchronized boolean contains(String imagePath) {
+        return dataUrls.containsKey(imagePath);
+    }
+
+    /** 한도보다 큰 이미지는 저장하지 않음 */
+    private synchronized void put(String imagePath, String dataUrl) {
+        if (dataUrl.length() > maxBytes) {
+            return;
+        }
+        String previous = dataUrls.put(imagePath, dataUrl);
+        usedBytes += dataUrl.length() - (previous == null ? 0 : previous.length());
+        Iterator<Map.Entry<String, String>> eldest = dataUrls.entrySet().iterator();
+        while (usedBytes > maxBytes) {
+            Map.Entry<String, String> entry = eldest.next();
+            usedBytes -= entry.getValue().length();
+            eldest.remove();
+        }
+    }
+
+    private String encode(String imagePath) {
+        ProductImage image = productImageCatalog.findByImagePath(imagePath)
+                .orElseThrow(() -> new RuntimeException(MartAndProductMessage.NOT_FOUND_PRODUCT_IMG.getMessage()));
+        try {
+            return DATA_URL_PREFIX + Base64.getEncoder().encodeToString(Files.readAllBytes(image.path()));
+        } catch (IOException e) {
+            throw new RuntimeException(MartAndProductMessage.ERROR_PRODUCT_IMG_PROCESSING.getMessage());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package project.back.service.image;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+
+/**
+ * 상품 이미지 파일
+ *
+ * @param fileName  파일 이름 (예: carrot.jpeg)
+ * @param hash      내용 해시 (내용이 바뀌면 URL 이 바뀜)
+ * @param mediaType 응답 Content-Type
+ * @param path      디스크의 파일 (sendfile / FileChannel 전송 대상)
+ * @param length    파일 크기
+ */
+public record ProductImage(String fileName, String hash, MediaType mediaType, Path path, long length) {
+
+    /** 내용 해시가 들어간 URL (예: /images/3f2a.../carrot.jpeg) */
+    public String url() {
+        return ProductImageCatalog.URL_PREFIX + hash + "/" + fileName;
+    }
+
+    public String eTag() {
+        return "\"" + hash + "\"";
+    }
+}
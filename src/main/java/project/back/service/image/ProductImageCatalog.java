@@ -0,0 +1,100 @@
+package project.back.service.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 이미지 목록 (static/images)
+ * 시작할 때 한 번 이미지마다 내용 해시를 구해 두고, 상품 응답에는 해시가 들어간 URL 을 담는다.
+ * 이미지가 jar 안에 있으면 app.image.cache-dir (없으면 임시 디렉터리)에 풀어 두어 파일 그대로 전송할 수 있게 한다.
+ */
+@Slf4j
+@Component
+public class ProductImageCatalog {
+
+    public static final String URL_PREFIX = "/images/";
+
+    private static final String LOCATION = "classpath:static/images/*";
+    static final String DEFAULT_IMAGE = "/null.png";
+    private static final int HASH_LENGTH = 16;
+
+    /** 파일 이름 -> 이미지 */
+    private final Map<String, ProductImage> images = new ConcurrentHashMap<>();
+
+    public ProductImageCatalog(@Value("${app.image.cache-dir:}") String cacheDir) throws IOException {
+        Path directory = null;
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String fileName = resource.getFilename();
+            if (!resource.isReadable() || !StringUtils.hasText(fileName)) {
+                continue;
+            }
+            byte[] content = resource.getInputStream().readAllBytes();
+            String hash = sha256(content).substring(0, HASH_LENGTH);
+            Path path;
+            if (resource.isFile()) {
+                path = resource.getFile().toPath();
+            } else {
+                if (directory == null) {
+                    directory = StringUtils.hasText(cacheDir)
+                            ? Files.createDirectories(Path.of(cacheDir))
+                            : Files.createTempDirectory("product-images");
+                }
+                path = extract(directory, hash, fileName, content);
+            }
+            MediaType mediaType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+            images.put(fileName, new ProductImage(fileName, hash, mediaType, path, content.length));
+        }
+        log.info("product images loaded: count={} directory={}", images.size(), directory);
+    }
+
+    /** 상품의 이미지 경로(/carrot.jpeg, null 이면 기본 이미지)에 해당하는 이미지 */
+    public Optional<ProductImage> findByImagePath(String imagePath) {
+        String path = imagePath != null ? imagePath : DEFAULT_IMAGE;
+        return findByFileName(path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    public Optional<ProductImage> findByFileName(String fileName) {
+        return Optional.ofNullable(images.get(fileName));
+    }
+
+    public Collection<ProductImage> findAll() {
+        return images.values();
+    }
+
+    /** 같은 내용이면 다시 쓰지 않음 (파일 이름에 해시를 붙여 이전 내용과 섞이지 않게) */
+    private static Path extract(Path directory, String hash, String fileName, byte[] content) throws IOException {
+        Path path = directory.resolve(hash + "-" + fileName);
+        if (!Files.exists(path) || Files.size(path) != content.length) {
+            Path temp = Files.createTempFile(directory, hash, ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return path;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package project.back.service.martjoinservice;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +17,7 @@ import project.back.entity.Member;
 import project.back.etc.martproduct.MartAndProductMessage;
 import project.back.repository.MartRepository;
 import project.back.repository.memberjoinrepository.MemberJoinRepository;
+import project.back.service.pricing.MartLinkedEvent;
 
 import java.util.*;
 
@@ -30,6 +32,7 @@ public class MartJoinService {
     private final MemberJoinRepository memberJoinRepository;
     private final RestTemplate restTemplate;
     private final MartRepository martRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     //memberId를 통해 주소 찾아내기
     public String findAddress(Long memberId){
@@ -128,6 +131,7 @@ public class MartJoinService {
 
     /**
      * 검색된 마트 정보를 저장 및 JoinMart에 해당 마트가 있다면 연결
+     * 연결된 경우 조인마트 -> 마트 인덱스에 반영되도록 MartLinkedEvent 를 발행
      *
      * @param contentDto 저장할 마트 정보
      * @return MartResponseDto로 저장된 마트 정보 반환
@@ -139,6 +143,9 @@ public class MartJoinService {
                 .martAddress(contentDto.getRoadAddress())
                 .joinMart(joinMart)
                 .build());
+        if (joinMart != null) {
+            eventPublisher.publishEvent(new MartLinkedEvent(mart.getId(), joinMart.getJoinId()));
+        }
         return new MartResponseDto(mart.getMartName(), mart.getMartAddress());
     }
 }
@@ -0,0 +1,9 @@
+package project.back.service.pricing;
+
+/**
+ * discount 행 수정 이벤트 (할인율이 바뀌면 그 할인을 쓰는 mart_product 의 최종가격이 바뀐다)
+ *
+ * @param discountId 할인 id
+ */
+public record DiscountChangedEvent(Long discountId) {
+}
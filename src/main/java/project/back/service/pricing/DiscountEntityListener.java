@@ -0,0 +1,20 @@
+package project.back.service.pricing;
+
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import project.back.entity.Discount;
+
+/** Discount 엔티티가 수정되면 DiscountChangedEvent 발행 */
+@Component
+@RequiredArgsConstructor
+public class DiscountEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    public void onUpdate(Discount discount) {
+        eventPublisher.publishEvent(new DiscountChangedEvent(discount.getDiscountId()));
+    }
+}
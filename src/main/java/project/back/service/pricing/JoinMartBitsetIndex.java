@@ -0,0 +1,196 @@
+package project.back.service.pricing;
+
+import org.springframework.stereotype.Component;
+import project.back.dto.DiscountInfoDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 -> 판매 조인마트 비트셋 인덱스
+ * 조인마트마다 비트 위치를 하나씩 부여하고, 상품별로 판매하는 조인마트의 비트를 켜둔다.
+ * "장바구니 상품을 모두 판매하는 조인마트"는 상품 비트셋의 AND 로,
+ * "N개 이상 판매하는 조인마트"는 조인마트별 상품 마스크의 popcount 로 구한다.
+ * mart_product 변경은 가격 행렬과 같은 조회 결과로 함께 전체를 다시 만들어(PriceMatrixEngine.rebuild) 두 인덱스가 어긋나지 않게 한다.
+ */
+@Component
+public class JoinMartBitsetIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> joinIdToBit = new HashMap<>();
+    private long[] bitToJoinId = new long[64];
+    private int bitCount;
+
+    private final Map<Long, long[]> productBits = new HashMap<>();
+
+    /** mart_product 조회 결과로 인덱스 전체 재생성 */
+    public void rebuild(List<DiscountInfoDto> discountInfo) {
+        lock.writeLock().lock();
+        try {
+            joinIdToBit.clear();
+            bitToJoinId = new long[64];
+            bitCount = 0;
+            productBits.clear();
+            discountInfo.stream()
+                    .filter(dto -> dto.getProductId() != null && dto.getJoinId() != null)
+                    .forEach(dto -> addRow(dto.getProductId(), dto.getJoinId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 주어진 상품을 모두 판매하는 조인마트
+     *
+     * @param productIds 장바구니 상품 id
+     * @return 조인마트 id 목록, 상품이 없으면 빈 목록
+     */
+    public List<Long> findJoinIdsSellingAll(Collection<Long> productIds) {
+        lock.readLock().lock();
+        try {
+            if (productIds.isEmpty()) {
+                return List.of();
+            }
+            long[] result = null;
+            for (Long productId : productIds) {
+                long[] bits = productBits.get(productId);
+                if (bits == null) {
+                    return List.of();
+                }
+                if (result == null) {
+                    result = Arrays.copyOf(bits, bits.length);
+                    continue;
+                }
+                int words = Math.min(result.length, bits.length);
+                for (int w = 0; w < words; w++) {
+                    result[w] &= bits[w];
+                }
+                Arrays.fill(result, words, result.length, 0L);
+            }
+            return toJoinIds(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 상품을 판매하는 조인마트 id (id 순), 없으면 빈 배열 */
+    public long[] findJoinIdsSelling(long productId) {
+        lock.readLock().lock();
+        try {
+            long[] bits = productBits.get(productId);
+            if (bits == null) {
+                return new long[0];
+            }
+            return toJoinIds(bits).stream().mapToLong(Long::longValue).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 주어진 상품 중 minCount 개 이상을 판매하는 조인마트와 판매 상품 수
+     *
+     * @param productIds 장바구니 상품 id
+     * @param minCount   최소 판매 상품 수
+     * @return 조인마트 id -> 판매 상품 수 (조인마트 id 순)
+     */
+    public Map<Long, Integer> findJoinIdsSellingAtLeast(List<Long> productIds, int minCount) {
+        Coverage coverage = coverage(productIds);
+        Map<Long, Integer> joinIdToCount = new TreeMap<>();
+        for (int i = 0; i < coverage.joinIds().length; i++) {
+            int count = coverage.count(i);
+            if (count > 0 && count >= minCount) {
+                joinIdToCount.put(coverage.joinIds()[i], count);
+            }
+        }
+        return joinIdToCount;
+    }
+
+    /**
+     * 조인마트별로 productIds 중 판매하는 상품의 위치를 비트 마스크로 반환
+     * masks[i] 의 j번째 비트가 켜져 있으면 joinIds[i] 는 productIds.get(j) 를 판매한다.
+     */
+    public Coverage coverage(List<Long> productIds) {
+        lock.readLock().lock();
+        try {
+            int maskWords = (productIds.size() + 63) >>> 6;
+            long[][] masks = new long[bitCount][maskWords];
+            for (int i = 0; i < productIds.size(); i++) {
+                long[] bits = productBits.get(productIds.get(i));
+                if (bits == null) {
+                    continue;
+                }
+                for (int w = 0; w < bits.length; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        int bit = (w << 6) + Long.numberOfTrailingZeros(word);
+                        masks[bit][i >>> 6] |= 1L << i;
+                        word &= word - 1;
+                    }
+                }
+            }
+            return new Coverage(Arrays.copyOf(bitToJoinId, bitCount), masks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addRow(long productId, long joinId) {
+        int bit = joinIdToBit.computeIfAbsent(joinId, this::assignBit);
+        int words = (bitCount + 63) >>> 6;
+
+        long[] bits = productBits.get(productId);
+        if (bits == null || bits.length < words) {
+            bits = (bits == null) ? new long[words] : Arrays.copyOf(bits, words);
+            productBits.put(productId, bits);
+        }
+        bits[bit >>> 6] |= 1L << bit;
+    }
+
+    private int assignBit(long joinId) {
+        if (bitCount == bitToJoinId.length) {
+            bitToJoinId = Arrays.copyOf(bitToJoinId, bitCount * 2);
+        }
+        bitToJoinId[bitCount] = joinId;
+        return bitCount++;
+    }
+
+    private List<Long> toJoinIds(long[] bits) {
+        List<Long> joinIds = new ArrayList<>();
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                joinIds.add(bitToJoinId[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+        joinIds.sort(null);
+        return joinIds;
+    }
+
+    /** 조인마트별 상품 판매 마스크 */
+    public record Coverage(long[] joinIds, long[][] masks) {
+
+        /** i번째 조인마트가 판매하는 상품 수 */
+        public int count(int i) {
+            int count = 0;
+            for (long word : masks[i]) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        /** i번째 조인마트가 productIds 의 j번째 상품을 판매하는지 */
+        public boolean sells(int i, int j) {
+            return (masks[i][j >>> 6] & (1L << j)) != 0;
+        }
+    }
+}
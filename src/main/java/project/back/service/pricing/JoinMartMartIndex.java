@@ -0,0 +1,104 @@
+package project.back.service.pricing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.back.dto.MartJoinIdDto;
+import project.back.repository.MartRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 조인마트 id <-> 연결된 마트 id 인덱스
+ * 시작 시 한 번의 쿼리로 적재하고, 이 인스턴스에서 마트가 조인마트에 연결되면 커밋 후 바로 추가한다.
+ * 마트 연결은 가격 데이터 버전(PriceDataVersion)도 올리므로, 다른 인스턴스는 가격 행렬을 다시 만들 때
+ * (PriceMatrixRebuiltEvent) 함께 다시 읽는다. 그 사이 모르는 마트는 DB 에서 찾아 추가한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JoinMartMartIndex {
+
+    private final MartRepository martRepository;
+
+    private volatile Map<Long, List<Long>> joinIdToMartIds = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> martIdToJoinId = new ConcurrentHashMap<>();
+
+    /** 애플리케이션 시작 시 최초 적재 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /** mart 테이블을 다시 읽어 인덱스 재생성 */
+    public synchronized void rebuild() {
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        Map<Long, Long> reverse = new ConcurrentHashMap<>();
+        for (MartJoinIdDto dto : martRepository.findAllMartJoinIds()) {
+            grouped.computeIfAbsent(dto.getJoinId(), joinId -> new ArrayList<>()).add(dto.getMartId());
+            reverse.put(dto.getMartId(), dto.getJoinId());
+        }
+        Map<Long, List<Long>> rebuilt = new ConcurrentHashMap<>();
+        grouped.forEach((joinId, martIds) -> rebuilt.put(joinId, List.copyOf(martIds)));
+        joinIdToMartIds = rebuilt;
+        martIdToJoinId = reverse;
+        log.info("join mart -> mart index rebuilt: joinMarts={}", rebuilt.size());
+    }
+
+    /** 다른 인스턴스의 마트 연결도 반영되도록 가격 행렬과 함께 다시 읽음, 실패하면 이전 인덱스 유지 */
+    @EventListener
+    public void onPriceMatrixRebuilt(PriceMatrixRebuiltEvent event) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("join mart -> mart index rebuild failed, keeping previous index", e);
+        }
+    }
+
+    /** 마트 연결이 커밋된 뒤 인덱스에 추가 */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMartLinked(MartLinkedEvent event) {
+        if (event.martId() == null || event.joinId() == null) {
+            return;
+        }
+        link(event.martId(), event.joinId());
+    }
+
+    /** 조인마트에 연결된 마트 id 목록 */
+    public List<Long> findMartIds(Long joinId) {
+        return joinIdToMartIds.getOrDefault(joinId, List.of());
+    }
+
+    /** 마트가 연결된 조인마트 id, 인덱스에 없으면 DB 에서 찾아 추가, 연결되지 않았거나 없는 마트면 empty */
+    public Optional<Long> findJoinId(Long martId) {
+        Long joinId = martIdToJoinId.get(martId);
+        if (joinId != null) {
+            return Optional.of(joinId);
+        }
+        Optional<Long> linked = martRepository.findJoinIdByMartId(martId);
+        linked.ifPresent(found -> link(martId, found));
+        return linked;
+    }
+
+    private synchronized void link(Long martId, Long joinId) {
+        joinIdToMartIds.compute(joinId, (key, martIds) -> {
+            List<Long> extended = (martIds == null) ? new ArrayList<>() : new ArrayList<>(martIds);
+            if (!extended.contains(martId)) {
+                extended.add(martId);
+            }
+            return List.copyOf(extended);
+        });
+        martIdToJoinId.put(martId, joinId);
+    }
+}
@@ -0,0 +1,10 @@
+package project.back.service.pricing;
+
+/**
+ * 새 Mart 가 JoinMart 에 연결되어 저장된 이벤트
+ *
+ * @param martId 마트 id
+ * @param joinId 조인마트 id
+ */
+public record MartLinkedEvent(Long martId, Long joinId) {
+}
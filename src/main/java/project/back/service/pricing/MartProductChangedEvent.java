@@ -0,0 +1,17 @@
+package project.back.service.pricing;
+
+/**
+ * mart_product 행 추가/수정/삭제 이벤트
+ *
+ * @param productId 상품 id
+ * @param joinId    조인마트 id
+ * @param type      변경 종류
+ */
+public record MartProductChangedEvent(Long productId, Long joinId, Type type) {
+
+    public enum Type {
+        INSERTED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,38 @@
+package project.back.service.pricing;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import project.back.entity.MartProduct;
+
+/** MartProduct 엔티티가 저장/수정/삭제되면 MartProductChangedEvent 발행 */
+@Component
+@RequiredArgsConstructor
+public class MartProductEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onPersist(MartProduct martProduct) {
+        publish(martProduct, MartProductChangedEvent.Type.INSERTED);
+    }
+
+    @PostUpdate
+    public void onUpdate(MartProduct martProduct) {
+        publish(martProduct, MartProductChangedEvent.Type.UPDATED);
+    }
+
+    @PostRemove
+    public void onRemove(MartProduct martProduct) {
+        publish(martProduct, MartProductChangedEvent.Type.DELETED);
+    }
+
+    private void publish(MartProduct martProduct, MartProductChangedEvent.Type type) {
+        Long productId = martProduct.getProduct() != null ? martProduct.getProduct().getProductId() : null;
+        Long joinId = martProduct.getJoinMart() != null ? martProduct.getJoinMart().getJoinId() : null;
+        eventPublisher.publishEvent(new MartProductChangedEvent(productId, joinId, type));
+    }
+}
@@ -0,0 +1,125 @@
+package project.back.service.pricing;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.back.dto.DiscountInfoDto;
+import project.back.service.cart.CartVersionRegistry;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 마트 비교 결과 캐시
+ * (memberId, 장바구니 버전, 가격 버전) 을 키로 마트별 합계와 마트별 상세 목록을 보관한다.
+ * 가격 버전은 현재 가격 행렬을 만들 때 확인한 가격 데이터 버전(PriceDataVersion)이다.
+ * 두 버전 모두 모든 인스턴스가 공유하므로 ETag 는 어느 인스턴스에서 확인해도 같은 내용이면 일치한다.
+ * 회원별로 최신 키의 결과 하나만 남기며, 가격 행렬을 다시 만들거나 마트가 연결되면 캐시를 비운다.
+ * mart_product 변경과 마트 연결은 가격 데이터 버전을 올려 모든 인스턴스가 가격 행렬과 인덱스를 다시 만들 때(PriceMatrixRebuiltEvent) 반영된다.
+ * 가격 버전은 인덱스 갱신 리스너가 모두 끝난 뒤 바뀌도록 가장 낮은 우선순위로 처리한다.
+ */
+@Component
+public class MartSellingCache {
+
+    private static final int MAX_MEMBERS = 10_000;
+
+    private volatile long priceVersion = PriceDataVersion.UNKNOWN;
+    private final Map<Long, Entry> entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    return size() > MAX_MEMBERS;
+                }
+            });
+
+    /** 현재 가격 버전으로 캐시 키 생성 */
+    public Key key(Long memberId, long cartVersion) {
+        return new Key(memberId, cartVersion, priceVersion);
+    }
+
+    /** 현재 가격 버전 */
+    public long priceVersion() {
+        return priceVersion;
+    }
+
+    /** 캐시 키의 ETag, 장바구니 버전이나 가격 버전을 알 수 없으면 null */
+    public String eTag(Key key) {
+        if (!key.isCacheable()) {
+            return null;
+        }
+        return "\"" + key.cartVersion() + "-" + key.priceVersion() + "\"";
+    }
+
+    public Map<Long, Long> getTotals(Key key) {
+        if (!key.isCacheable()) {
+            return null;
+        }
+        Entry entry = entries.get(key.memberId());
+        return (entry != null && entry.key.equals(key)) ? entry.totals : null;
+    }
+
+    public void putTotals(Key key, Map<Long, Long> totals) {
+        if (!key.isCacheable()) {
+            return;
+        }
+        entryFor(key).totals = Map.copyOf(totals);
+    }
+
+    public List<DiscountInfoDto> getDetails(Key key, Long martId) {
+        if (!key.isCacheable()) {
+            return null;
+        }
+        Entry entry = entries.get(key.memberId());
+        return (entry != null && entry.key.equals(key)) ? entry.details.get(martId) : null;
+    }
+
+    public void putDetails(Key key, Long martId, List<DiscountInfoDto> details) {
+        if (!key.isCacheable()) {
+            return;
+        }
+        entryFor(key).details.put(martId, List.copyOf(details));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener
+    public void onPriceMatrixRebuilt(PriceMatrixRebuiltEvent event) {
+        priceVersion = event.dataVersion();
+        entries.clear();
+    }
+
+    /** 이 인스턴스의 조인마트 -> 마트 인덱스가 바로 바뀌므로 캐시만 비움 (ETag 는 가격 행렬을 다시 만들면 바뀜) */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMartLinked(MartLinkedEvent event) {
+        entries.clear();
+    }
+
+    private Entry entryFor(Key key) {
+        return entries.compute(key.memberId(),
+                (memberId, entry) -> (entry != null && entry.key.equals(key)) ? entry : new Entry(key));
+    }
+
+    /** 캐시 키 */
+    public record Key(Long memberId, long cartVersion, long priceVersion) {
+
+        /** 장바구니 버전이나 가격 버전을 알 수 없으면 캐시와 ETag 를 쓰지 않음 */
+        public boolean isCacheable() {
+            return cartVersion != CartVersionRegistry.UNKNOWN && priceVersion != PriceDataVersion.UNKNOWN;
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final Map<Long, List<DiscountInfoDto>> details = new ConcurrentHashMap<>();
+        private volatile Map<Long, Long> totals;
+
+        private Entry(Key key) {
+            this.key = key;
+        }
+    }
+}
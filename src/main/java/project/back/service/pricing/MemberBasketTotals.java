@@ -0,0 +1,213 @@
+package project.back.service.pricing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import project.back.dto.CartProductDto;
+import project.back.service.cart.CartVersionRegistry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 회원별 조인마트 장바구니 합계 (증분 유지)
+ * 조인마트 열마다 장바구니 상품 중 판매하는 상품 수와 그 합계를 들고 있다가,
+ * 장바구니 한 줄이 바뀌면 (가격 x 수량 변화) 만큼만 반영한다. 조회는 조인마트 수만큼의 O(M) 이다.
+ * 상태는 장바구니 버전이 하나씩 순서대로 반영될 때만 유지하고, 버전이 건너뛰거나 가격 데이터가 바뀌면 버린 뒤
+ * 다음 조회에서 장바구니를 다시 읽어 재생성한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberBasketTotals {
+
+    private static final int MAX_MEMBERS = 10_000;
+
+    private final PriceMatrixEngine priceMatrixEngine;
+    private final JoinMartBitsetIndex joinMartBitsetIndex;
+    private final MartSellingCache martSellingCache;
+    private final CartVersionRegistry cartVersionRegistry;
+
+    private final Map<Long, State> states = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, State> eldest) {
+                    return size() > MAX_MEMBERS;
+                }
+            });
+
+    /**
+     * cartVersion 까지 반영된 현재 가격 기준 합계
+     *
+     * @return 합계, 상태가 없거나 버전이 맞지 않으면 null
+     */
+    public Totals find(Long memberId, long cartVersion) {
+        synchronized (states) {
+            State state = states.get(memberId);
+            if (state == null || state.cartVersion != cartVersion || !isCurrent(state)) {
+                return null;
+            }
+            return state.toTotals();
+        }
+    }
+
+    /**
+     * 장바구니 전체로 상태 재생성
+     * 장바구니를 읽는 사이 다른 변경이 커밋되었으면 (버전이 달라졌거나 알 수 없으면) 결과만 반환하고 저장하지 않는다.
+     *
+     * @param cartVersion  장바구니를 읽기 전의 장바구니 버전
+     * @param cartProducts 장바구니 상품 목록
+     */
+    public Totals rebuild(Long memberId, long cartVersion, List<CartProductDto> cartProducts) {
+        State state = new State(priceMatrixEngine.current(), martSellingCache.priceVersion(), cartVersion);
+        for (CartProductDto cartProduct : cartProducts) {
+            long quantity = state.quantities.getOrDefault(cartProduct.getProductId(), 0L) + cartProduct.getQuantity();
+            apply(state, cartProduct.getProductId(), quantity);
+        }
+        synchronized (states) {
+            if (cartVersion != CartVersionRegistry.UNKNOWN && cartVersionRegistry.current(memberId) == cartVersion) {
+                states.put(memberId, state);
+            }
+            return state.toTotals();
+        }
+    }
+
+    /**
+     * 저장하지 않는 장바구니 합계 계산 (장바구니에 담지 않은 후보 장바구니 비교용)
+     * 여러 장바구니를 같은 가격 기준으로 비교하도록 가격 행렬을 인자로 받는다.
+     *
+     * @param matrix              계산에 사용할 가격 행렬 스냅샷
+     * @param productIdToQuantity 상품 id -> 수량
+     */
+    public Totals compute(PriceMatrix matrix, Map<Long, Long> productIdToQuantity) {
+        State state = new State(matrix, martSellingCache.priceVersion(), 0L);
+        productIdToQuantity.forEach((productId, quantity) -> apply(state, productId, quantity));
+        return state.toTotals();
+    }
+
+    /**
+     * 커밋된 장바구니 한 줄의 변경 반영
+     *
+     * @param quantity    변경 후 수량, 삭제되었으면 0
+     * @param cartVersion 이 변경으로 올라간 장바구니 버전
+     */
+    public void onLineChanged(Long memberId, Long productId, long quantity, long cartVersion) {
+        onLinesChanged(memberId, Map.of(productId, quantity), cartVersion);
+    }
+
+    /**
+     * 한 커밋에서 바뀐 장바구니 여러 줄 반영 (버전은 한 번만 올라감)
+     *
+     * @param productIdToQuantity 상품 id -> 변경 후 수량, 삭제되었으면 0
+     * @param cartVersion         이 변경으로 올라간 장바구니 버전
+     */
+    public void onLinesChanged(Long memberId, Map<Long, Long> productIdToQuantity, long cartVersion) {
+        synchronized (states) {
+            State state = advance(memberId, cartVersion);
+            if (state != null) {
+                productIdToQuantity.forEach((productId, quantity) -> apply(state, productId, quantity));
+            }
+        }
+    }
+
+    /** 커밋된 장바구니 전체 삭제 반영 */
+    public void onCleared(Long memberId, long cartVersion) {
+        synchronized (states) {
+            State state = advance(memberId, cartVersion);
+            if (state != null) {
+                states.put(memberId, new State(state.matrix, state.priceVersion, cartVersion));
+            }
+        }
+    }
+
+    /** 바로 다음 버전이면 상태의 버전을 올려 반환, 아니면 상태를 버린다 */
+    private State advance(Long memberId, long cartVersion) {
+        State state = states.get(memberId);
+        if (state == null) {
+            return null;
+        }
+        if (state.cartVersion + 1 != cartVersion || !isCurrent(state)) {
+            states.remove(memberId);
+            return null;
+        }
+        state.cartVersion = cartVersion;
+        return state;
+    }
+
+    private boolean isCurrent(State state) {
+        return state.matrix == priceMatrixEngine.current() && state.priceVersion == martSellingCache.priceVersion();
+    }
+
+    /**
+     * 상품의 수량을 quantity 로 바꾸고, 판매하는 조인마트 열에만 합계 변화를 더한다.
+     * 판매 여부는 기존 합계 계산과 같이 가격 행렬에 가격이 있고 비트셋 인덱스에서도 판매 중인 경우이다.
+     */
+    private void apply(State state, Long productId, long quantity) {
+        long before = state.quantities.getOrDefault(productId, 0L);
+        if (quantity > 0) {
+            state.quantities.put(productId, quantity);
+        } else {
+            state.quantities.remove(productId);
+        }
+        int row = state.matrix.productIndex(productId);
+        if (row < 0 || before == quantity) {
+            return;
+        }
+
+        int coverageDelta = (before == 0) ? 1 : (quantity == 0) ? -1 : 0;
+        state.pricedLines += coverageDelta;
+        for (long joinId : joinMartBitsetIndex.findJoinIdsSelling(productId)) {
+            int col = state.matrix.joinIndex(joinId);
+            if (col < 0) {
+                continue;
+            }
+            long price = state.matrix.finalPrice(row, col);
+            if (price == PriceMatrix.NOT_SOLD) {
+                continue;
+            }
+            state.coverage[col] += coverageDelta;
+            state.totals[col] += price * (quantity - before);
+        }
+    }
+
+    /**
+     * 조회 결과
+     *
+     * @param joinIdToTotal   가격이 있는 장바구니 상품을 모두 판매하는 조인마트별 합계
+     * @param lineCount       장바구니 상품 수
+     * @param pricedLineCount 그중 가격 행렬에 있는 상품 수
+     */
+    public record Totals(Map<Long, Long> joinIdToTotal, int lineCount, int pricedLineCount) {
+    }
+
+    private static final class State {
+        private final PriceMatrix matrix;
+        private final long priceVersion;
+        private long cartVersion;
+        private final Map<Long, Long> quantities = new HashMap<>();
+        private final long[] totals;
+        private final int[] coverage;
+        private int pricedLines;
+
+        private State(PriceMatrix matrix, long priceVersion, long cartVersion) {
+            this.matrix = matrix;
+            this.priceVersion = priceVersion;
+            this.cartVersion = cartVersion;
+            this.totals = new long[matrix.joinCount()];
+            this.coverage = new int[matrix.joinCount()];
+        }
+
+        private Totals toTotals() {
+            Map<Long, Long> joinIdToTotal = new HashMap<>();
+            if (pricedLines > 0) {
+                for (int col = 0; col < coverage.length; col++) {
+                    if (coverage[col] == pricedLines) {
+                        joinIdToTotal.put(matrix.joinIdAt(col), totals[col]);
+                    }
+                }
+            }
+            return new Totals(joinIdToTotal, quantities.size(), pricedLines);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package project.back.service.pricing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가격 데이터(mart_product, 할인) 변경 버전
+ * 변경이 커밋될 때마다 Redis 의 pricing:version 을 올려, 모든 인스턴스가 가격 행렬을 다시 만들어야 하는지 알 수 있게 한다.
+ * 값 자체는 변경 신호일 뿐이며 가격 행렬이나 캐시의 키로 쓰지 않는다.
+ */
+@Slf4j
+@Component
+public class PriceDataVersion {
+
+    /** Redis 를 쓸 수 없어 확인하지 못함 */
+    public static final long UNKNOWN = -1L;
+
+    private static final String KEY = "pricing:version";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public PriceDataVersion(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /** 현재 버전, 한 번도 바뀌지 않았으면 0, Redis 를 쓸 수 없으면 UNKNOWN */
+    public long current() {
+        try {
+            Object version = redisTemplate.opsForValue().get(KEY);
+            return version == null ? 0L : Long.parseLong(version.toString());
+        } catch (DataAccessException e) {
+            log.warn("price data version unavailable: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /** 버전 증가, 실패하면 다른 인스턴스는 다음 변경 때까지 이 변경을 모른다 */
+    public void increment() {
+        try {
+            redisTemplate.opsForValue().increment(KEY);
+        } catch (DataAccessException e) {
+            log.warn("price data version increment failed, other instances keep their price matrix: {}",
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package project.back.service.pricing;
+
+import project.back.dto.DiscountInfoDto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 상품 x 조인마트 최종가격 행렬 (불변 스냅샷)
+ * mart_product + discount 를 한 번 읽어 할인까지 반영된 최종가격을 long[] 에 미리 계산해둔다.
+ * 행/열 인덱스는 정렬된 productId / joinId 배열의 위치이며, 판매하지 않는 칸은 NOT_SOLD 이다.
+ */
+public final class PriceMatrix {
+
+    public static final long NOT_SOLD = -1L;
+
+    private final long version;
+    private final long[] productIds;
+    private final long[] joinIds;
+    private final long[] finalPrices;
+
+    private PriceMatrix(long version, long[] productIds, long[] joinIds, long[] finalPrices) {
+        this.version = version;
+        this.productIds = productIds;
+        this.joinIds = joinIds;
+        this.finalPrices = finalPrices;
+    }
+
+    public static PriceMatrix empty() {
+        return new PriceMatrix(0L, new long[0], new long[0], new long[0]);
+    }
+
+    /**
+     * 가격 행렬 생성
+     * 같은 (상품, 조인마트) 행이 여러 개면 기존 합계 계산과 동일하게 최종가격을 합산한다.
+     *
+     * @param version      가격 버전
+     * @param productIds   행으로 사용할 전체 상품 id
+     * @param discountInfo mart_product + discount 조회 결과
+     */
+    public static PriceMatrix build(long version, Collection<Long> productIds, List<DiscountInfoDto> discountInfo) {
+        long[] rows = productIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        long[] cols = discountInfo.stream()
+                .filter(dto -> dto.getJoinId() != null && dto.getProductId() != null)
+                .mapToLong(DiscountInfoDto::getJoinId)
+                .sorted()
+                .distinct()
+                .toArray();
+
+        long[] prices = new long[rows.length * cols.length];
+        Arrays.fill(prices, NOT_SOLD);
+        for (DiscountInfoDto dto : discountInfo) {
+            if (dto.getJoinId() == null || dto.getProductId() == null) {
+                continue;
+            }
+            int row = Arrays.binarySearch(rows, dto.getProductId());
+            if (row < 0) {
+                continue;
+            }
+            int cell = row * cols.length + Arrays.binarySearch(cols, dto.getJoinId());
+            prices[cell] = (prices[cell] == NOT_SOLD) ? dto.getFinalPrice() : prices[cell] + dto.getFinalPrice();
+        }
+        return new PriceMatrix(version, rows, cols, prices);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int productCount() {
+        return productIds.length;
+    }
+
+    public int joinCount() {
+        return joinIds.length;
+    }
+
+    public long productIdAt(int row) {
+        return productIds[row];
+    }
+
+    public long joinIdAt(int col) {
+        return joinIds[col];
+    }
+
+    /** productId의 행 인덱스, 없으면 -1 */
+    public int productIndex(long productId) {
+        int row = Arrays.binarySearch(productIds, productId);
+        return row < 0 ? -1 : row;
+    }
+
+    /** joinId의 열 인덱스, 없으면 -1 */
+    public int joinIndex(long joinId) {
+        int col = Arrays.binarySearch(joinIds, joinId);
+        return col < 0 ? -1 : col;
+    }
+
+    public long finalPrice(int row, int col) {
+        return finalPrices[row * joinIds.length + col];
+    }
+
+    /**
+     * col 열 조인마트의 장바구니 합계
+     *
+     * @param col        조인마트 열 인덱스
+     * @param rows       상품 행 인덱스
+     * @param quantities rows 와 같은 순서의 수량
+     * @return 합계, 하나라도 판매하지 않으면 NOT_SOLD
+     */
+    public long total(int col, int[] rows, long[] quantities) {
+        long total = 0L;
+        for (int i = 0; i < rows.length; i++) {
+            long price = finalPrices[rows[i] * joinIds.length + col];
+            if (price == NOT_SOLD) {
+                return NOT_SOLD;
+            }
+            total += price * quantities[i];
+        }
+        return total;
+    }
+}
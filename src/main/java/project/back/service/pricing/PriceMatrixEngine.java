@@ -0,0 +1,115 @@
+package project.back.service.pricing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.back.dto.DiscountInfoDto;
+import project.back.repository.MartProductRepository;
+import project.back.repository.ProductRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 가격 행렬 관리
+ * 조회는 항상 현재 스냅샷을 그대로 사용하고, 가격이 바뀌면 rebuild()로 새 스냅샷을 만들어 교체한다.
+ * mart_product/할인 변경이나 마트의 조인마트 연결이 커밋되면 가격 데이터 버전(PriceDataVersion)을 올리고, 모든 인스턴스가
+ * pricing.refresh-interval-ms 마다 그 버전을 확인해 바뀌었으면 다시 만든다. (주기 안의 여러 변경은 한 번에 반영)
+ * Redis 를 쓸 수 없으면 변경이 커밋된 인스턴스만 다시 만든다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceMatrixEngine {
+
+    private final MartProductRepository martProductRepository;
+    private final ProductRepository productRepository;
+    private final JoinMartBitsetIndex joinMartBitsetIndex;
+    private final PriceDataVersion priceDataVersion;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private volatile PriceMatrix matrix = PriceMatrix.empty();
+    /** 이 인스턴스에서 커밋된 가격 데이터 변경이 아직 반영되지 않았는지 */
+    private final AtomicBoolean stale = new AtomicBoolean();
+    /** 마지막 재생성 직전에 확인한 가격 데이터 버전 */
+    private volatile long builtDataVersion = PriceDataVersion.UNKNOWN;
+
+    /** 애플리케이션 시작 시 최초 행렬 생성 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * mart_product + discount 를 다시 읽어 가격 행렬과 조인마트 비트셋 인덱스를 재생성
+     * 읽기 전에 가격 데이터 버전을 확인하므로, 읽는 도중 커밋된 변경은 다음 확인 때 다시 반영된다.
+     *
+     * @return 새로 교체된 가격 행렬
+     */
+    public synchronized PriceMatrix rebuild() {
+        long dataVersion = priceDataVersion.current();
+        stale.set(false);
+        List<Long> productIds = productRepository.findAllProductIds();
+        List<DiscountInfoDto> discountInfo = martProductRepository.findAllDiscountInfos();
+
+        PriceMatrix rebuilt = PriceMatrix.build(versionSequence.incrementAndGet(), productIds, discountInfo);
+        joinMartBitsetIndex.rebuild(discountInfo);
+        matrix = rebuilt;
+        builtDataVersion = dataVersion;
+        eventPublisher.publishEvent(new PriceMatrixRebuiltEvent(rebuilt.getVersion(), dataVersion));
+        log.info("price matrix rebuilt: version={}, products={}, joinMarts={}, dataVersion={}",
+                rebuilt.getVersion(), rebuilt.productCount(), rebuilt.joinCount(), dataVersion);
+        return rebuilt;
+    }
+
+    /** mart_product 추가/수정/삭제가 커밋되면 모든 인스턴스에 알림 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMartProductChanged(MartProductChangedEvent event) {
+        markChanged();
+    }
+
+    /** 할인율 수정이 커밋되면 모든 인스턴스에 알림 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiscountChanged(DiscountChangedEvent event) {
+        markChanged();
+    }
+
+    /** 마트가 조인마트에 연결되면 모든 인스턴스가 조인마트 -> 마트 인덱스와 마트별 합계를 다시 읽도록 알림 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMartLinked(MartLinkedEvent event) {
+        markChanged();
+    }
+
+    /** 이 인스턴스나 다른 인스턴스에서 가격 데이터가 바뀌었으면 다시 만든다 */
+    @Scheduled(fixedDelayString = "${pricing.refresh-interval-ms:1000}")
+    public void refreshIfChanged() {
+        long dataVersion = priceDataVersion.current();
+        boolean changedElsewhere = dataVersion != PriceDataVersion.UNKNOWN && dataVersion != builtDataVersion;
+        if (!stale.get() && !changedElsewhere) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            stale.set(true);
+            log.warn("price matrix rebuild failed, retrying next interval", e);
+        }
+    }
+
+    /** 현재 가격 행렬 */
+    public PriceMatrix current() {
+        return matrix;
+    }
+
+    private void markChanged() {
+        stale.set(true);
+        priceDataVersion.increment();
+    }
+}
@@ -0,0 +1,10 @@
+package project.back.service.pricing;
+
+/**
+ * 가격 행렬 재생성 이벤트
+ *
+ * @param version     새 가격 행렬 버전 (인스턴스마다 따로 셈)
+ * @param dataVersion 재생성 직전에 확인한 가격 데이터 버전 (PriceDataVersion, 모든 인스턴스 공유, 알 수 없으면 UNKNOWN)
+ */
+public record PriceMatrixRebuiltEvent(long version, long dataVersion) {
+}
@@ -0,0 +1,345 @@
+package project.back.service.pricing;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * 장바구니를 최대 K개 매장에 나눠 살 때의 최소 비용 조합 (분기 한정)
+ * costs[j][s] 는 j번째 상품을 s번째 매장에서 살 때의 금액(가격 x 수량), 판매하지 않으면 NOT_SOLD 이다.
+ * 매장 조합 비용은 상품별 최저가 합 + (매장 수 - 1) x 추가 매장 페널티이며,
+ * 남은 매장 후보의 상품별 최저가로 하한을 구해 현재 최적해보다 나쁜 가지는 잘라낸다.
+ * 시간 예산을 넘기면 그때까지의 최적해를 optimal = false 로 반환한다.
+ */
+public final class SplitBasketSolver {
+
+    public static final long NOT_SOLD = PriceMatrix.NOT_SOLD;
+
+    private static final long INF = Long.MAX_VALUE / 4;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    private final long[][] costs;
+    private final int itemCount;
+    private final int storeCount;
+    private final int maxStores;
+    private final long storePenalty;
+    private final long deadline;
+
+    /*
+     * order[u]        : 탐색 순서 u 번째 매장의 원래 인덱스
+     * storeCosts[u][j]: order[u] 매장의 j번째 상품 금액, 판매하지 않으면 INF
+     * suffixMin[u][j] : order[u..] 매장 중 j번째 상품 최저가
+     */
+    private int[] order;
+    private long[][] storeCosts;
+    private long[][] suffixMin;
+    private long[][] bestByDepth;
+    private int[] chosen;
+
+    private long bestCost = INF;
+    private int[] bestChoice = new int[0];
+    private long nodes;
+    private boolean timedOut;
+
+    private SplitBasketSolver(long[][] costs, int storeCount, int maxStores, long storePenalty, long deadline) {
+        this.costs = costs;
+        this.itemCount = costs.length;
+        this.storeCount = storeCount;
+        this.maxStores = maxStores;
+        this.storePenalty = storePenalty;
+        this.deadline = deadline;
+    }
+
+    /**
+     * 최소 비용 매장 조합 탐색
+     *
+     * @param costs           [상품][매장] 금액, 판매하지 않으면 NOT_SOLD
+     * @param storeCount      매장 수
+     * @param maxStores       최대 매장 수 K (1 이상)
+     * @param storePenalty    첫 매장 이후 매장 하나당 추가 비용 (0 이상)
+     * @param timeBudgetNanos 탐색 시간 예산
+     * @return 최적(또는 시간 내 최선) 조합, 모든 상품을 살 수 있는 조합을 찾지 못하면 feasible() == false
+     */
+    public static Result solve(long[][] costs, int storeCount, int maxStores, long storePenalty, long timeBudgetNanos) {
+        if (maxStores < 1) {
+            throw new IllegalArgumentException("maxStores must be positive: " + maxStores);
+        }
+        if (storePenalty < 0) {
+            throw new IllegalArgumentException("storePenalty must not be negative: " + storePenalty);
+        }
+        SplitBasketSolver solver = new SplitBasketSolver(costs, storeCount,
+                Math.min(maxStores, Math.max(storeCount, 1)), storePenalty,
+                System.nanoTime() + timeBudgetNanos);
+        return solver.run();
+    }
+
+    private Result run() {
+        if (itemCount == 0) {
+            return new Result(new int[0], new int[0], 0L, 0L, true, 0L);
+        }
+        prepare();
+        if (!coverable()) {
+            return Result.infeasible(true, nodes);
+        }
+        greedy();
+        improveBySwap();
+        search(0, 0);
+        if (bestCost >= INF) {
+            return Result.infeasible(!timedOut, nodes);
+        }
+        return toResult();
+    }
+
+    /**
+     * 매장을 탐색 순서(판매 상품 수 내림차순, 판매 상품 합계 오름차순)로 정렬하고,
+     * 상품 판매가 없는 매장을 제외한 매장별 금액 배열과 하한용 suffix 최저가를 만든다.
+     */
+    private void prepare() {
+        int[] soldCount = new int[storeCount];
+        long[] soldTotal = new long[storeCount];
+        for (long[] itemCosts : costs) {
+            for (int s = 0; s < storeCount; s++) {
+                if (itemCosts[s] != NOT_SOLD) {
+                    soldCount[s]++;
+                    soldTotal[s] += itemCosts[s];
+                }
+            }
+        }
+        order = IntStream.range(0, storeCount)
+                .filter(s -> soldCount[s] > 0)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(s -> -soldCount[s]).thenComparingLong(s -> soldTotal[s]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        storeCosts = new long[order.length][itemCount];
+        for (int u = 0; u < order.length; u++) {
+            for (int j = 0; j < itemCount; j++) {
+                long cost = costs[j][order[u]];
+                storeCosts[u][j] = (cost == NOT_SOLD) ? INF : cost;
+            }
+        }
+        suffixMin = new long[order.length + 1][itemCount];
+        Arrays.fill(suffixMin[order.length], INF);
+        for (int u = order.length - 1; u >= 0; u--) {
+            for (int j = 0; j < itemCount; j++) {
+                suffixMin[u][j] = Math.min(storeCosts[u][j], suffixMin[u + 1][j]);
+            }
+        }
+        bestByDepth = new long[maxStores + 1][itemCount];
+        Arrays.fill(bestByDepth[0], INF);
+        chosen = new int[maxStores];
+    }
+
+    /** 모든 상품이 어느 매장에서든 판매되는지 */
+    private boolean coverable() {
+        for (int j = 0; j < itemCount; j++) {
+            if (suffixMin[0][j] >= INF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 초기 최적해: 빠진 상품 수, 그다음 비용을 가장 많이 줄이는 매장을 K개까지 차례로 추가 */
+    private void greedy() {
+        long[] best = new long[itemCount];
+        Arrays.fill(best, INF);
+        int[] picked = new int[maxStores];
+        for (int size = 0; size < maxStores; size++) {
+            int bestStore = -1;
+            int bestUncovered = Integer.MAX_VALUE;
+            long bestStoreCost = INF;
+            for (int u = 0; u < order.length; u++) {
+                if (contains(picked, size, u)) {
+                    continue;
+                }
+                int uncovered = 0;
+                long cost = 0L;
+                for (int j = 0; j < itemCount; j++) {
+                    long min = Math.min(best[j], storeCosts[u][j]);
+                    if (min >= INF) {
+                        uncovered++;
+                    } else {
+                        cost += min;
+                    }
+                }
+                if (uncovered < bestUncovered || (uncovered == bestUncovered && cost < bestStoreCost)) {
+                    bestUncovered = uncovered;
+                    bestStoreCost = cost;
+                    bestStore = u;
+                }
+            }
+            if (bestStore < 0) {
+                return;
+            }
+            picked[size] = bestStore;
+            for (int j = 0; j < itemCount; j++) {
+                best[j] = Math.min(best[j], storeCosts[bestStore][j]);
+            }
+            long total = bestStoreCost + penalty(size + 1);
+            if (bestUncovered == 0 && total < bestCost) {
+                bestCost = total;
+                bestChoice = Arrays.copyOf(picked, size + 1);
+            }
+        }
+    }
+
+    /** 초기 최적해 개선: 고른 매장을 하나씩 다른 매장으로 바꿔보며 더 싸지면 교체 (더 이상 개선이 없을 때까지) */
+    private void improveBySwap() {
+        int[] choice = bestChoice.clone();
+        boolean improved = choice.length > 0;
+        while (improved) {
+            improved = false;
+            for (int i = 0; i < choice.length; i++) {
+                int original = choice[i];
+                for (int u = 0; u < order.length; u++) {
+                    if (contains(choice, choice.length, u)) {
+                        continue;
+                    }
+                    choice[i] = u;
+                    long cost = cost(choice);
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestChoice = choice.clone();
+                        original = u;
+                        improved = true;
+                    }
+                }
+                choice[i] = original;
+            }
+        }
+    }
+
+    /** 매장 조합의 비용, 빠진 상품이 있으면 INF */
+    private long cost(int[] choice) {
+        long cost = penalty(choice.length);
+        for (int j = 0; j < itemCount && cost < bestCost; j++) {
+            long min = INF;
+            for (int u : choice) {
+                min = Math.min(min, storeCosts[u][j]);
+            }
+            if (min >= INF) {
+                return INF;
+            }
+            cost += min;
+        }
+        return cost;
+    }
+
+    /**
+     * depth 개 매장을 고른 상태에서 order[t..] 매장을 하나 더 고른다.
+     * bestByDepth[depth][j] 는 고른 매장들의 j번째 상품 최저가이다.
+     * suffix 최저가는 u 가 커질수록 커지므로 하한도 단조 증가하여, 한 후보가 잘리면 이후 후보도 모두 잘린다.
+     */
+    private void search(int depth, int t) {
+        long[] current = bestByDepth[depth];
+        boolean last = depth + 1 == maxStores;
+        for (int u = t; u < order.length; u++) {
+            if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                timedOut = true;
+            }
+            if (timedOut || lowerBound(current, u, depth + 1) >= bestCost) {
+                return;
+            }
+            chosen[depth] = u;
+            long cost = extend(current, storeCosts[u], last ? null : bestByDepth[depth + 1], depth + 1);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestChoice = Arrays.copyOf(chosen, depth + 1);
+            }
+            if (!last) {
+                search(depth + 1, u + 1);
+            }
+        }
+    }
+
+    /**
+     * 현재 조합에 매장을 추가했을 때의 비용
+     * next 가 있으면 상품별 최저가를 채우고, 없으면 현재 최적해를 넘는 순간 계산을 멈춘다.
+     */
+    private long extend(long[] current, long[] store, long[] next, int stores) {
+        long cost = penalty(stores);
+        if (next == null) {
+            for (int j = 0; j < itemCount && cost < bestCost; j++) {
+                cost += Math.min(current[j], store[j]);
+            }
+            return cost;
+        }
+        boolean covered = true;
+        for (int j = 0; j < itemCount; j++) {
+            next[j] = Math.min(current[j], store[j]);
+            if (next[j] >= INF) {
+                covered = false;
+            } else {
+                cost += next[j];
+            }
+        }
+        return covered ? cost : INF;
+    }
+
+    /** order[u] 를 고르고 나머지도 order[u..] 에서 고를 때의 비용 하한 */
+    private long lowerBound(long[] current, int u, int storesAtLeast) {
+        long bound = penalty(storesAtLeast);
+        long[] remainingMin = suffixMin[u];
+        for (int j = 0; j < itemCount && bound < bestCost; j++) {
+            bound += Math.min(current[j], remainingMin[j]);
+        }
+        return bound;
+    }
+
+    private long penalty(int stores) {
+        return Math.multiplyExact(storePenalty, (long) Math.max(stores - 1, 0));
+    }
+
+    private Result toResult() {
+        int[] assignment = new int[itemCount];
+        long itemTotal = 0L;
+        for (int j = 0; j < itemCount; j++) {
+            long best = INF;
+            for (int u : bestChoice) {
+                if (storeCosts[u][j] < best) {
+                    best = storeCosts[u][j];
+                    assignment[j] = order[u];
+                }
+            }
+            itemTotal += best;
+        }
+        int[] usedStores = Arrays.stream(assignment).distinct().sorted().toArray();
+        return new Result(usedStores, assignment, itemTotal, penalty(usedStores.length), !timedOut, nodes);
+    }
+
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 탐색 결과
+     *
+     * @param stores     사용하는 매장 인덱스, 조합을 찾지 못하면 null
+     * @param assignment 상품별로 구매할 매장 인덱스
+     * @param itemTotal  상품 금액 합계
+     * @param penalty    추가 매장 페널티 합계
+     * @param optimal    시간 예산 안에 탐색을 끝내 최적이 보장되는지
+     * @param nodes      탐색한 노드 수
+     */
+    public record Result(int[] stores, int[] assignment, long itemTotal, long penalty, boolean optimal, long nodes) {
+
+        static Result infeasible(boolean optimal, long nodes) {
+            return new Result(null, null, NOT_SOLD, 0L, optimal, nodes);
+        }
+
+        public boolean feasible() {
+            return stores != null;
+        }
+
+        public long totalCost() {
+            return itemTotal + penalty;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package project.back.service.search;
+
+/**
+ * product 행 저장/삭제 이벤트
+ *
+ * @param productId     상품 id
+ * @param productName   상품 이름
+ * @param productImgUrl 상품 이미지 경로
+ * @param type          변경 종류
+ */
+public record ProductChangedEvent(Long productId, String productName, String productImgUrl, Type type) {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+}
@@ -0,0 +1,33 @@
+package project.back.service.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import project.back.entity.Product;
+
+/** Product 엔티티가 저장/수정/삭제되면 ProductChangedEvent 발행 */
+@Component
+@RequiredArgsConstructor
+public class ProductEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Product product) {
+        publish(product, ProductChangedEvent.Type.SAVED);
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        publish(product, ProductChangedEvent.Type.DELETED);
+    }
+
+    private void publish(Product product, ProductChangedEvent.Type type) {
+        eventPublisher.publishEvent(new ProductChangedEvent(
+                product.getProductId(), product.getProductName(), product.getProductImgUrl(), type));
+    }
+}
@@ -0,0 +1,359 @@
+package project.back.service.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.back.dto.ProductSearchDto;
+import project.back.entity.Product;
+import project.back.repository.ProductRepository;
+import project.back.service.pricing.PriceMatrixRebuiltEvent;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 이름 n-gram 역색인 (GET /cart/{productName})
+ * 상품마다 번호(ordinal)를 부여하고, NFC + 소문자로 정규화한 이름의 글자(한글은 음절) 1/2/3-gram 마다
+ * 그 gram 을 가진 상품 번호를 오름차순 int 배열로 둔다.
+ * 검색어가 3글자 이상이면 trigram, 2글자면 bigram, 1글자면 unigram 목록을 짧은 것부터 교집합한 뒤
+ * 이름에 검색어가 실제로 들어 있는지 확인하므로 결과는 LIKE '%검색어%' 와 같다. (대소문자 무시)
+ * 정렬은 일치 정도(이름 전체 > 이름 앞 > 단어 앞 > 중간), 짧은 이름, 적재 순(상품 id 순, 이후 저장된 상품은 뒤).
+ * 가격 데이터를 다시 불러올 때(PriceMatrixRebuiltEvent) 전체를 다시 만들고, 그 사이 상품 저장/삭제는 커밋 후 반영한다.
+ * 변경/삭제된 상품의 이전 번호는 목록에 남겨 두고 확인 단계에서 거르며, 전체의 절반을 넘으면 번호를 다시 매긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductNameIndex {
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_START = 2;
+    private static final int CONTAINS = 3;
+    private static final int MAX_GRAM = 3;
+    private static final long ORDINAL_MASK = (1L << 32) - 1;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    /** 번호 -> 상품, 지워진 번호는 names[ordinal] == null */
+    private int ordinalCount;
+    private int removedCount;
+    private long[] productIds = new long[1024];
+    private String[] names = new String[1024];
+    private String[] normalizedNames = new String[1024];
+    private String[] imgUrls = new String[1024];
+    private final Map<Long, Integer> productIdToOrdinal = new HashMap<>();
+    /** gram -> 상품 번호 (오름차순) */
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /** 실패해도 가격 갱신은 막지 않고 이전 인덱스를 유지 (적재 전이면 SQL 검색) */
+    @EventListener
+    public void onPriceMatrixRebuilt(PriceMatrixRebuiltEvent event) {
+        try {
+            rebuild(productRepository.findAll());
+        } catch (RuntimeException e) {
+            log.warn("product name index rebuild failed, keeping previous index", e);
+        }
+    }
+
+    /** 상품 저장/삭제가 커밋된 뒤 인덱스에 반영 */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.productId() == null) {
+            return;
+        }
+        if (event.type() == ProductChangedEvent.Type.SAVED) {
+            put(event.productId(), event.productName(), event.productImgUrl());
+        } else {
+            remove(event.productId());
+        }
+    }
+
+    /** 커밋 전 상품 변경이 있는 트랜잭션에 표시 (그 트랜잭션 안의 검색은 자기 변경이 보이도록 SQL 로) */
+    @EventListener
+    public void onProductWritten(ProductChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ProductNameIndex.this);
+            }
+        });
+    }
+
+    /** 인덱스가 적재되어 있고 현재 트랜잭션에 커밋 전 상품 변경이 없어 검색에 쓸 수 있는지 */
+    public boolean isReady() {
+        return loaded && !TransactionSynchronizationManager.hasResource(this);
+    }
+
+    /** product 조회 결과로 인덱스 전체 재생성 */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            products.stream()
+                    .sorted(Comparator.comparing(Product::getProductId))
+                    .forEach(product -> append(product.getProductId(), product.getProductName(),
+                            product.getProductImgUrl()));
+            loaded = true;
+            log.info("product name index rebuilt: products={} grams={}", ordinalCount, postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 상품 추가, 이미 있으면 이름/이미지 교체 */
+    public void put(long productId, String productName, String productImgUrl) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = productIdToOrdinal.get(productId);
+            if (ordinal != null && names[ordinal].equals(productName) && equals(imgUrls[ordinal], productImgUrl)) {
+                return;
+            }
+            if (ordinal != null) {
+                removeOrdinal(ordinal);
+            }
+            append(productId, productName, productImgUrl);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = productIdToOrdinal.get(productId);
+            if (ordinal != null) {
+                removeOrdinal(ordinal);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이름에 productName 을 포함하는 상품 (대소문자 무시, 일치 정도 > 짧은 이름 > 적재 순)
+     *
+     * @param productName 검색어
+     * @return 상품 목록, 없으면 빈 목록
+     */
+    public List<ProductSearchDto> search(String productName) {
+        String query = normalize(productName);
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(query);
+            long[] matches = new long[candidates.length];
+            int count = 0;
+            for (int ordinal : candidates) {
+                String name = normalizedNames[ordinal];
+                int rank = name == null ? -1 : rank(name, query);
+                if (rank >= 0) {
+                    matches[count++] = sortKey(rank, name.length(), ordinal);
+                }
+            }
+            Arrays.sort(matches, 0, count);
+
+            List<ProductSearchDto> products = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int ordinal = (int) (matches[i] & ORDINAL_MASK);
+                products.add(ProductSearchDto.builder()
+                        .productId(productIds[ordinal])
+                        .productName(names[ordinal])
+                        .productImgUrl(imgUrls[ordinal])
+                        .build());
+            }
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 검색어의 gram 을 모두 가진 상품 번호 (지워진 번호와 gram 이 우연히 겹친 상품 포함) */
+    private int[] candidates(String query) {
+        if (query.isEmpty()) {
+            int[] all = new int[ordinalCount];
+            Arrays.setAll(all, ordinal -> ordinal);
+            return all;
+        }
+        int n = Math.min(MAX_GRAM, query.length());
+        Postings[] lists = new Postings[query.length() - n + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(gram(query, i, n));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        int[] result = Arrays.copyOf(lists[0].ordinals, lists[0].size);
+        int size = result.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            size = intersect(result, size, lists[i].ordinals, lists[i].size);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /** a 에 a ∩ b 를 덮어쓰고 그 개수 반환 (b 는 건너뛰며 탐색) */
+    private static int intersect(int[] a, int aSize, int[] b, int bSize) {
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < aSize && j < bSize; i++) {
+            j = lowerBound(b, j, bSize, a[i]);
+            if (j < bSize && b[j] == a[i]) {
+                a[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    /** b[from, to) 에서 target 이상인 첫 위치 */
+    private static int lowerBound(int[] b, int from, int to, int target) {
+        if (from >= to || b[from] >= target) {
+            return from;
+        }
+        int bound = 1;
+        while (from + bound < to && b[from + bound] < target) {
+            bound <<= 1;
+        }
+        int index = Arrays.binarySearch(b, from + (bound >>> 1) + 1, Math.min(from + bound + 1, to), target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /** 일치 정도(4비트) | 이름 길이(28비트) | 번호(32비트), 오름차순이 곧 검색 결과 순 */
+    private static long sortKey(int rank, int length, int ordinal) {
+        return ((long) rank << 60) | ((long) Math.min(length, (1 << 28) - 1) << 32) | ordinal;
+    }
+
+    /** 이름에 검색어가 없으면 -1, 있으면 일치 정도 (작을수록 앞) */
+    private static int rank(String name, String query) {
+        int at = name.indexOf(query);
+        if (at < 0) {
+            return -1;
+        }
+        if (at == 0) {
+            return name.length() == query.length() ? EXACT : PREFIX;
+        }
+        for (; at >= 0; at = name.indexOf(query, at + 1)) {
+            if (Character.isWhitespace(name.charAt(at - 1))) {
+                return WORD_START;
+            }
+        }
+        return CONTAINS;
+    }
+
+    private void append(long productId, String productName, String productImgUrl) {
+        if (ordinalCount == productIds.length) {
+            int capacity = ordinalCount * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            normalizedNames = Arrays.copyOf(normalizedNames, capacity);
+            imgUrls = Arrays.copyOf(imgUrls, capacity);
+        }
+        int ordinal = ordinalCount++;
+        String normalized = normalize(productName);
+        productIds[ordinal] = productId;
+        names[ordinal] = productName;
+        normalizedNames[ordinal] = normalized;
+        imgUrls[ordinal] = productImgUrl;
+        productIdToOrdinal.put(productId, ordinal);
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= normalized.length(); i++) {
+                postings.computeIfAbsent(gram(normalized, i, n), key -> new Postings()).add(ordinal);
+            }
+        }
+    }
+
+    private void removeOrdinal(int ordinal) {
+        productIdToOrdinal.remove(productIds[ordinal]);
+        names[ordinal] = null;
+        normalizedNames[ordinal] = null;
+        imgUrls[ordinal] = null;
+        removedCount++;
+    }
+
+    /** 지워진 번호가 절반을 넘으면 살아 있는 상품만으로 번호를 다시 매김 */
+    private void compactIfSparse() {
+        if (removedCount * 2 <= ordinalCount) {
+            return;
+        }
+        long[] liveIds = Arrays.copyOf(productIds, ordinalCount);
+        String[] liveNames = Arrays.copyOf(names, ordinalCount);
+        String[] liveImgUrls = Arrays.copyOf(imgUrls, ordinalCount);
+        int count = ordinalCount;
+        clear();
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (liveNames[ordinal] != null) {
+                append(liveIds[ordinal], liveNames[ordinal], liveImgUrls[ordinal]);
+            }
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(names, null);
+        Arrays.fill(normalizedNames, null);
+        Arrays.fill(imgUrls, null);
+        ordinalCount = 0;
+        removedCount = 0;
+        productIdToOrdinal.clear();
+        postings.clear();
+    }
+
+    /** 조합형(NFD)으로 들어온 한글도 완성형과 같게 비교하도록 NFC + 소문자 */
+    static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    /** text[from, from + n) 의 글자를 16비트씩 붙이고 상위 비트에 길이 n 을 둔 키 */
+    private static long gram(String text, int from, int n) {
+        long key = n;
+        for (int i = from; i < from + n; i++) {
+            key = (key << 16) | text.charAt(i);
+        }
+        return key;
+    }
+
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /** gram 하나의 상품 번호 목록 (번호는 늘어나는 순으로만 추가되므로 항상 오름차순) */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
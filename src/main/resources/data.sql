@@ -1311,8 +1311,9 @@ VALUES ('test@test.com', '회원A', '전북 삼성동 100', CURRENT_TIMESTAMP(),
 INSERT INTO member (email, name, address, create_time, update_time)
 VALUES ('test1@test.com', '회원B', '서울 종로구 종로 80-2', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
 
-/* cart 생성 */
+/* cart 생성 (uk_cart_member_product 때문에 재시작 시 이미 있는 행은 그대로 둔다) */
 INSERT INTO cart (quantity, member_id, product_id)
 VALUES (1, 1, 1),
        (3, 1, 29),
-       (3, 1, 128);
+       (3, 1, 128)
+ON DUPLICATE KEY UPDATE quantity = quantity;
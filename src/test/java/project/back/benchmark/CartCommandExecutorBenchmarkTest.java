@@ -0,0 +1,64 @@
+package project.back.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import project.back.service.cart.CartCommandExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회원별 명령 직렬화 처리량 (./gradlew benchmarkTest)
+ * 명령 하나는 DB 왕복을 흉내 내 COMMAND_MICROS 동안 스레드를 멈춘다.
+ * 회원이 많으면 스레드 수만큼 병렬로, 한 회원에 몰리면 한 번에 하나씩 처리되는지 본다.
+ */
+@Tag("benchmark")
+class CartCommandExecutorBenchmarkTest {
+
+    private static final int THREADS = 32;
+    private static final int COMMANDS = 20_000;
+    private static final long COMMAND_MICROS = 200;
+
+    @Test
+    @DisplayName("회원 수별 장바구니 명령 처리량")
+    void 처리량_비교() throws Exception {
+        CartCommandExecutor executor = new CartCommandExecutor(1024, 60_000, 1);
+        run(executor, 10_000, 2_000);
+
+        double manyMembers = run(executor, 10_000, COMMANDS);
+        double someMembers = run(executor, 8, COMMANDS);
+        double oneMember = run(executor, 1, COMMANDS / 10);
+
+        System.out.printf("threads=%d, command=%dus%n", THREADS, COMMAND_MICROS);
+        System.out.printf("10000 members: %.0f commands/s%n", manyMembers);
+        System.out.printf("8 members    : %.0f commands/s%n", someMembers);
+        System.out.printf("1 member     : %.0f commands/s%n", oneMember);
+        assertThat(manyMembers).isGreaterThan(oneMember * 4);
+    }
+
+    private double run(CartCommandExecutor executor, int members, int commands) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(commands);
+        long start = System.nanoTime();
+        for (int i = 0; i < commands; i++) {
+            long memberId = i % members;
+            pool.execute(() -> {
+                executor.execute(memberId, () -> {
+                    LockSupport.parkNanos(COMMAND_MICROS * 1_000);
+                    return null;
+                });
+                done.countDown();
+            });
+        }
+        done.await(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        return commands / seconds;
+    }
+}
@@ -0,0 +1,108 @@
+package project.back.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import project.back.dto.DiscountInfoDto;
+import project.back.entity.JoinMart;
+import project.back.entity.Product;
+import project.back.repository.JoinMartRepository;
+import project.back.repository.ProductRepository;
+import project.back.service.pricing.JoinMartBitsetIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 10만 상품 합성 카탈로그에서 GROUP BY/HAVING JPQL 과 비트셋 인덱스 비교
+ * 데이터는 트랜잭션 안에서 넣고 롤백한다. (./gradlew benchmarkTest)
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class JoinMartSellingAllBenchmarkTest {
+
+    private static final int PRODUCT_COUNT = 100_000;
+    private static final int JOIN_MART_COUNT = 20;
+    private static final int CART_SIZE = 20;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    JoinMartRepository joinMartRepository;
+    @Autowired
+    ProductRepository productRepository;
+
+    @Test
+    @DisplayName("모든 상품을 판매하는 조인마트 조회: JPQL vs 비트셋 인덱스")
+    void 조인마트_조회_비교() {
+        Random random = new Random(7);
+        List<Long> joinIds = new ArrayList<>();
+        for (int i = 0; i < JOIN_MART_COUNT; i++) {
+            joinIds.add(joinMartRepository.save(JoinMart.builder().store("bench-" + i).build()).getJoinId());
+        }
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Object[]{"bench-product-" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product (product_name) VALUES (?)", products);
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT product_id FROM product WHERE product_name LIKE 'bench-product-%'", Long.class);
+
+        List<Object[]> martProducts = new ArrayList<>();
+        List<DiscountInfoDto> rows = new ArrayList<>();
+        for (Long productId : productIds) {
+            for (Long joinId : joinIds) {
+                if (random.nextInt(10) < 9) {
+                    martProducts.add(new Object[]{1000L, joinId, productId});
+                    rows.add(new DiscountInfoDto(productId, null, joinId, null, 1000L, null));
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO mart_product (price, join_id, product_id) VALUES (?, ?, ?)", martProducts);
+        JoinMartBitsetIndex index = new JoinMartBitsetIndex();
+        index.rebuild(rows);
+
+        List<List<Long>> carts = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Long> cart = new ArrayList<>();
+            for (int i = 0; i < CART_SIZE; i++) {
+                cart.add(productIds.get(random.nextInt(productIds.size())));
+            }
+            carts.add(cart.stream().distinct().toList());
+        }
+
+        long jpqlNanos = 0L;
+        long indexNanos = 0L;
+        for (List<Long> cart : carts) {
+            List<Product> cartProducts = productRepository.findAllById(cart);
+
+            long start = System.nanoTime();
+            List<Long> fromQuery = joinMartRepository
+                    .findJoinMartsSellingAllProducts(cartProducts, (long) cartProducts.size()).stream()
+                    .map(JoinMart::getJoinId)
+                    .sorted()
+                    .toList();
+            jpqlNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Long> fromIndex = index.findJoinIdsSellingAll(cart);
+            indexNanos += System.nanoTime() - start;
+
+            assertThat(fromIndex).isEqualTo(fromQuery);
+        }
+
+        System.out.printf("[benchmark] products=%d, joinMarts=%d, cart=%d, rounds=%d%n",
+                PRODUCT_COUNT, JOIN_MART_COUNT, CART_SIZE, ROUNDS);
+        System.out.printf("[benchmark] JPQL GROUP BY/HAVING avg: %.1f us%n", jpqlNanos / 1000.0 / ROUNDS);
+        System.out.printf("[benchmark] bitset index avg: %.1f us%n", indexNanos / 1000.0 / ROUNDS);
+    }
+}
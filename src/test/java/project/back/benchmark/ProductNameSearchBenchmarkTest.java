@@ -0,0 +1,90 @@
+package project.back.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import project.back.dto.ProductSearchDto;
+import project.back.entity.Product;
+import project.back.repository.ProductRepository;
+import project.back.service.search.ProductNameIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 10만 상품 합성 카탈로그에서 상품 이름 검색: LIKE '%검색어%' vs n-gram 인덱스
+ * 데이터는 트랜잭션 안에서 넣고 롤백한다. (./gradlew benchmarkTest)
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class ProductNameSearchBenchmarkTest {
+
+    private static final int PRODUCT_COUNT = 100_000;
+    private static final int ROUNDS = 20;
+    private static final String[] WORDS = {
+            "유기농", "국산", "햇", "깐", "당근", "마늘", "양파", "감자", "고구마", "사과", "배", "대파", "쪽파", "오이",
+            "애호박", "브로콜리", "양배추", "시금치", "두부", "우유", "계란", "돼지고기", "소고기", "닭가슴살",
+            "1kg", "500g", "대용량", "특품", "세척", "무농약"};
+    private static final List<String> QUERIES = List.of(
+            "당근", "고구", "파", "시금치 1", "무농약 대파", "닭가슴살 5", "없는상품");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ProductRepository productRepository;
+
+    @Test
+    @DisplayName("상품 이름 검색: LIKE vs n-gram 인덱스")
+    void 상품_검색_비교() {
+        Random random = new Random(25);
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            StringBuilder name = new StringBuilder("bench");
+            for (int j = 0, words = 2 + random.nextInt(3); j < words; j++) {
+                name.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            products.add(new Object[]{name.append(' ').append(i).toString()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product (product_name) VALUES (?)", products);
+
+        ProductNameIndex index = new ProductNameIndex(productRepository);
+        List<Product> all = productRepository.findAll();
+        long start = System.nanoTime();
+        index.rebuild(all);
+        long buildNanos = System.nanoTime() - start;
+
+        System.out.printf("[benchmark] products=%d, rounds=%d, index build: %.1f ms%n",
+                all.size(), ROUNDS, buildNanos / 1_000_000.0);
+        for (String query : QUERIES) {
+            long sqlNanos = 0L;
+            long indexNanos = 0L;
+            int hits = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                start = System.nanoTime();
+                List<Long> fromQuery = productRepository.findAllByProductNameContaining(query).stream()
+                        .map(Product::getProductId)
+                        .toList();
+                sqlNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<Long> fromIndex = index.search(query).stream()
+                        .map(ProductSearchDto::getProductId)
+                        .toList();
+                indexNanos += System.nanoTime() - start;
+
+                assertThat(fromIndex).containsExactlyInAnyOrderElementsOf(fromQuery);
+                hits = fromIndex.size();
+            }
+            System.out.printf("[benchmark] '%s' hits=%d, LIKE avg: %.1f us, index avg: %.1f us%n",
+                    query, hits, sqlNanos / 1000.0 / ROUNDS, indexNanos / 1000.0 / ROUNDS);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package project.back.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import project.back.etc.commonException.NoContentFoundException;
+import project.back.service.image.ProductImage;
+import project.back.service.image.ProductImageCatalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductImageControllerTest {
+
+    private ProductImageController controller;
+    private ProductImage image;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ProductImageCatalog catalog = new ProductImageCatalog("");
+        controller = new ProductImageController(catalog);
+        image = catalog.findByFileName("carrot.jpeg").orElseThrow();
+        content = Files.readAllBytes(image.path());
+    }
+
+    @Test
+    @DisplayName("이미지 전체를 immutable 캐시 헤더, ETag 와 함께 전송")
+    void 전체_전송_테스트() throws IOException {
+        MockHttpServletResponse response = get(new MockHttpServletRequest());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(image.eTag());
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable", "max-age=31536000");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 같으면 본문 없이 304")
+    void 변경_없음_테스트() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, image.eTag());
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Range 한 구간은 206, 범위를 벗어나면 416, If-Range 가 다르면 전체")
+    void 범위_전송_테스트() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        MockHttpServletResponse partial = get(request);
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 10, 20));
+        assertThat(partial.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/" + content.length);
+
+        MockHttpServletRequest suffix = new MockHttpServletRequest();
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-5");
+        assertThat(get(suffix).getContentAsByteArray())
+                .isEqualTo(Arrays.copyOfRange(content, content.length - 5, content.length));
+
+        MockHttpServletRequest unsatisfiable = new MockHttpServletRequest();
+        unsatisfiable.addHeader(HttpHeaders.RANGE, "bytes=" + content.length + "-");
+        MockHttpServletResponse notSatisfied = get(unsatisfiable);
+        assertThat(notSatisfied.getStatus()).isEqualTo(416);
+        assertThat(notSatisfied.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + content.length);
+
+        MockHttpServletRequest staleIfRange = new MockHttpServletRequest();
+        staleIfRange.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        staleIfRange.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+        assertThat(get(staleIfRange).getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("sendfile 을 지원하면 본문 대신 파일 구간을 컨테이너에 넘김")
+    void sendfile_테스트() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(ProductImageController.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(request.getAttribute(ProductImageController.SENDFILE_FILENAME))
+                .isEqualTo(image.path().toAbsolutePath().toString());
+        assertThat(request.getAttribute(ProductImageController.SENDFILE_START)).isEqualTo(10L);
+        assertThat(request.getAttribute(ProductImageController.SENDFILE_END)).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("해시가 다르면 (이전 내용의 URL) 찾을 수 없음")
+    void 해시_불일치_테스트() {
+        assertThatThrownBy(() -> controller.getImage("0000000000000000", image.fileName(),
+                new MockHttpServletRequest(), new MockHttpServletResponse()))
+                .isInstanceOf(NoContentFoundException.class);
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws IOException {
+        request.setMethod("GET");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.getImage(image.hash(), image.fileName(), request, response);
+        return response;
+    }
+}
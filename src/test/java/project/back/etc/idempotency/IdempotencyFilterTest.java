@@ -0,0 +1,215 @@
+package project.back.etc.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import project.back.etc.RequestMemberMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IdempotencyFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger handled = new AtomicInteger();
+
+    /** 컨트롤러 대신 호출 횟수를 응답하는 체인 */
+    private final FilterChain created = (request, response) -> {
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"handled\":" + handled.incrementAndGet() + ",\"body\":" + body + "}");
+    };
+
+    @Test
+    @DisplayName("같은 키로 재시도하면 처리하지 않고 저장된 응답을 그대로 반환")
+    void 재시도_응답_테스트() throws Exception {
+        IdempotencyFilter filter = filter(redisBackedByMap());
+
+        MockHttpServletResponse first = post(filter, "key-1", "{\"productId\":1}", created);
+        MockHttpServletResponse retry = post(filter, "key-1", "{\"productId\":1}", created);
+
+        assertThat(handled).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(first.getStatus());
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 메모리 저장소로 재시도에 응답")
+    void Redis_장애_테스트() throws Exception {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(redisTemplate.delete(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        IdempotencyFilter filter = filter(redisTemplate);
+
+        MockHttpServletResponse first = post(filter, "key-1", "{\"productId\":1}", created);
+        MockHttpServletResponse retry = post(filter, "key-1", "{\"productId\":1}", created);
+
+        assertThat(handled).hasValue(1);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("다른 사용자, 다른 키, 헤더 없는 요청은 따로 처리")
+    void 범위_테스트() throws Exception {
+        IdempotencyFilter filter = filter(redisBackedByMap());
+
+        post(filter, "key-1", "{}", created);
+        MockHttpServletRequest otherMember = request("key-1", "{}");
+        otherMember.addHeader("Authorization", "Bearer other");
+        filter.doFilter(otherMember, new MockHttpServletResponse(), created);
+        post(filter, "key-2", "{}", created);
+        post(filter, null, "{}", created);
+        post(filter, null, "{}", created);
+
+        assertThat(handled).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("같은 회원이면 토큰이 바뀌어도 같은 키로 보고, 회원을 알 수 없으면 저장하지 않고 처리")
+    void 회원_범위_테스트() throws Exception {
+        IdempotencyFilter filter = filter(redisBackedByMap());
+
+        post(filter, "key-1", "{}", created);
+        MockHttpServletRequest reissued = request("key-1", "{}");
+        reissued.removeHeader("Authorization");
+        reissued.addHeader("Authorization", "Bearer member-reissued");
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(reissued, retry, created);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest invalid = request("key-2", "{}");
+            invalid.removeHeader("Authorization");
+            filter.doFilter(invalid, new MockHttpServletResponse(), created);
+        }
+
+        assertThat(handled).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("같은 키에 다른 본문이면 422, 처리 중이면 409, 실패 응답은 저장하지 않음")
+    void 예외_테스트() throws Exception {
+        IdempotencyFilter filter = filter(redisBackedByMap());
+
+        post(filter, "key-1", "{\"productId\":1}", created);
+        assertThat(post(filter, "key-1", "{\"productId\":2}", created).getStatus()).isEqualTo(422);
+
+        FilterChain concurrentRetry = (request, response) ->
+                assertThat(post(filter, "key-2", "{}", created).getStatus()).isEqualTo(409);
+        post(filter, "key-2", "{}", concurrentRetry);
+
+        FilterChain conflict = (request, response) -> ((jakarta.servlet.http.HttpServletResponse) response)
+                .setStatus(409);
+        post(filter, "key-3", "{}", conflict);
+        assertThat(post(filter, "key-3", "{}", created).getStatus()).isEqualTo(200);
+
+        assertThat(post(filter, " ", "{}", created).getStatus()).isEqualTo(400);
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("비동기로 본문을 읽는 컨트롤러도 미리 읽어 둔 본문을 ReadListener 로 받음")
+    void 비동기_본문_읽기_테스트() throws Exception {
+        IdempotencyFilter filter = filter(redisBackedByMap());
+        StringBuilder events = new StringBuilder();
+        FilterChain asyncReader = (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.append("data:").append(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.append(",done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.append(",error");
+                }
+            });
+        };
+
+        post(filter, "key-1", "{\"productId\":1}", asyncReader);
+
+        assertThat(events).hasToString("data:{\"productId\":1},done");
+    }
+
+    private IdempotencyFilter filter(RedisTemplate<String, Object> redisTemplate) {
+        return new IdempotencyFilter(new IdempotencyStore(redisTemplate, objectMapper, 60, 60, 100),
+                requestMemberMapper(), objectMapper);
+    }
+
+    /** "Bearer member*" 토큰은 회원 1, "Bearer other" 는 회원 2, 그 외는 유효하지 않은 토큰 */
+    private RequestMemberMapper requestMemberMapper() {
+        RequestMemberMapper requestMemberMapper = mock(RequestMemberMapper.class);
+        when(requestMemberMapper.RequestToMemberId(any())).thenAnswer(invocation -> {
+            String authorization = invocation.<HttpServletRequest>getArgument(0).getHeader("Authorization");
+            if (authorization != null && authorization.startsWith("Bearer member")) {
+                return 1L;
+            }
+            if ("Bearer other".equals(authorization)) {
+                return 2L;
+            }
+            throw new IllegalArgumentException("invalid token");
+        });
+        return requestMemberMapper;
+    }
+
+    private MockHttpServletResponse post(IdempotencyFilter filter, String key, String body, FilterChain chain)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, chain);
+        return response;
+    }
+
+    private MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/cart");
+        request.addHeader("Authorization", "Bearer member");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /** SET NX / GET / SET / DEL 을 맵으로 흉내 낸 RedisTemplate */
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, Object> redisBackedByMap() {
+        Map<String, Object> values = new HashMap<>();
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Object> operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        when(operations.setIfAbsent(anyString(), any(), any(Duration.class))).thenAnswer(invocation ->
+                values.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(operations.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(operations).set(anyString(), any(), any(Duration.class));
+        when(redisTemplate.delete(anyString())).thenAnswer(invocation ->
+                values.remove(invocation.<String>getArgument(0)) != null);
+        return redisTemplate;
+    }
+}
@@ -0,0 +1,81 @@
+package project.back.etc.pricing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixedPointPriceTest {
+
+    /** 기존 DiscountInfoDto 의 BigDecimal 최종가격 계산 */
+    private static long legacyFinalPrice(long price, BigDecimal discountRate) {
+        BigDecimal rate = (discountRate != null) ? discountRate : BigDecimal.ZERO;
+        BigDecimal discount = rate.divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        BigDecimal finalPrice = BigDecimal.valueOf(price).subtract(BigDecimal.valueOf(price).multiply(discount));
+        return finalPrice.setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static long fixedPointFinalPrice(long price, BigDecimal discountRate) {
+        return FixedPointPrice.finalPrice(price, FixedPointPrice.toBasisPoints(discountRate));
+    }
+
+    @Test
+    @DisplayName("DECIMAL(3,1) 할인율 전체 범위에서 기존 계산과 같은 최종가격")
+    void 컬럼_범위_전수_비교테스트() {
+        Random random = new Random(6);
+        for (int tenths = -999; tenths <= 999; tenths++) {
+            BigDecimal rate = BigDecimal.valueOf(tenths, 1);
+            for (int i = 0; i < 200; i++) {
+                long price = random.nextInt(1_000_000);
+                assertThat(fixedPointFinalPrice(price, rate))
+                        .as("price=%d, rate=%s", price, rate)
+                        .isEqualTo(legacyFinalPrice(price, rate));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("임의 정밀도 할인율과 큰 금액에서도 기존 계산과 같은 최종가격")
+    void 임의_할인율_비교테스트() {
+        Random random = new Random(60);
+        for (int i = 0; i < 200_000; i++) {
+            BigDecimal rate = BigDecimal.valueOf(random.nextInt(2_000_001) - 1_000_000, random.nextInt(5));
+            long price = Math.floorMod(random.nextLong(), 10_000_000_000L);
+            assertThat(fixedPointFinalPrice(price, rate))
+                    .as("price=%d, rate=%s", price, rate)
+                    .isEqualTo(legacyFinalPrice(price, rate));
+        }
+    }
+
+    @Test
+    @DisplayName("반올림 경계값")
+    void 반올림_경계테스트() {
+        long[] prices = {0L, 1L, 49L, 50L, 51L, 99L, 100L, 150L, 250L, 1005L, 9999L};
+        String[] rates = {"0", "0.5", "0.49", "0.499", "4.5", "4.499", "10.0", "12.5", "33.3", "50.0", "99.9", "100", "-0.5", "-12.5"};
+        for (long price : prices) {
+            for (String rate : rates) {
+                assertThat(fixedPointFinalPrice(price, new BigDecimal(rate)))
+                        .as("price=%d, rate=%s", price, rate)
+                        .isEqualTo(legacyFinalPrice(price, new BigDecimal(rate)));
+            }
+        }
+        assertThat(fixedPointFinalPrice(1000L, null)).isEqualTo(legacyFinalPrice(1000L, null));
+    }
+
+    @Test
+    @DisplayName("베이시스 포인트 <-> 할인율 변환")
+    void 베이시스_포인트_변환테스트() {
+        assertThat(FixedPointPrice.toBasisPoints(new BigDecimal("10.5"))).isEqualTo(1050);
+        assertThat(FixedPointPrice.toBasisPoints(null)).isZero();
+        assertThat(FixedPointPrice.toRate(1050)).isEqualTo(new BigDecimal("10.5"));
+        assertThat(FixedPointPrice.toRate(1234)).isEqualTo(new BigDecimal("12.34"));
+
+        BasisPointsConverter converter = new BasisPointsConverter();
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("15.0"))).isEqualTo(1500);
+        assertThat(converter.convertToDatabaseColumn(1500)).isEqualByComparingTo("15.0");
+    }
+}
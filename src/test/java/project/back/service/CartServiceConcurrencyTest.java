@@ -0,0 +1,120 @@
+package project.back.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.back.dto.CartDto;
+import project.back.etc.commonException.ConflictException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 기기에서 동시에 장바구니를 바꿀 때 변경분이 사라지거나 중복되지 않는지 (각 요청이 별도 트랜잭션으로 커밋됨)
+ */
+@SpringBootTest
+class CartServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 300;
+
+    @Autowired
+    CartService cartService;
+
+    private final Long memberId = 2L;
+    private final Long productId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        cartService.addProduct(CartDto.builder().productId(productId).build(), memberId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartService.deleteProduct(productId, memberId);
+    }
+
+    @Test
+    @DisplayName("동시 수량 증가 요청이 모두 반영된다")
+    void 동시_수량_증가_테스트() throws Exception {
+        List<Throwable> failures = runConcurrently(() -> cartService.plusQuantity(productId, memberId));
+
+        assertThat(failures).isEmpty();
+        assertThat(quantity()).isEqualTo(1L + REQUESTS);
+    }
+
+    @Test
+    @DisplayName("동시 수량 감소 요청은 1 아래로 내려가지 않는다")
+    void 동시_수량_감소_테스트() throws Exception {
+        cartService.updateQuantity(productId, 101L, memberId);
+
+        List<Throwable> failures = runConcurrently(() -> cartService.minusQuantity(productId, memberId));
+
+        assertThat(quantity()).isEqualTo(1L);
+        assertThat(failures).hasSize(REQUESTS - 100)
+                .allMatch(IllegalArgumentException.class::isInstance);
+    }
+
+    @Test
+    @DisplayName("같은 상품을 동시에 추가하면 한 번만 담기고 나머지는 ConflictException")
+    void 동시_상품_추가_테스트() throws Exception {
+        Long otherProductId = 2L;
+        try {
+            List<Throwable> failures = runConcurrently(() -> cartService.addProduct(
+                    CartDto.builder().productId(otherProductId).build(), memberId));
+
+            assertThat(failures).hasSize(REQUESTS - 1)
+                    .allMatch(ConflictException.class::isInstance);
+            assertThat(cartService.getCartsByMemberId(memberId).getData())
+                    .filteredOn(cartDto -> Objects.equals(cartDto.getProductId(), otherProductId))
+                    .hasSize(1);
+        } finally {
+            cartService.deleteProduct(otherProductId, memberId);
+        }
+    }
+
+    private List<Throwable> runConcurrently(Runnable request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    request.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long quantity() {
+        return cartService.getCartsByMemberId(memberId).getData().stream()
+                .filter(cartDto -> Objects.equals(cartDto.getProductId(), productId))
+                .findFirst()
+                .map(CartDto::getQuantity)
+                .orElseThrow();
+    }
+}
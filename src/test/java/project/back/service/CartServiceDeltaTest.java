@@ -0,0 +1,81 @@
+package project.back.service;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.back.dto.CartDeltaDto;
+import project.back.dto.CartDto;
+import project.back.service.cart.CartVersionRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 변경분 응답의 버전은 커밋 후에 정해지므로 테스트 트랜잭션 없이 실행하고 담은 상품을 직접 지운다.
+ */
+@SpringBootTest
+class CartServiceDeltaTest {
+
+    @Autowired
+    CartService cartService;
+    @Autowired
+    CartVersionRegistry cartVersionRegistry;
+
+    private final Long memberId = 2L;
+    private final Long productId = 3L;
+    private final Long otherProductId = 4L;
+
+    @AfterEach
+    void tearDown() {
+        cartService.getCartsByMemberId(memberId).getData().stream()
+                .map(CartDto::getProductId)
+                .filter(id -> id.equals(productId) || id.equals(otherProductId))
+                .forEach(id -> cartService.deleteProduct(id, memberId));
+    }
+
+    @Test
+    @DisplayName("변경 API 의 변경분 응답은 바뀐 상품 한 줄과 커밋된 장바구니 버전만 담는다")
+    void 변경분_응답_테스트() {
+        long before = cartVersionRegistry.current(memberId);
+
+        CartDeltaDto added = cartService.addProductDelta(CartDto.builder().productId(productId).build(), memberId)
+                .getData();
+        CartDeltaDto plused = cartService.plusQuantityDelta(productId, memberId).getData();
+
+        assertThat(added.getVersion()).isEqualTo(before + 1);
+        assertThat(added.getLines()).extracting(CartDto::getProductId, CartDto::getQuantity)
+                .containsExactly(tuple(productId, 1L));
+        assertThat(plused.getVersion()).isEqualTo(before + 2);
+        assertThat(plused.getLines()).extracting(CartDto::getProductId, CartDto::getQuantity)
+                .containsExactly(tuple(productId, 2L));
+        assertThat(plused.getLineCount()).isEqualTo(cartService.getCartsByMemberId(memberId).getData().size());
+    }
+
+    @Test
+    @DisplayName("sinceVersion 이후 바뀐 상품과 삭제된 상품만 응답하고, 모르는 버전이면 장바구니 전체를 응답")
+    void 변경분_조회_테스트() {
+        cartService.addProduct(CartDto.builder().productId(productId).build(), memberId);
+        cartService.addProduct(CartDto.builder().productId(otherProductId).build(), memberId);
+        long since = cartVersionRegistry.current(memberId);
+
+        cartService.plusQuantity(productId, memberId);
+        cartService.deleteProduct(otherProductId, memberId);
+        CartDeltaDto changes = cartService.getCartChanges(memberId, since).getData();
+
+        assertThat(changes.getFull()).isFalse();
+        assertThat(changes.getVersion()).isEqualTo(since + 2);
+        assertThat(changes.getLines()).extracting(CartDto::getProductId, CartDto::getQuantity)
+                .containsExactly(tuple(productId, 2L));
+        assertThat(changes.getRemovedProductIds()).containsExactly(otherProductId);
+
+        CartDeltaDto unknown = cartService.getCartChanges(memberId, since + 100).getData();
+        List<CartDto> cart = cartService.getCartsByMemberId(memberId).getData();
+
+        assertThat(unknown.getFull()).isTrue();
+        assertThat(unknown.getLines()).isEqualTo(cart);
+        assertThat(unknown.getLineCount()).isEqualTo(cart.size());
+    }
+}
@@ -0,0 +1,119 @@
+package project.back.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.stream.LongStream;
+import project.back.dto.CartDto;
+import project.back.dto.CartOperationDto;
+import project.back.etc.cart.enums.CartOperationType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class CartServiceQueryCountTest {
+
+    /** 회원 조회 + 장바구니 목록 조회 */
+    private static final long EXPECTED_GET_STATEMENTS = 2L;
+    /** 회원 조회 + 장바구니 DELETE 한 번 */
+    private static final long EXPECTED_DELETE_ALL_STATEMENTS = 2L;
+
+    @Autowired
+    CartService cartService;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final Long memberId = 1L;
+    private final Long firstProductId = 2L;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        cartService.addProduct(CartDto.builder().productId(firstProductId).build(), memberId);
+    }
+
+    @Test
+    @DisplayName("장바구니 목록 조회는 장바구니 크기와 관계없이 같은 수의 쿼리를 실행한다")
+    void 장바구니_조회_쿼리수_테스트() {
+        long smallCartStatements = countStatements(() -> cartService.getCartsByMemberId(memberId));
+
+        addProducts();
+        long largeCartStatements = countStatements(() -> cartService.getCartsByMemberId(memberId));
+
+        assertThat(smallCartStatements).isEqualTo(EXPECTED_GET_STATEMENTS);
+        assertThat(largeCartStatements).isEqualTo(EXPECTED_GET_STATEMENTS);
+    }
+
+    @Test
+    @DisplayName("장바구니 수량 변경 후 목록 응답도 장바구니 크기와 관계없이 같은 수의 쿼리를 실행한다")
+    void 수량_변경_쿼리수_테스트() {
+        long smallCartStatements = countStatements(() -> cartService.plusQuantity(firstProductId, memberId));
+
+        addProducts();
+        long largeCartStatements = countStatements(() -> cartService.plusQuantity(firstProductId, memberId));
+
+        assertThat(largeCartStatements).isEqualTo(smallCartStatements);
+    }
+
+    @Test
+    @DisplayName("장바구니 일괄 변경은 연산 수와 관계없이 같은 수의 쿼리를 실행한다")
+    void 일괄_변경_쿼리수_테스트() {
+        addProducts();
+        long fewOperationStatements = countStatements(() -> cartService.applyOperations(
+                List.of(setQuantity(firstProductId, 2L)), memberId));
+        long manyOperationStatements = countStatements(() -> cartService.applyOperations(
+                LongStream.rangeClosed(firstProductId, 21L).mapToObj(productId -> setQuantity(productId, 3L)).toList(),
+                memberId));
+
+        assertThat(manyOperationStatements).isEqualTo(fewOperationStatements);
+    }
+
+    @Test
+    @DisplayName("장바구니 비우기는 장바구니 크기와 관계없이 같은 수의 쿼리를 실행한다")
+    void 전체_삭제_쿼리수_테스트() {
+        long smallCartStatements = countStatements(() -> cartService.deleteAllProduct(memberId));
+
+        cartService.addProduct(CartDto.builder().productId(firstProductId).build(), memberId);
+        addProducts();
+        long largeCartStatements = countStatements(() -> cartService.deleteAllProduct(memberId));
+
+        assertThat(smallCartStatements).isEqualTo(EXPECTED_DELETE_ALL_STATEMENTS);
+        assertThat(largeCartStatements).isEqualTo(EXPECTED_DELETE_ALL_STATEMENTS);
+    }
+
+    private CartOperationDto setQuantity(Long productId, Long quantity) {
+        return CartOperationDto.builder()
+                .type(CartOperationType.SET)
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+
+    private void addProducts() {
+        for (long productId = firstProductId + 1; productId <= 21L; productId++) {
+            cartService.addProduct(CartDto.builder().productId(productId).build(), memberId);
+        }
+    }
+
+    private long countStatements(Runnable cartCall) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        cartCall.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+}
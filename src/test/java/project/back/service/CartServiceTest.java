@@ -16,8 +16,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import project.back.dto.ApiResponse;
 import project.back.dto.CartDto;
+import project.back.dto.CartOperationDto;
 import project.back.dto.ProductSearchDto;
 import project.back.entity.Product;
+import project.back.etc.cart.enums.CartOperationType;
 import project.back.etc.commonException.ConflictException;
 import project.back.etc.commonException.NoContentFoundException;
 import project.back.repository.ProductRepository;
@@ -228,4 +230,63 @@ class CartServiceTest {
 
         assertThat(resultSize).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("장바구니 일괄 변경 테스트: 요청 순서대로 적용")
+    @Transactional
+    void 일괄_변경_테스트() {
+        Long otherProductId = 2L;
+        cartService.addProduct(commonCartDto, commonMemberId);
+        List<CartOperationDto> operations = List.of(
+                operation(CartOperationType.SET, commonProductId, 5L, null),
+                operation(CartOperationType.DELTA, commonProductId, null, -2L),
+                operation(CartOperationType.ADD, otherProductId, 3L, null),
+                operation(CartOperationType.DELTA, otherProductId, null, 1L));
+
+        List<CartDto> result = cartService.applyOperations(operations, commonMemberId).getData();
+
+        assertThat(quantityOf(result, commonProductId)).isEqualTo(3L);
+        assertThat(quantityOf(result, otherProductId)).isEqualTo(4L);
+
+        List<CartDto> deleted = cartService.applyOperations(
+                List.of(operation(CartOperationType.DELETE, otherProductId, null, null)), commonMemberId).getData();
+
+        assertThat(deleted).noneMatch(c -> Objects.equals(c.getProductId(), otherProductId));
+    }
+
+    @Test
+    @DisplayName("장바구니 일괄 변경 예외 테스트: 하나라도 실패하면 아무것도 반영하지 않음")
+    @Transactional
+    void 일괄_변경_예외_테스트() {
+        Long otherProductId = 2L;
+        cartService.addProduct(commonCartDto, commonMemberId);
+        List<CartOperationDto> operations = List.of(
+                operation(CartOperationType.SET, commonProductId, 5L, null),
+                operation(CartOperationType.ADD, otherProductId, null, null),
+                operation(CartOperationType.DELTA, commonProductId, null, -5L));
+
+        assertThatThrownBy(() -> cartService.applyOperations(operations, commonMemberId))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        List<CartDto> result = cartService.getCartsByMemberId(commonMemberId).getData();
+        assertThat(quantityOf(result, commonProductId)).isEqualTo(1L);
+        assertThat(result).noneMatch(c -> Objects.equals(c.getProductId(), otherProductId));
+    }
+
+    private CartOperationDto operation(CartOperationType type, Long productId, Long quantity, Long delta) {
+        return CartOperationDto.builder()
+                .type(type)
+                .productId(productId)
+                .quantity(quantity)
+                .delta(delta)
+                .build();
+    }
+
+    private Long quantityOf(List<CartDto> carts, Long productId) {
+        return carts.stream()
+                .filter(c -> Objects.equals(c.getProductId(), productId))
+                .findFirst()
+                .map(CartDto::getQuantity)
+                .orElseThrow();
+    }
+}
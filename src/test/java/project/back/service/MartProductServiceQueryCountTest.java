@@ -0,0 +1,68 @@
+package project.back.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import project.back.dto.CartDto;
+import project.back.service.cart.CartVersionRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MartProductServiceQueryCountTest {
+
+    /** 회원 조회 + 장바구니 조회 */
+    private static final long EXPECTED_STATEMENTS = 2L;
+
+    @Autowired
+    MartProductService martProductService;
+    @Autowired
+    CartService cartService;
+    @Autowired
+    CartVersionRegistry cartVersionRegistry;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final Long memberId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("마트별 합계 조회는 장바구니 크기와 관계없이 같은 수의 쿼리를 실행한다")
+    void 마트별_합계_쿼리수_테스트() {
+        long smallCartStatements = countStatements();
+
+        for (long productId = 2L; productId <= 21L; productId++) {
+            cartService.addProduct(CartDto.builder().productId(productId).build(), memberId);
+        }
+        long largeCartStatements = countStatements();
+
+        assertThat(smallCartStatements).isEqualTo(EXPECTED_STATEMENTS);
+        assertThat(largeCartStatements).isEqualTo(EXPECTED_STATEMENTS);
+    }
+
+    private long countStatements() {
+        // 테스트 트랜잭션은 커밋되지 않으므로 커밋 후 증가하는 장바구니 버전을 직접 올려 캐시를 우회한다
+        cartVersionRegistry.bump(memberId);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        martProductService.findMartsByProductIds(memberId);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -5,27 +5,43 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import project.back.dto.ApiResponse;
 import project.back.dto.CartProductDto;
 import project.back.dto.DiscountInfoDto;
+import project.back.dto.MartCoverageDto;
 import project.back.dto.ProductAndDiscountDataDto;
+import project.back.dto.SplitBasketDto;
 import project.back.entity.*;
+import project.back.etc.commonException.BadRequestException;
 import project.back.etc.commonException.NoContentFoundException;
 import project.back.etc.martproduct.MartAndProductMessage;
 import project.back.repository.*;
 import project.back.repository.memberrepository.MemberRepository;
+import project.back.service.cart.CartBatchWriter;
+import project.back.service.cart.CartVersionRegistry;
+import project.back.service.cart.InMemoryCartVersionOperations;
+import project.back.service.cart.JpaCartStore;
+import project.back.service.pricing.JoinMartBitsetIndex;
+import project.back.service.pricing.JoinMartMartIndex;
+import project.back.service.pricing.MartSellingCache;
+import project.back.service.pricing.MemberBasketTotals;
+import project.back.service.pricing.PriceMatrix;
+import project.back.service.pricing.PriceMatrixEngine;
+import project.back.service.pricing.PriceMatrixRebuiltEvent;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +51,8 @@ class MartProductServiceTest {
     @Mock
     private CartRepository cartRepository;
     @Mock
+    private CartBatchWriter cartBatchWriter;
+    @Mock
     private ProductRepository productRepository;
     @Mock
     private JoinMartRepository joinMartRepository;
@@ -42,11 +60,22 @@ class MartProductServiceTest {
     private MartRepository martRepository;
     @Mock
     private MemberRepository memberRepository;
-    @InjectMocks
+    @Mock
+    private PriceMatrixEngine priceMatrixEngine;
+    @Mock
+    private JoinMartMartIndex joinMartMartIndex;
+    @Spy
+    private JoinMartBitsetIndex joinMartBitsetIndex = new JoinMartBitsetIndex();
+    @Spy
+    private MartSellingCache martSellingCache = new MartSellingCache();
+    @Spy
+    private CartVersionRegistry cartVersionRegistry = new CartVersionRegistry(new InMemoryCartVersionOperations());
+    private MemberBasketTotals memberBasketTotals;
     private MartProductService martProductService;
 
     private Member member;
     private ProductAndDiscountDataDto mockloadData;
+    private PriceMatrix priceMatrix;
     private Map<Long, Long> expectedTotalFinalPrice;
     private final Long memberId = 1L;
     private final Long martAId = 1L;
@@ -57,6 +86,13 @@ class MartProductServiceTest {
     private final Long productBId = 2L;
     @BeforeEach
     void 초기_설정() {
+        martSellingCache.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(1L, 0L));
+        memberBasketTotals = new MemberBasketTotals(
+                priceMatrixEngine, joinMartBitsetIndex, martSellingCache, cartVersionRegistry);
+        martProductService = new MartProductService(martProductRepository,
+                new JpaCartStore(cartRepository, cartBatchWriter), memberRepository, priceMatrixEngine, joinMartBitsetIndex, joinMartMartIndex, martSellingCache,
+                cartVersionRegistry, memberBasketTotals);
+
         member = Mockito.mock(Member.class);
         when(member.getMemberId()).thenReturn(memberId);
 
@@ -66,10 +102,10 @@ class MartProductServiceTest {
         Mart martB = Mart.builder().id(martBId).joinMart(joinB).build();
         Product product1 = Product.builder().productId(productAId).productName("자유시간").productImgUrl("/freetime.jpeg").build();
         Product product2 = Product.builder().productId(productBId).productName("아이스티").productImgUrl("/null.png").build();
-        DiscountInfoDto dto1 = new DiscountInfoDto(productAId, "자유시간", joinAId, null, 1000L, BigDecimal.valueOf(10.0));
+        DiscountInfoDto dto1 = new DiscountInfoDto(productAId, "자유시간", joinAId, null, 1000L, 1000);
         DiscountInfoDto dto2 = new DiscountInfoDto(productAId, "자유시간", joinBId, null, 900L, null);
         DiscountInfoDto dto3 = new DiscountInfoDto(productBId, "아이스티", joinAId, null, 2000L, null);
-        DiscountInfoDto dto4 = new DiscountInfoDto(productBId, "아이스티", joinBId, null, 2500L, BigDecimal.valueOf(15.0));
+        DiscountInfoDto dto4 = new DiscountInfoDto(productBId, "아이스티", joinBId, null, 2500L, 1500);
 
         List<CartProductDto> cartProductList = List.of(
                 new CartProductDto(3L, member.getMemberId(), productAId),
@@ -83,6 +119,8 @@ class MartProductServiceTest {
                 .thenReturn(List.of(dto1, dto2, dto3, dto4));
 
         mockloadData = new ProductAndDiscountDataDto(productList, List.of(dto1, dto2, dto3, dto4), cartProductList);
+        priceMatrix = PriceMatrix.build(1L, List.of(productAId, productBId), List.of(dto1, dto2, dto3, dto4));
+        joinMartBitsetIndex.rebuild(List.of(dto1, dto2, dto3, dto4));
         expectedTotalFinalPrice = Map.of(
                 martA.getId(), 6700L,
                 martB.getId(), 6950L
@@ -93,10 +131,9 @@ class MartProductServiceTest {
     void 마트별_합계금액_출력테스트() {
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
         when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
-        when(productRepository.findById(productAId)).thenReturn(Optional.of(mockloadData.getProductList().get(0)));
-        when(productRepository.findById(productBId)).thenReturn(Optional.of(mockloadData.getProductList().get(1)));
-        when(martRepository.findByJoinMartJoinId(joinAId)).thenReturn(List.of(Mart.builder().id(martAId).build()));
-        when(martRepository.findByJoinMartJoinId(joinBId)).thenReturn(List.of(Mart.builder().id(martBId).build()));
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findMartIds(joinAId)).thenReturn(List.of(martAId));
+        when(joinMartMartIndex.findMartIds(joinBId)).thenReturn(List.of(martBId));
 
         ApiResponse<Map<Long, Long>> response = martProductService.findMartsByProductIds(memberId);
 
@@ -105,22 +142,203 @@ class MartProductServiceTest {
     }
 
     @Test
-    void 마트별_세부사항_출력테스트() {
+    @DisplayName("장바구니 버전이 같으면 캐시된 합계를 반환하고, 버전이 바뀌면 다시 계산")
+    void 마트별_합계금액_캐시테스트() {
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
         when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
-        when(productRepository.findById(productAId)).thenReturn(Optional.of(mockloadData.getProductList().get(0)));
-        when(productRepository.findById(productBId)).thenReturn(Optional.of(mockloadData.getProductList().get(1)));
-        when(martRepository.findJoinIdByMartId(martAId)).thenReturn(Optional.of(joinAId));
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findMartIds(joinAId)).thenReturn(List.of(martAId));
+        when(joinMartMartIndex.findMartIds(joinBId)).thenReturn(List.of(martBId));
 
-        ApiResponse<List<DiscountInfoDto>> response = martProductService.findMartInfoByMartId(martAId, memberId);
+        String eTag = martProductService.findCartETag(memberId);
+        martProductService.findMartsByProductIds(memberId);
+        ApiResponse<Map<Long, Long>> cached = martProductService.findMartsByProductIds(memberId);
+
+        assertThat(cached.getData()).isEqualTo(expectedTotalFinalPrice);
+        assertThat(martProductService.findCartETag(memberId)).isEqualTo(eTag);
+        verify(cartRepository, times(1)).findCartsByMember(member);
+
+        cartVersionRegistry.bump(memberId);
+        martProductService.findMartsByProductIds(memberId);
+
+        assertThat(martProductService.findCartETag(memberId)).isNotEqualTo(eTag);
+        verify(cartRepository, times(2)).findCartsByMember(member);
+    }
+
+    @Test
+    @DisplayName("ETag 는 공유 버전만으로 만들어 다른 인스턴스에서도 같고, 가격 데이터가 바뀌면 달라짐")
+    void 인스턴스_간_ETag_테스트() {
+        String eTag = martProductService.findCartETag(memberId);
+        MartSellingCache otherInstance = new MartSellingCache();
+        otherInstance.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(7L, 0L));
 
+        assertThat(otherInstance.eTag(otherInstance.key(memberId, cartVersionRegistry.current(memberId))))
+                .isEqualTo(eTag);
+
+        martSellingCache.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(2L, 1L));
+        assertThat(martProductService.findCartETag(memberId)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @DisplayName("커밋된 장바구니 변경은 유지 중인 합계에 증분 반영되어 장바구니를 다시 읽지 않음")
+    void 마트별_합계금액_증분테스트() {
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
+        when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findMartIds(joinAId)).thenReturn(List.of(martAId));
+        when(joinMartMartIndex.findMartIds(joinBId)).thenReturn(List.of(martBId));
+
+        martProductService.findMartsByProductIds(memberId);
+        memberBasketTotals.onLineChanged(memberId, productAId, 4L, cartVersionRegistry.bump(memberId));
+        ApiResponse<Map<Long, Long>> updated = martProductService.findMartsByProductIds(memberId);
+
+        assertThat(updated.getData()).isEqualTo(Map.of(martAId, 7600L, martBId, 7850L));
+        verify(cartRepository, times(1)).findCartsByMember(member);
+
+        memberBasketTotals.onCleared(memberId, cartVersionRegistry.bump(memberId));
+        NoContentFoundException e = assertThrows(NoContentFoundException.class,
+                () -> martProductService.findMartsByProductIds(memberId));
+        assertThat(e.getMessage()).isEqualTo(MartAndProductMessage.EMPTY_CART.getMessage());
+    }
+
+    @Test
+    @DisplayName("여러 장바구니를 한 번에 비교하고 장바구니 테이블은 읽지 않음")
+    void 여러_장바구니_비교테스트() {
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findMartIds(joinAId)).thenReturn(List.of(martAId));
+        when(joinMartMartIndex.findMartIds(joinBId)).thenReturn(List.of(martBId));
+
+        ApiResponse<List<Map<Long, Long>>> response = martProductService.compareBaskets(List.of(
+                Map.of(productAId, 1L),
+                Map.of(productAId, 3L, productBId, 2L),
+                Map.of(99L, 1L)));
+
+        assertThat(response.getData()).containsExactly(
+                Map.of(martAId, 900L, martBId, 900L),
+                expectedTotalFinalPrice,
+                Map.of());
+        assertThat(response.getMessage()).isEqualTo(MartAndProductMessage.LOADED_BASKET_COMPARISON.getMessage());
+        verify(priceMatrixEngine, times(1)).current();
+        verifyNoInteractions(cartRepository, memberRepository);
+    }
+
+    @Test
+    void 마트별_세부사항_출력테스트() {
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
+        when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findJoinId(martAId)).thenReturn(Optional.of(joinAId));
         List<DiscountInfoDto> filteredDiscountInfo = mockloadData.getDiscountInfoList().stream()
                 .filter(dto -> dto.getJoinId().equals(1L))
                 .toList();
+        when(martProductRepository.findDiscountsByProductIdsAndJoinIds(anyCollection(), eq(List.of(joinAId))))
+                .thenReturn(filteredDiscountInfo);
+
+        ApiResponse<List<DiscountInfoDto>> response = martProductService.findMartInfoByMartId(martAId, memberId);
+
         assertThat(response.getData()).isEqualTo(filteredDiscountInfo);
         assertThat(response.getMessage()).isEqualTo(MartAndProductMessage.LOADED_MART_DETAILS.getMessage());
     }
 
+    @Test
+    @DisplayName("여러 마트의 세부사항을 한 번의 쿼리로 조회")
+    void 여러_마트_세부사항_출력테스트() {
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
+        when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findJoinId(martAId)).thenReturn(Optional.of(joinAId));
+        when(joinMartMartIndex.findJoinId(martBId)).thenReturn(Optional.of(joinBId));
+        when(martProductRepository.findDiscountsByProductIdsAndJoinIds(anyCollection(), anyCollection()))
+                .thenReturn(mockloadData.getDiscountInfoList());
+
+        ApiResponse<Map<Long, List<DiscountInfoDto>>> response =
+                martProductService.findMartInfosByMartIds(List.of(martAId, martBId), memberId);
+
+        List<DiscountInfoDto> all = mockloadData.getDiscountInfoList();
+        assertThat(response.getData().get(martAId)).containsExactly(all.get(0), all.get(2));
+        assertThat(response.getData().get(martBId)).containsExactly(all.get(1), all.get(3));
+        verify(martProductRepository, times(1)).findDiscountsByProductIdsAndJoinIds(anyCollection(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("일부 상품만 판매하는 마트도 판매 상품 수, 합계 순으로 반환")
+    void 부분_판매_마트_비교테스트() {
+        Long productCId = 3L;
+        List<CartProductDto> cartProductList = List.of(
+                new CartProductDto(3L, memberId, productAId),
+                new CartProductDto(2L, memberId, productBId),
+                new CartProductDto(1L, memberId, productCId));
+        List<DiscountInfoDto> rows = new ArrayList<>(mockloadData.getDiscountInfoList());
+        rows.add(new DiscountInfoDto(productCId, "콜라", 5L, null, 1500L, null));
+        joinMartBitsetIndex.rebuild(rows);
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
+        when(cartRepository.findCartsByMember(member)).thenReturn(cartProductList);
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findMartIds(joinAId)).thenReturn(List.of(martAId));
+        when(joinMartMartIndex.findMartIds(joinBId)).thenReturn(List.of(martBId));
+
+        List<MartCoverageDto> ranked = martProductService.findMartsByCoverage(null, 10, memberId).getData();
+
+        assertThat(ranked).containsExactly(
+                new MartCoverageDto(martAId, 2, List.of(productCId), 6700L),
+                new MartCoverageDto(martBId, 2, List.of(productCId), 6950L));
+    }
+
+    @Test
+    @DisplayName("부분 판매 비교는 limit 개수와 요청한 마트로 제한")
+    void 부분_판매_마트_제한테스트() {
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
+        when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findMartIds(joinAId)).thenReturn(List.of(martAId));
+        when(joinMartMartIndex.findMartIds(joinBId)).thenReturn(List.of(martBId));
+
+        List<MartCoverageDto> top = martProductService.findMartsByCoverage(null, 1, memberId).getData();
+        List<MartCoverageDto> onlyB = martProductService.findMartsByCoverage(List.of(martBId), 10, memberId).getData();
+
+        assertThat(top).extracting(MartCoverageDto::getMartId).containsExactly(martAId);
+        assertThat(onlyB).extracting(MartCoverageDto::getMartId).containsExactly(martBId);
+        assertThat(onlyB.get(0).getMissingProductIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("두 마트에 나눠 사는 쪽이 싸면 마트별 구매 상품을 나눠 반환")
+    void 마트_분할_구매테스트() {
+        PriceMatrix splitMatrix = PriceMatrix.build(2L, List.of(productAId, productBId), List.of(
+                new DiscountInfoDto(productAId, "자유시간", joinAId, null, 1000L, null),
+                new DiscountInfoDto(productAId, "자유시간", joinBId, null, 800L, null),
+                new DiscountInfoDto(productBId, "아이스티", joinAId, null, 2000L, null),
+                new DiscountInfoDto(productBId, "아이스티", joinBId, null, 2500L, null)));
+        when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
+        when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
+        when(priceMatrixEngine.current()).thenReturn(splitMatrix);
+        when(joinMartMartIndex.findMartIds(joinAId)).thenReturn(List.of(martAId));
+        when(joinMartMartIndex.findMartIds(joinBId)).thenReturn(List.of(martBId));
+
+        SplitBasketDto split = martProductService.findSplitBasket(null, 2, 0L, memberId).getData();
+        SplitBasketDto single = martProductService.findSplitBasket(null, 2, 1000L, memberId).getData();
+
+        assertThat(split.getTotalPrice()).isEqualTo(6400L);
+        assertThat(split.getStores()).containsExactly(
+                new SplitBasketDto.StorePurchase(List.of(martAId), List.of(productBId), 4000L),
+                new SplitBasketDto.StorePurchase(List.of(martBId), List.of(productAId), 2400L));
+        assertThat(split.getOptimal()).isTrue();
+        assertThat(single.getStores()).extracting(SplitBasketDto.StorePurchase::getMartIds)
+                .containsExactly(List.of(martAId));
+        assertThat(single.getTotalPrice()).isEqualTo(7000L);
+    }
+
+    @Test
+    @DisplayName("최대 마트 수나 마트 추가 비용이 범위를 벗어나면 장바구니를 읽지 않고 예외")
+    void 마트_분할_범위_예외테스트() {
+        assertThrows(BadRequestException.class, () -> martProductService.findSplitBasket(null, 0, 0L, memberId));
+        assertThrows(BadRequestException.class, () -> martProductService.findSplitBasket(null, 4, 0L, memberId));
+        assertThrows(BadRequestException.class, () -> martProductService.findSplitBasket(null, 2, -1L, memberId));
+        assertThrows(BadRequestException.class, () -> martProductService.findSplitBasket(
+                null, 3, Long.MAX_VALUE / 2 + 1, memberId));
+        verifyNoInteractions(cartRepository, memberRepository);
+    }
+
     @Test
     @DisplayName("사용자 정보를 찾을 수 없는 경우")
     void 회원_정보_예외테스트() {
@@ -147,8 +365,7 @@ class MartProductServiceTest {
     void 장바구니_상품정보_예외테스트() {
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
         when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
-        when(productRepository.findById(productAId)).thenReturn(Optional.empty());
-        when(productRepository.findById(productBId)).thenReturn(Optional.empty());
+        when(priceMatrixEngine.current()).thenReturn(PriceMatrix.empty());
 
         NoContentFoundException e = assertThrows(NoContentFoundException.class,
                 () -> martProductService.findMartsByProductIds(memberId));
@@ -160,9 +377,8 @@ class MartProductServiceTest {
     void 마트_상세정보_예외테스트() {
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
         when(cartRepository.findCartsByMember(member)).thenReturn(mockloadData.getCartProductList());
-        when(productRepository.findById(productAId)).thenReturn(Optional.of(mockloadData.getProductList().get(0)));
-        when(productRepository.findById(productBId)).thenReturn(Optional.of(mockloadData.getProductList().get(1)));
-        when(martRepository.findJoinIdByMartId(martAId)).thenReturn(Optional.empty());
+        when(priceMatrixEngine.current()).thenReturn(priceMatrix);
+        when(joinMartMartIndex.findJoinId(martAId)).thenReturn(Optional.empty());
 
         EntityNotFoundException e = assertThrows(EntityNotFoundException.class,
                 () -> martProductService.findMartInfoByMartId(martAId, memberId));
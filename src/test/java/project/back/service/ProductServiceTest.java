@@ -4,7 +4,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import project.back.dto.ApiResponse;
@@ -13,7 +12,10 @@ import project.back.entity.Product;
 import project.back.etc.commonException.NoContentFoundException;
 import project.back.etc.martproduct.MartAndProductMessage;
 import project.back.repository.ProductRepository;
+import project.back.service.image.Base64ImageCache;
+import project.back.service.image.ProductImageCatalog;
 
+import java.io.IOException;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,14 +26,17 @@ import static org.mockito.Mockito.*;
 class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
-    @InjectMocks
+    private ProductImageCatalog productImageCatalog;
     private ProductService productService;
 
     private Product product1;
     private Product product2;
 
     @BeforeEach
-    void 초기_설정() {
+    void 초기_설정() throws IOException {
+        productImageCatalog = new ProductImageCatalog("");
+        productService = new ProductService(productRepository, productImageCatalog,
+                new Base64ImageCache(productImageCatalog, 64L * 1024 * 1024));
         product1 = Product.builder().productId(1L).productName("자유시간").productImgUrl("/freetime.jpeg").build();
         product2 = Product.builder().productId(2L).productName("아이스티").productImgUrl("/null.png").build();
     }
@@ -45,11 +50,24 @@ class ProductServiceTest {
         assertThat(response.getData()).hasSize(2);
         assertThat(response.getData().get(0).getProductName()).isEqualTo("자유시간");
         assertThat(response.getData().get(1).getProductName()).isEqualTo("아이스티");
-        assertThat(response.getData().get(0).getProductImgUrl()).startsWith("data:image/jpeg;base64,");
-        assertThat(response.getData().get(1).getProductImgUrl()).startsWith("data:image/jpeg;base64,");
+        assertThat(response.getData().get(0).getProductImgUrl())
+                .isEqualTo(productImageCatalog.findByFileName("freetime.jpeg").orElseThrow().url())
+                .matches("/images/[0-9a-f]{16}/freetime\\.jpeg");
+        assertThat(response.getData().get(1).getProductImgUrl()).matches("/images/[0-9a-f]{16}/null\\.png");
         assertThat(response.getMessage()).isEqualTo(MartAndProductMessage.LOADED_PRODUCT.getMessage());
    }
 
+    @Test
+    @DisplayName("호환 모드는 이미지를 Base64 로 담음")
+    void 상품_목록_Base64_출력테스트() {
+        when(productRepository.findAll()).thenReturn(List.of(product1, product2));
+
+        ApiResponse<List<ProductDto>> response = productService.findAllProductDtosWithBase64Images();
+
+        assertThat(response.getData().get(0).getProductImgUrl()).startsWith("data:image/jpeg;base64,");
+        assertThat(response.getData().get(1).getProductImgUrl()).startsWith("data:image/jpeg;base64,");
+    }
+
     @Test
     @DisplayName("상품 목록이 비어있는 경우")
     void 상품_목록_예외테스트() {
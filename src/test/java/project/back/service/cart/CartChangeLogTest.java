@@ -0,0 +1,63 @@
+package project.back.service.cart;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CartChangeLogTest {
+
+    private static final Long MEMBER_ID = 1L;
+
+    private CartChangeLog cartChangeLog;
+
+    @BeforeEach
+    void setUp() {
+        cartChangeLog = new CartChangeLog();
+    }
+
+    @Test
+    @DisplayName("요청한 버전 이후 바뀐 상품만 모아서 반환 (커밋 순서와 기록 순서가 달라도 됨)")
+    void 변경분_조회_테스트() {
+        cartChangeLog.record(MEMBER_ID, 1L, List.of(10L));
+        cartChangeLog.record(MEMBER_ID, 3L, List.of(12L));
+        cartChangeLog.record(MEMBER_ID, 2L, List.of(10L, 11L));
+
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 1L, 3L)).contains(Set.of(10L, 11L, 12L));
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 2L, 3L)).contains(Set.of(12L));
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 3L, 3L)).contains(Set.of());
+    }
+
+    @Test
+    @DisplayName("기록이 빠졌거나 전체 삭제가 있었거나 버전이 맞지 않으면 변경분을 알 수 없음")
+    void 변경분_없음_테스트() {
+        cartChangeLog.record(MEMBER_ID, 1L, List.of(10L));
+        cartChangeLog.record(MEMBER_ID, 3L, List.of(11L));
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 0L, 3L)).isEmpty();
+
+        cartChangeLog.record(MEMBER_ID, 2L, List.of(11L));
+        cartChangeLog.recordCleared(MEMBER_ID, 4L);
+        cartChangeLog.record(MEMBER_ID, 5L, List.of(10L));
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 3L, 5L)).isEmpty();
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 4L, 5L)).contains(Set.of(10L));
+
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 6L, 5L)).isEmpty();
+        assertThat(cartChangeLog.changedSince(2L, 0L, 1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("회원마다 최근 버전만 보관")
+    void 오래된_기록_삭제_테스트() {
+        for (long version = 1; version <= 100; version++) {
+            cartChangeLog.record(MEMBER_ID, version, List.of(version));
+        }
+
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 0L, 100L)).isEmpty();
+        assertThat(cartChangeLog.changedSince(MEMBER_ID, 90L, 100L)).hasValueSatisfying(
+                productIds -> assertThat(productIds).hasSize(10));
+    }
+}
@@ -0,0 +1,115 @@
+package project.back.service.cart;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.back.etc.commonException.TooManyRequestsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartCommandExecutorTest {
+
+    private static final int THREADS = 32;
+    private static final int MEMBERS = 64;
+    private static final int COMMANDS = 100_000;
+
+    @Test
+    @DisplayName("여러 회원 + 같은 회원 경합: 읽고-바꾸고-쓰는 명령의 변경이 사라지지 않음")
+    void 직렬화_스트레스_테스트() throws Exception {
+        CartCommandExecutor executor = new CartCommandExecutor(1024, 10_000, 1);
+
+        long[] manyMembers = run(executor, MEMBERS);
+        long[] oneMember = run(executor, 1);
+
+        assertThat(manyMembers).containsOnly(COMMANDS / MEMBERS);
+        assertThat(oneMember).containsExactly(COMMANDS);
+    }
+
+    @Test
+    @DisplayName("다른 회원의 명령은 동시에 실행된다")
+    void 다른_회원_병렬_테스트() throws Exception {
+        CartCommandExecutor executor = new CartCommandExecutor(1024, 10_000, 1);
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (long memberId = 1; memberId <= 2; memberId++) {
+                long id = memberId;
+                results.add(pool.submit(() -> executor.execute(id, () -> {
+                    bothRunning.countDown();
+                    return await(bothRunning);
+                })));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 회원의 앞선 명령이 오래 걸리면 기다리다 TooManyRequestsException (Retry-After 포함)")
+    void 대기_시간_초과_테스트() throws Exception {
+        CartCommandExecutor executor = new CartCommandExecutor(1024, 50, 1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> executor.execute(1L, () -> {
+                holding.countDown();
+                return await(release);
+            }));
+            holding.await();
+
+            assertThatThrownBy(() -> executor.execute(1L, () -> true))
+                    .isInstanceOfSatisfying(TooManyRequestsException.class,
+                            e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1L));
+            assertThat(executor.execute(2L, () -> true)).isTrue();
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    /** memberCount 명에게 COMMANDS 개 명령을 고르게 나눠 동기화 없는 카운터를 읽고-바꾸고-쓰기 */
+    private long[] run(CartCommandExecutor executor, int memberCount) throws Exception {
+        long[] quantities = new long[memberCount];
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < COMMANDS; i++) {
+                int member = i % memberCount;
+                futures.add(pool.submit(() -> executor.execute((long) member, () -> {
+                    long quantity = quantities[member];
+                    Thread.yield();
+                    quantities[member] = quantity + 1;
+                    return null;
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return quantities;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package project.back.service.cart;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.back.dto.CartDto;
+import project.back.service.CartService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 정리는 문장마다 커밋되므로 테스트 트랜잭션 없이 실행하고 담은 상품을 직접 지운다.
+ */
+@SpringBootTest(properties = {"cart.purge.chunk-size=1", "cart.purge.chunk-pause-ms=0"})
+class CartPurgeJobTest {
+
+    @Autowired
+    CartPurgeJob cartPurgeJob;
+    @Autowired
+    CartService cartService;
+    @Autowired
+    CartVersionRegistry cartVersionRegistry;
+    @Autowired
+    CartJobLockOperations cartJobLockOperations;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final Long activeMemberId = 1L;
+    private final Long inactiveMemberId = 2L;
+    private final List<Long> productIds = List.of(5L, 6L);
+
+    @AfterEach
+    void tearDown() {
+        cartPurgeJob.resume();
+        for (Long productId : productIds) {
+            jdbcTemplate.update("DELETE FROM cart WHERE member_id IN (?, ?) AND product_id = ?",
+                    activeMemberId, inactiveMemberId, productId);
+        }
+    }
+
+    @Test
+    @DisplayName("오래 바뀌지 않은 회원의 장바구니만 chunk 단위로 모두 지우고 장바구니 버전을 올린다")
+    void 비활성_장바구니_정리_테스트() {
+        productIds.forEach(productId -> add(inactiveMemberId, productId));
+        add(activeMemberId, productIds.get(0));
+        makeInactive(inactiveMemberId);
+        long versionBefore = cartVersionRegistry.current(inactiveMemberId);
+
+        CartPurgeJob.PurgeResult result = cartPurgeJob.purge();
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.deletedRows()).isGreaterThanOrEqualTo(productIds.size());
+        assertThat(cartService.getCartsByMemberId(inactiveMemberId).getData()).isEmpty();
+        assertThat(cartService.getCartsByMemberId(activeMemberId).getData())
+                .extracting(CartDto::getProductId)
+                .contains(productIds.get(0));
+        assertThat(cartVersionRegistry.current(inactiveMemberId)).isGreaterThan(versionBefore);
+        assertThat(cartPurgeJob.getLastCartId()).isZero();
+    }
+
+    @Test
+    @DisplayName("일시정지 중에는 정리하지 않고, 재개하면 정리한다")
+    void 일시정지_테스트() {
+        add(inactiveMemberId, productIds.get(0));
+        makeInactive(inactiveMemberId);
+
+        cartPurgeJob.pause();
+
+        assertThat(cartPurgeJob.purge()).isNull();
+        assertThat(cartService.getCartsByMemberId(inactiveMemberId).getData()).isNotEmpty();
+
+        cartPurgeJob.resume();
+
+        assertThat(cartPurgeJob.purge().completed()).isTrue();
+        assertThat(cartService.getCartsByMemberId(inactiveMemberId).getData()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 정리 락을 잡고 있으면 정리하지 않는다")
+    void 정리_락_테스트() {
+        add(inactiveMemberId, productIds.get(0));
+        makeInactive(inactiveMemberId);
+        assertThat(cartJobLockOperations.tryLock("purge", "other-instance", 30_000L)).isTrue();
+
+        try {
+            assertThat(cartPurgeJob.purge()).isNull();
+            assertThat(cartService.getCartsByMemberId(inactiveMemberId).getData()).isNotEmpty();
+        } finally {
+            cartJobLockOperations.unlock("purge", "other-instance");
+        }
+
+        assertThat(cartPurgeJob.purge().completed()).isTrue();
+        assertThat(cartService.getCartsByMemberId(inactiveMemberId).getData()).isEmpty();
+    }
+
+    private void add(Long memberId, Long productId) {
+        cartService.addProduct(CartDto.builder().productId(productId).build(), memberId);
+    }
+
+    private void makeInactive(Long memberId) {
+        jdbcTemplate.update("UPDATE cart SET updated_at = ? WHERE member_id = ?",
+                LocalDateTime.now().minusDays(365), memberId);
+    }
+}
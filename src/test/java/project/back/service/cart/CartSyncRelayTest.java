@@ -0,0 +1,101 @@
+package project.back.service.cart;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartSyncRelayTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private CartSyncHub cartSyncHub;
+
+    private CartSyncRelay cartSyncRelay;
+
+    @BeforeEach
+    void setUp() {
+        cartSyncRelay = new CartSyncRelay(redisTemplate, cartSyncHub, new CartChangeLog(), new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("발행한 변경이 다른 인스턴스에서 같은 이벤트로 복원되어 변경 기록에 남고 세션으로 전달")
+    void 인스턴스간_전달_테스트() {
+        CartChangedEvent event = CartChangedEvent.linesChanged(1L, 7L, Map.of(10L, 3L, 11L, 0L));
+
+        cartSyncRelay.onCartChanged(event);
+
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(CartSyncRelay.CHANNEL), published.capture());
+        verify(cartSyncHub, never()).deliver(any());
+
+        byte[] body = ((String) published.getValue()).getBytes(StandardCharsets.UTF_8);
+        CartChangeLog otherInstanceLog = new CartChangeLog();
+        otherInstanceLog.record(1L, 6L, List.of(12L));
+        new CartSyncRelay(mock(RedisTemplate.class), cartSyncHub, otherInstanceLog, new ObjectMapper())
+                .onMessage(new DefaultMessage(CartSyncRelay.CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        verify(cartSyncHub).deliver(event);
+        assertThat(otherInstanceLog.changedSince(1L, 5L, 7L)).contains(Set.of(10L, 11L, 12L));
+    }
+
+    @Test
+    @DisplayName("Redis 발행이 실패하면 이 인스턴스의 세션에만 전달")
+    void 발행_실패_테스트() {
+        CartChangedEvent event = CartChangedEvent.cleared(1L, 8L);
+        when(redisTemplate.convertAndSend(eq(CartSyncRelay.CHANNEL), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        cartSyncRelay.onCartChanged(event);
+
+        verify(cartSyncHub).deliver(event);
+    }
+
+    @Test
+    @DisplayName("회원별 세션 수를 제한하고 가장 오래된 세션부터 닫음")
+    void 세션_수_제한_테스트() {
+        CartSyncHub hub = new CartSyncHub(new CartVersionRegistry(new InMemoryCartVersionOperations()), Runnable::run);
+
+        IntStream.range(0, 15).forEach(i -> hub.subscribe(1L));
+        hub.subscribe(2L);
+
+        assertThat(hub.sessionCount()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("쓰기가 밀려 보낼 이벤트가 쌓인 세션은 heartbeat 를 막지 않고 닫음")
+    void 느린_세션_테스트() {
+        List<Runnable> stalledWrites = new ArrayList<>();
+        CartSyncHub hub = new CartSyncHub(new CartVersionRegistry(new InMemoryCartVersionOperations()),
+                stalledWrites::add);
+        hub.subscribe(1L);
+
+        IntStream.range(0, 63).forEach(i -> hub.heartbeat());
+        assertThat(hub.sessionCount()).isEqualTo(1);
+        assertThat(stalledWrites).hasSize(1);
+
+        hub.heartbeat();
+        assertThat(hub.sessionCount()).isZero();
+    }
+}
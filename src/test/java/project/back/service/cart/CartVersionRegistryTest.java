@@ -0,0 +1,49 @@
+package project.back.service.cart;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CartVersionRegistryTest {
+
+    private static final Long MEMBER_ID = 1L;
+
+    private InMemoryCartVersionOperations operations;
+    private CartVersionRegistry podA;
+    private CartVersionRegistry podB;
+
+    @BeforeEach
+    void setUp() {
+        operations = new InMemoryCartVersionOperations();
+        podA = new CartVersionRegistry(operations);
+        podB = new CartVersionRegistry(operations);
+    }
+
+    @Test
+    @DisplayName("한 인스턴스에서 올린 버전을 다른 인스턴스도 봄")
+    void 버전_공유_테스트() {
+        long before = podB.current(MEMBER_ID);
+
+        long bumped = podA.bump(MEMBER_ID);
+
+        assertThat(bumped).isGreaterThan(before);
+        assertThat(podB.current(MEMBER_ID)).isEqualTo(bumped);
+    }
+
+    @Test
+    @DisplayName("저장소를 쓸 수 없으면 UNKNOWN, 올리지 못한 버전은 복구 후 다시 올림")
+    void 저장소_장애_테스트() {
+        long before = podA.current(MEMBER_ID);
+        operations.setUnavailable(true);
+
+        assertThat(podA.bump(MEMBER_ID)).isEqualTo(CartVersionRegistry.UNKNOWN);
+        assertThat(podB.current(MEMBER_ID)).isEqualTo(CartVersionRegistry.UNKNOWN);
+        podA.retryPendingBumps();
+
+        operations.setUnavailable(false);
+        podA.retryPendingBumps();
+        assertThat(podB.current(MEMBER_ID)).isGreaterThan(before);
+    }
+}
@@ -0,0 +1,158 @@
+package project.back.service.cart;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 테스트용 메모리 Redis 대체 구현
+ * RedisCartHashOperations 의 Lua 스크립트와 같은 조건으로 동작하며, 메서드 단위로 원자적이다.
+ */
+class InMemoryCartHashOperations implements CartHashOperations {
+
+    private final Map<Long, Map<Long, Long>> hashes = new HashMap<>();
+    private final Map<Long, Long> dirty = new LinkedHashMap<>();
+    /** 만료 시간이 걸린(MySQL 에 반영된) 해시의 회원 id */
+    private final Set<Long> expiring = new HashSet<>();
+    private String flushLockOwner;
+
+    /** 영속화 없이 Redis 가 재시작된 상황 */
+    synchronized void loseAllData() {
+        hashes.clear();
+        dirty.clear();
+        expiring.clear();
+    }
+
+    /** 만료 시간이 지난 상황 */
+    synchronized void expireIdleHashes() {
+        hashes.keySet().removeAll(expiring);
+        expiring.clear();
+    }
+
+    synchronized boolean isExpiring(Long memberId) {
+        return expiring.contains(memberId);
+    }
+
+    synchronized Map<Long, Long> dirty() {
+        return new HashMap<>(dirty);
+    }
+
+    @Override
+    public synchronized boolean isLoaded(Long memberId) {
+        return hashes.containsKey(memberId);
+    }
+
+    @Override
+    public synchronized void loadIfAbsent(Long memberId, Map<Long, Long> productIdToQuantity) {
+        if (hashes.putIfAbsent(memberId, new HashMap<>(productIdToQuantity)) == null) {
+            expiring.add(memberId);
+        }
+    }
+
+    @Override
+    public synchronized Map<Long, Long> entries(Long memberId) {
+        return new HashMap<>(hashes.getOrDefault(memberId, Map.of()));
+    }
+
+    @Override
+    public synchronized boolean putIfAbsent(Long memberId, Long productId, long quantity) {
+        if (hashes.computeIfAbsent(memberId, id -> new HashMap<>()).putIfAbsent(productId, quantity) != null) {
+            return false;
+        }
+        return markDirty(memberId);
+    }
+
+    @Override
+    public synchronized boolean adjustIfPresent(Long memberId, Long productId, long delta, long min) {
+        Map<Long, Long> hash = hashes.getOrDefault(memberId, new HashMap<>());
+        Long quantity = hash.get(productId);
+        if (quantity == null || quantity + delta < min) {
+            return false;
+        }
+        hash.put(productId, quantity + delta);
+        return markDirty(memberId);
+    }
+
+    @Override
+    public synchronized boolean setIfPresent(Long memberId, Long productId, long quantity) {
+        Map<Long, Long> hash = hashes.getOrDefault(memberId, new HashMap<>());
+        if (!hash.containsKey(productId)) {
+            return false;
+        }
+        hash.put(productId, quantity);
+        return markDirty(memberId);
+    }
+
+    @Override
+    public synchronized boolean remove(Long memberId, Long productId) {
+        Map<Long, Long> hash = hashes.getOrDefault(memberId, new HashMap<>());
+        if (hash.remove(productId) == null) {
+            return false;
+        }
+        return markDirty(memberId);
+    }
+
+    @Override
+    public synchronized boolean apply(Long memberId, Map<Long, Long> expected, Map<Long, Long> upserts,
+                                      Set<Long> removals) {
+        Map<Long, Long> hash = hashes.computeIfAbsent(memberId, id -> new HashMap<>());
+        Set<Long> changed = new HashSet<>(upserts.keySet());
+        changed.addAll(removals);
+        for (Long productId : changed) {
+            if (!Objects.equals(hash.get(productId), expected.get(productId))) {
+                return false;
+            }
+        }
+        hash.putAll(upserts);
+        removals.forEach(hash::remove);
+        return markDirty(memberId);
+    }
+
+    @Override
+    public synchronized void clear(Long memberId) {
+        hashes.put(memberId, new HashMap<>());
+        markDirty(memberId);
+    }
+
+    @Override
+    public synchronized Map<Long, Long> dirtyMembers(int limit, Set<Long> excluded) {
+        Map<Long, Long> result = new HashMap<>();
+        dirty.entrySet().stream()
+                .filter(entry -> !excluded.contains(entry.getKey()))
+                .limit(limit)
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    @Override
+    public synchronized void clearDirty(Long memberId, long dirtyVersion) {
+        if (dirty.remove(memberId, dirtyVersion) && hashes.containsKey(memberId)) {
+            expiring.add(memberId);
+        }
+    }
+
+    @Override
+    public synchronized boolean tryLockFlush(String owner, long ttlMillis) {
+        if (flushLockOwner != null && !flushLockOwner.equals(owner)) {
+            return false;
+        }
+        flushLockOwner = owner;
+        return true;
+    }
+
+    @Override
+    public synchronized void unlockFlush(String owner) {
+        if (owner.equals(flushLockOwner)) {
+            flushLockOwner = null;
+        }
+    }
+
+    private boolean markDirty(Long memberId) {
+        expiring.remove(memberId);
+        dirty.merge(memberId, 1L, Long::sum);
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package project.back.service.cart;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 테스트용 메모리 장바구니 버전 저장소
+ * 여러 인스턴스가 같은 저장소를 쓰는 상황은 CartVersionRegistry 여러 개에 같은 객체를 넘겨 만든다.
+ */
+public class InMemoryCartVersionOperations implements CartVersionOperations {
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private volatile boolean unavailable;
+
+    /** Redis 장애 상황 */
+    void setUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
+
+    @Override
+    public long current(Long memberId) {
+        checkAvailable();
+        return versions.getOrDefault(memberId, 0L);
+    }
+
+    @Override
+    public long increment(Long memberId) {
+        checkAvailable();
+        return versions.merge(memberId, 1L, Long::sum);
+    }
+
+    private void checkAvailable() {
+        if (unavailable) {
+            throw new RedisConnectionFailureException("unavailable");
+        }
+    }
+}
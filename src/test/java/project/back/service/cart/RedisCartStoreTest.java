@@ -0,0 +1,254 @@
+package project.back.service.cart;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import project.back.dto.CartDto;
+import project.back.dto.CartProductDto;
+import project.back.entity.Member;
+import project.back.repository.CartRepository;
+import project.back.repository.ProductRepository;
+import project.back.repository.memberrepository.MemberRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCartStoreTest {
+
+    @Mock
+    private CartRepository cartRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private CartBatchWriter cartBatchWriter;
+
+    private InMemoryCartHashOperations redis;
+    private RedisCartStore cartStore;
+    private CartWriteBehindFlusher flusher;
+
+    /** MySQL cart 테이블: 회원 id -> (상품 id -> 수량) */
+    private final Map<Long, Map<Long, Long>> cartTable = new HashMap<>();
+    private final Long memberAId = 1L;
+    private final Long memberBId = 2L;
+    private final Long productAId = 10L;
+    private final Long productBId = 11L;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemoryCartHashOperations();
+        cartStore = new RedisCartStore(redis, cartRepository, productRepository, memberRepository);
+        flusher = new CartWriteBehindFlusher(redis, cartBatchWriter);
+
+        lenient().when(memberRepository.existsById(anyLong())).thenReturn(true);
+        lenient().when(productRepository.existsById(anyLong())).thenReturn(true);
+        lenient().when(cartRepository.findCartDtosByMemberId(anyLong())).thenAnswer(invocation -> {
+            Map<Long, Long> cart = cartTable.getOrDefault(invocation.<Long>getArgument(0), Map.of());
+            return cart.entrySet().stream()
+                    .map(entry -> new CartDto(entry.getKey(), "상품" + entry.getKey(), "/null.png", entry.getValue()))
+                    .toList();
+        });
+        lenient().doAnswer(writeToCartTable()).when(cartBatchWriter).replaceCarts(anyMap());
+    }
+
+    @Test
+    @DisplayName("변경은 Redis 에만 반영되고, flush 때 여러 회원을 한 배치로 MySQL 에 반영")
+    void 배치_반영_테스트() {
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        cartStore.increment(memberAId, productAId);
+        cartStore.addIfAbsent(memberAId, productBId, 1L);
+        cartStore.addIfAbsent(memberBId, productAId, 1L);
+        cartStore.decrement(memberBId, productAId);
+
+        assertThat(cartTable).isEmpty();
+        assertThat(quantities(memberAId)).isEqualTo(Map.of(productAId, 2L, productBId, 1L));
+
+        flusher.flush();
+
+        verify(cartBatchWriter, times(1)).replaceCarts(anyMap());
+        assertThat(cartTable).isEqualTo(Map.of(
+                memberAId, Map.of(productAId, 2L, productBId, 1L),
+                memberBId, Map.of(productAId, 1L)));
+        assertThat(redis.dirty()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("flush 도중 애플리케이션이 죽어도 dirty 표시가 남아 재시작 후 반영")
+    void 재시작_반영_테스트() {
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        cartStore.updateQuantity(memberAId, productAId, 5L);
+        doThrow(new IllegalStateException("crash")).when(cartBatchWriter).replaceCarts(anyMap());
+
+        assertThatThrownBy(() -> flusher.flush()).isInstanceOf(IllegalStateException.class);
+        assertThat(redis.dirty()).containsKey(memberAId);
+
+        CartBatchWriter restartedWriter = mock(CartBatchWriter.class);
+        doAnswer(writeToCartTable()).when(restartedWriter).replaceCarts(anyMap());
+        new CartWriteBehindFlusher(redis, restartedWriter).flush();
+
+        assertThat(cartTable).isEqualTo(Map.of(memberAId, Map.of(productAId, 5L)));
+        assertThat(redis.dirty()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("flush 하는 사이 바뀐 회원은 dirty 로 남아 다음 flush 에 반영")
+    void 동시_변경_테스트() {
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        AtomicBoolean changedDuringFlush = new AtomicBoolean();
+        Answer<Void> writeToCartTable = writeToCartTable();
+        doAnswer(invocation -> {
+            if (changedDuringFlush.compareAndSet(false, true)) {
+                cartStore.increment(memberAId, productAId);
+            }
+            return writeToCartTable.answer(invocation);
+        }).when(cartBatchWriter).replaceCarts(anyMap());
+
+        flusher.flush();
+        assertThat(cartTable).isEqualTo(Map.of(memberAId, Map.of(productAId, 1L)));
+        assertThat(redis.dirty()).containsKey(memberAId);
+
+        flusher.flush();
+
+        assertThat(cartTable).isEqualTo(Map.of(memberAId, Map.of(productAId, 2L)));
+        assertThat(redis.dirty()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("영속화 없이 Redis 가 재시작되면 마지막 flush 이후 변경만 잃고 MySQL 장바구니로 다시 시작")
+    void Redis_데이터_유실_테스트() {
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        flusher.flush();
+        cartStore.increment(memberAId, productAId);
+
+        redis.loseAllData();
+
+        Member member = mock(Member.class);
+        when(member.getMemberId()).thenReturn(memberAId);
+        List<CartProductDto> cartProducts = cartStore.findCartProducts(member);
+        assertThat(cartProducts).extracting(CartProductDto::getProductId, CartProductDto::getQuantity)
+                .containsExactly(tuple(productAId, 1L));
+
+        cartStore.increment(memberAId, productAId);
+        flusher.flush();
+        assertThat(cartTable).isEqualTo(Map.of(memberAId, Map.of(productAId, 2L)));
+    }
+
+    @Test
+    @DisplayName("조건에 맞지 않는 변경은 반영하지 않고 dirty 로 표시하지 않음")
+    void 조건부_변경_테스트() {
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        flusher.flush();
+
+        assertThat(cartStore.addIfAbsent(memberAId, productAId, 1L)).isFalse();
+        assertThat(cartStore.decrement(memberAId, productAId)).isFalse();
+        assertThat(cartStore.updateQuantity(memberAId, productAId, 0L)).isFalse();
+        assertThat(cartStore.increment(memberAId, productBId)).isFalse();
+        assertThat(cartStore.remove(memberAId, productBId)).isFalse();
+
+        assertThat(redis.dirty()).isEmpty();
+        assertThat(quantities(memberAId)).isEqualTo(Map.of(productAId, 1L));
+    }
+
+    @Test
+    @DisplayName("MySQL 에 반영된 해시만 만료되고, 만료 후 접근하면 MySQL 장바구니로 다시 만듦")
+    void 해시_만료_테스트() {
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        assertThat(redis.isExpiring(memberAId)).isFalse();
+
+        flusher.flush();
+        assertThat(redis.isExpiring(memberAId)).isTrue();
+
+        cartStore.increment(memberAId, productAId);
+        assertThat(redis.isExpiring(memberAId)).isFalse();
+        redis.expireIdleHashes();
+        assertThat(quantities(memberAId)).isEqualTo(Map.of(productAId, 2L));
+
+        flusher.flush();
+        redis.expireIdleHashes();
+        assertThat(redis.isLoaded(memberAId)).isFalse();
+        assertThat(quantities(memberAId)).isEqualTo(Map.of(productAId, 2L));
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 flush 락을 잡고 있으면 이번 주기는 반영하지 않음")
+    void flush_락_테스트() {
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        assertThat(redis.tryLockFlush("other-instance", 30_000L)).isTrue();
+
+        flusher.flush();
+        assertThat(cartTable).isEmpty();
+        assertThat(redis.dirty()).containsKey(memberAId);
+
+        redis.unlockFlush("other-instance");
+        flusher.flush();
+        assertThat(cartTable).isEqualTo(Map.of(memberAId, Map.of(productAId, 1L)));
+    }
+
+    @Test
+    @DisplayName("일괄 변경은 읽은 뒤 바꿀 상품이 다른 요청으로 바뀌었으면 덮어쓰지 않음")
+    void 일괄_변경_충돌_테스트() {
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        Map<Long, Long> before = cartStore.findQuantitiesForUpdate(memberAId);
+
+        cartStore.increment(memberAId, productAId);
+
+        assertThat(cartStore.applyLines(memberAId, before, Map.of(productAId, 5L), Set.of())).isFalse();
+        assertThat(quantities(memberAId)).isEqualTo(Map.of(productAId, 2L));
+        assertThat(cartStore.applyLines(memberAId, before, Map.of(productBId, 1L), Set.of())).isTrue();
+        assertThat(quantities(memberAId)).isEqualTo(Map.of(productAId, 2L, productBId, 1L));
+    }
+
+    @Test
+    @DisplayName("계속 실패하는 회원은 재시도 시각까지 배치에서 빠져 다른 회원의 반영을 막지 않음")
+    void 실패_회원_재시도_테스트() {
+        ReflectionTestUtils.setField(flusher, "batchSize", 1);
+        cartStore.addIfAbsent(memberAId, productAId, 1L);
+        cartStore.addIfAbsent(memberBId, productAId, 1L);
+        doThrow(new DataIntegrityViolationException("foreign key"))
+                .when(cartBatchWriter).replaceCarts(argThat(carts -> carts.containsKey(memberAId)));
+
+        flusher.flush();
+        assertThat(cartTable).isEqualTo(Map.of(memberBId, Map.of(productAId, 1L)));
+        assertThat(redis.dirty()).containsOnlyKeys(memberAId);
+
+        // 재시도 시각 전이므로 다시 시도하지 않음 (배치 한 번 + 회원별 한 번)
+        flusher.flush();
+        verify(cartBatchWriter, times(2)).replaceCarts(argThat(carts -> carts.containsKey(memberAId)));
+    }
+
+    /** replaceCarts 호출을 cartTable 에 반영 */
+    private Answer<Void> writeToCartTable() {
+        return invocation -> {
+            Map<Long, Map<Long, Long>> carts = invocation.getArgument(0);
+            carts.forEach((memberId, cart) -> cartTable.put(memberId, new HashMap<>(cart)));
+            return null;
+        };
+    }
+
+    private Map<Long, Long> quantities(Long memberId) {
+        Member member = mock(Member.class);
+        when(member.getMemberId()).thenReturn(memberId);
+        Map<Long, Long> quantities = new HashMap<>();
+        cartStore.findCartProducts(member)
+                .forEach(cartProduct -> quantities.put(cartProduct.getProductId(), cartProduct.getQuantity()));
+        return quantities;
+    }
+}
@@ -0,0 +1,210 @@
+package project.back.service.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.back.dto.ProductCatalogDeltaDto;
+import project.back.dto.ProductDto;
+import project.back.dto.ProductPageDto;
+import project.back.service.ProductService;
+import project.back.service.pricing.PriceMatrixRebuiltEvent;
+import project.back.service.search.ProductChangedEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogTest {
+
+    @Mock
+    private ProductService productService;
+    @Mock
+    private ProductCatalogVersion catalogVersion;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ProductCatalog productCatalog;
+
+    private final ProductDto carrot = new ProductDto(1L, "당근", "/images/a/carrot.jpeg");
+    private final ProductDto garlic = new ProductDto(2L, "마늘", "/images/b/garlic.jpeg");
+    private final ProductDto onion = new ProductDto(3L, "양파", "/images/c/onion.jpeg");
+
+    @BeforeEach
+    void setUp() {
+        productCatalog = new ProductCatalog(productService, objectMapper, catalogVersion);
+        lenient().when(catalogVersion.current()).thenReturn(0L);
+    }
+
+    @Test
+    @DisplayName("스냅샷은 응답 JSON 과 그 gzip 을 들고 있고, 상품이 그대로면 다시 만들지 않음")
+    void 스냅샷_테스트() throws IOException {
+        when(productService.findProductDtos()).thenReturn(List.of(carrot, garlic));
+
+        ProductCatalog.Snapshot snapshot = productCatalog.current();
+
+        assertThat(objectMapper.readTree(snapshot.json()).get("data")).hasSize(2);
+        assertThat(objectMapper.readTree(snapshot.json()).get("data").get(0).get("productName").asText())
+                .isEqualTo("당근");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(snapshot.json());
+        }
+        assertThat(productCatalog.current()).isSameAs(snapshot);
+
+        productCatalog.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(2L, 1L));
+        assertThat(productCatalog.current()).isSameAs(snapshot);
+        verify(productService, times(2)).findProductDtos();
+    }
+
+    @Test
+    @DisplayName("since 이후 추가/변경/삭제된 상품만 응답, 기록이 없는 버전은 전체")
+    void 변경분_테스트() {
+        when(productService.findProductDtos()).thenReturn(List.of(carrot, garlic));
+        long first = productCatalog.current().version();
+
+        ProductDto renamedGarlic = new ProductDto(2L, "깐마늘", "/images/b/garlic.jpeg");
+        when(productService.findProductDtos()).thenReturn(List.of(renamedGarlic, onion));
+        when(catalogVersion.current()).thenReturn(1L);
+        long second = productCatalog.rebuild().version();
+        when(catalogVersion.changedProductIds(first, second)).thenReturn(Optional.of(Set.of(1L, 2L, 3L)));
+        when(catalogVersion.changedProductIds(second, second)).thenReturn(Optional.of(Set.of()));
+        when(catalogVersion.changedProductIds(first - 1, second)).thenReturn(Optional.empty());
+
+        ProductCatalogDeltaDto delta = productCatalog.changesSince(first);
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(1L);
+        assertThat(delta.getFull()).isFalse();
+        assertThat(delta.getVersion()).isEqualTo(second);
+        assertThat(delta.getProducts()).containsExactly(renamedGarlic, onion);
+        assertThat(delta.getRemovedProductIds()).containsExactly(1L);
+
+        ProductCatalogDeltaDto unchanged = productCatalog.changesSince(second);
+        assertThat(unchanged.getFull()).isFalse();
+        assertThat(unchanged.getProducts()).isEmpty();
+        assertThat(unchanged.getRemovedProductIds()).isEmpty();
+
+        ProductCatalogDeltaDto unknown = productCatalog.changesSince(first - 1);
+        assertThat(unknown.getFull()).isTrue();
+        assertThat(unknown.getProducts()).containsExactly(renamedGarlic, onion);
+        assertThat(productCatalog.changesSince(second + 1).getFull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("상품 저장/삭제가 반영되면 다시 만들고, ETag 는 gzip 본문과 원본 본문이 다름")
+    void 상품_변경_반영_테스트() {
+        when(productService.findProductDtos()).thenReturn(List.of(carrot));
+        ProductCatalog.Snapshot snapshot = productCatalog.current();
+        assertThat(snapshot.eTag(true)).isNotEqualTo(snapshot.eTag(false));
+
+        when(productService.findProductDtos()).thenReturn(List.of(carrot, garlic));
+        when(catalogVersion.current()).thenReturn(1L);
+        productCatalog.onProductChanged(new ProductChangedEvent(2L, "마늘", "/garlic.jpeg", ProductChangedEvent.Type.SAVED));
+
+        verify(catalogVersion).increment(Set.of(2L));
+        ProductCatalog.Snapshot rebuilt = productCatalog.current();
+        assertThat(rebuilt.version()).isEqualTo(1L);
+        assertThat(rebuilt.products()).containsOnlyKeys(1L, 2L);
+        assertThat(rebuilt.eTag(false)).isNotEqualTo(snapshot.eTag(false));
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 버전을 올리면 다시 만들고, 같은 상품이면 버전과 ETag 가 인스턴스마다 같음")
+    void 다른_인스턴스_변경_테스트() {
+        when(productService.findProductDtos()).thenReturn(List.of(carrot));
+        ProductCatalog.Snapshot snapshot = productCatalog.current();
+        ProductCatalog.Snapshot otherInstance = new ProductCatalog(productService, objectMapper, catalogVersion).current();
+        assertThat(otherInstance.version()).isEqualTo(snapshot.version());
+        assertThat(otherInstance.eTag(false)).isEqualTo(snapshot.eTag(false));
+        assertThat(otherInstance.eTag(true)).isEqualTo(snapshot.eTag(true));
+
+        productCatalog.refreshIfChanged();
+        when(catalogVersion.current()).thenReturn(ProductCatalogVersion.UNKNOWN);
+        productCatalog.refreshIfChanged();
+        assertThat(productCatalog.current()).isSameAs(snapshot);
+
+        when(productService.findProductDtos()).thenReturn(List.of(carrot, garlic));
+        when(catalogVersion.current()).thenReturn(1L);
+        productCatalog.refreshIfChanged();
+
+        assertThat(productCatalog.current().version()).isEqualTo(1L);
+        assertThat(productCatalog.current().products()).containsOnlyKeys(1L, 2L);
+        verify(productService, times(3)).findProductDtos();
+    }
+
+    @Test
+    @DisplayName("버전을 올리지 않은 변경이 보이면 다음 버전까지 버전을 알 수 없어 전체를 응답")
+    void 버전_모름_테스트() {
+        when(productService.findProductDtos()).thenReturn(List.of(carrot));
+        long first = productCatalog.current().version();
+
+        when(productService.findProductDtos()).thenReturn(List.of(carrot, garlic));
+        productCatalog.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(2L, 1L));
+
+        assertThat(productCatalog.current().version()).isEqualTo(ProductCatalogVersion.UNKNOWN);
+        assertThat(productCatalog.current().products()).containsOnlyKeys(1L, 2L);
+        ProductCatalogDeltaDto delta = productCatalog.changesSince(first);
+        assertThat(delta.getFull()).isTrue();
+        assertThat(delta.getProducts()).containsExactly(carrot, garlic);
+        verify(catalogVersion, never()).changedProductIds(anyLong(), anyLong());
+
+        when(catalogVersion.current()).thenReturn(1L);
+        productCatalog.refreshIfChanged();
+        assertThat(productCatalog.current().version()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("다시 만들기에 실패하면 이전 스냅샷 유지")
+    void 실패_유지_테스트() {
+        when(productService.findProductDtos()).thenReturn(List.of(carrot));
+        ProductCatalog.Snapshot snapshot = productCatalog.current();
+
+        when(productService.findProductDtos()).thenThrow(new RuntimeException("이미지를 찾을 수 없습니다."));
+        productCatalog.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(2L, 1L));
+
+        assertThat(productCatalog.current()).isSameAs(snapshot);
+    }
+
+    @Test
+    @DisplayName("상품 id 키셋으로 페이지를 나누고 고른 필드만 담음")
+    void 페이지_테스트() throws IOException {
+        when(productService.findProductDtos()).thenReturn(List.of(onion, carrot, garlic));
+
+        ProductPageDto first = productCatalog.page(0, 2, List.of("productId", "productName"));
+        assertThat(first.getProducts()).extracting(ProductDto::getProductId).containsExactly(1L, 2L);
+        assertThat(first.getProducts()).extracting(ProductDto::getProductImgUrl).containsOnlyNulls();
+        assertThat(first.getNextCursor()).isEqualTo(2L);
+        assertThat(objectMapper.writeValueAsString(first.getProducts().get(0)))
+                .isEqualTo("{\"productId\":1,\"productName\":\"당근\"}");
+
+        ProductDto added = new ProductDto(4L, "감자", "/images/d/potato.jpeg");
+        when(productService.findProductDtos()).thenReturn(List.of(carrot, garlic, onion, added));
+        when(catalogVersion.current()).thenReturn(1L);
+        productCatalog.rebuild();
+
+        ProductPageDto second = productCatalog.page(first.getNextCursor(), 2, null);
+        assertThat(second.getProducts()).containsExactly(onion, added);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getVersion()).isEqualTo(first.getVersion() + 1);
+        assertThat(productCatalog.page(4L, null, null).getProducts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("페이지 크기가 범위를 벗어나거나 없는 필드를 고르면 예외")
+    void 페이지_예외_테스트() {
+        assertThatThrownBy(() -> productCatalog.page(0, 0, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> productCatalog.page(0, 501, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> productCatalog.page(0, 10, List.of("price")))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(productService);
+    }
+}
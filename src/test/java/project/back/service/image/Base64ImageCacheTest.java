@@ -0,0 +1,66 @@
+package project.back.service.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Base64ImageCacheTest {
+
+    private ProductImageCatalog catalog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        catalog = new ProductImageCatalog("");
+    }
+
+    @Test
+    @DisplayName("기존 인코딩과 같은 data URL 을 응답마다 같은 문자열로 반환")
+    void 인코딩_공유_테스트() throws IOException {
+        Base64ImageCache cache = new Base64ImageCache(catalog, 64L * 1024 * 1024);
+        byte[] image = StreamUtils.copyToByteArray(new ClassPathResource("static/images/carrot.jpeg").getInputStream());
+
+        String dataUrl = cache.dataUrl("/carrot.jpeg");
+
+        assertThat(dataUrl).isEqualTo("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image));
+        assertThat(cache.dataUrl("/carrot.jpeg")).isSameAs(dataUrl);
+        assertThat(cache.dataUrl(null)).isSameAs(cache.dataUrl("/null.png"));
+    }
+
+    @Test
+    @DisplayName("한도를 넘으면 오래 쓰지 않은 이미지부터 버리고, 다시 쓰면 인코딩")
+    void 한도_제거_테스트() {
+        Base64ImageCache full = new Base64ImageCache(catalog, 64L * 1024 * 1024);
+        long carrot = full.dataUrl("/carrot.jpeg").length();
+        long garlic = full.dataUrl("/garlic.jpeg").length();
+        long onion = full.dataUrl("/onion.jpeg").length();
+
+        Base64ImageCache cache = new Base64ImageCache(catalog, carrot + garlic + onion);
+        cache.dataUrl("/carrot.jpeg");
+        cache.dataUrl("/garlic.jpeg");
+        cache.dataUrl("/onion.jpeg");
+        cache.dataUrl("/carrot.jpeg");
+        cache.dataUrl("/potato.jpeg");
+
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(carrot + garlic + onion);
+        assertThat(cache.contains("/carrot.jpeg")).isTrue();
+        assertThat(cache.contains("/potato.jpeg")).isTrue();
+        assertThat(cache.contains("/garlic.jpeg")).isFalse();
+        assertThat(cache.dataUrl("/garlic.jpeg")).isEqualTo(full.dataUrl("/garlic.jpeg"));
+    }
+
+    @Test
+    @DisplayName("없는 이미지는 기존과 같이 예외")
+    void 없는_이미지_테스트() {
+        Base64ImageCache cache = new Base64ImageCache(catalog, 64L * 1024 * 1024);
+
+        assertThatThrownBy(() -> cache.dataUrl("/none.jpeg")).isInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package project.back.service.pricing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.back.dto.DiscountInfoDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JoinMartBitsetIndexTest {
+
+    private JoinMartBitsetIndex index;
+
+    @BeforeEach
+    void 초기_설정() {
+        index = new JoinMartBitsetIndex();
+        index.rebuild(List.of(
+                row(1L, 1L), row(1L, 2L), row(1L, 3L),
+                row(2L, 1L), row(2L, 3L),
+                row(3L, 3L)));
+    }
+
+    @Test
+    @DisplayName("모든 상품을 판매하는 조인마트 조회")
+    void 모든_상품_판매_조인마트_테스트() {
+        assertThat(index.findJoinIdsSellingAll(List.of(1L, 2L))).containsExactly(1L, 3L);
+        assertThat(index.findJoinIdsSellingAll(List.of(1L, 2L, 3L))).containsExactly(3L);
+        assertThat(index.findJoinIdsSellingAll(List.of(1L, 4L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("N개 이상 판매하는 조인마트 조회")
+    void N개_이상_판매_조인마트_테스트() {
+        assertThat(index.findJoinIdsSellingAtLeast(List.of(1L, 2L, 3L), 2))
+                .containsExactlyEntriesOf(new TreeMap<>(Map.of(1L, 2, 3L, 3)));
+    }
+
+    @Test
+    @DisplayName("다시 만들면 이전 행은 남지 않고, 같은 (상품, 조인마트) 행이 여러 개여도 한 번만 센다")
+    void 재생성_테스트() {
+        index.rebuild(List.of(row(3L, 1L), row(3L, 1L), row(1L, 1L), row(2L, 1L)));
+
+        assertThat(index.findJoinIdsSellingAll(List.of(1L, 2L, 3L))).containsExactly(1L);
+        assertThat(index.findJoinIdsSellingAtLeast(List.of(1L, 2L, 3L), 1))
+                .containsExactlyEntriesOf(Map.of(1L, 3));
+        assertThat(index.findJoinIdsSelling(1L)).containsExactly(1L);
+        assertThat(index.findJoinIdsSelling(3L)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("무작위 행으로 다시 만든 뒤 단순 계산과 결과 비교 (조인마트 64개 초과)")
+    void 무작위_재생성_비교_테스트() {
+        Random random = new Random(42);
+        Map<Long, Set<Long>> rows = new HashMap<>();
+        List<DiscountInfoDto> discountInfo = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long productId = random.nextInt(200);
+            long joinId = random.nextInt(150);
+            rows.computeIfAbsent(productId, k -> new HashSet<>()).add(joinId);
+            discountInfo.add(row(productId, joinId));
+        }
+        index.rebuild(discountInfo);
+
+        for (int trial = 0; trial < 200; trial++) {
+            List<Long> cart = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(4); i++) {
+                cart.add((long) random.nextInt(200));
+            }
+            Map<Long, Integer> expected = new TreeMap<>();
+            for (long joinId = 0; joinId < 150; joinId++) {
+                int count = 0;
+                for (Long productId : cart) {
+                    if (rows.getOrDefault(productId, Set.of()).contains(joinId)) {
+                        count++;
+                    }
+                }
+                if (count > 0) {
+                    expected.put(joinId, count);
+                }
+            }
+            List<Long> expectedAll = expected.entrySet().stream()
+                    .filter(e -> e.getValue() == cart.size())
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            assertThat(index.findJoinIdsSellingAtLeast(cart, 1)).isEqualTo(expected);
+            assertThat(index.findJoinIdsSellingAll(cart)).isEqualTo(expectedAll);
+        }
+    }
+
+    private DiscountInfoDto row(Long productId, Long joinId) {
+        return new DiscountInfoDto(productId, "상품" + productId, joinId, null, 1000L, null);
+    }
+}
@@ -0,0 +1,57 @@
+package project.back.service.pricing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.back.dto.MartJoinIdDto;
+import project.back.repository.MartRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JoinMartMartIndexTest {
+
+    @Mock
+    private MartRepository martRepository;
+
+    private JoinMartMartIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new JoinMartMartIndex(martRepository);
+        when(martRepository.findAllMartJoinIds()).thenReturn(List.of(new MartJoinIdDto(1L, 10L)));
+        index.initialize();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스에서 연결된 마트는 DB 에서 찾아 추가하고, 없는 마트는 empty")
+    void 인덱스에_없는_마트_테스트() {
+        when(martRepository.findJoinIdByMartId(2L)).thenReturn(Optional.of(10L));
+        when(martRepository.findJoinIdByMartId(3L)).thenReturn(Optional.empty());
+
+        assertThat(index.findJoinId(2L)).contains(10L);
+        assertThat(index.findJoinId(2L)).contains(10L);
+        assertThat(index.findMartIds(10L)).containsExactly(1L, 2L);
+        assertThat(index.findJoinId(3L)).isEmpty();
+        verify(martRepository, times(1)).findJoinIdByMartId(2L);
+    }
+
+    @Test
+    @DisplayName("가격 행렬을 다시 만들면 다른 인스턴스의 마트 연결까지 다시 읽음")
+    void 재생성_테스트() {
+        when(martRepository.findAllMartJoinIds()).thenReturn(List.of(
+                new MartJoinIdDto(1L, 10L), new MartJoinIdDto(4L, 20L)));
+
+        index.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(2L, 1L));
+
+        assertThat(index.findMartIds(20L)).containsExactly(4L);
+        assertThat(index.findJoinId(4L)).contains(20L);
+    }
+}
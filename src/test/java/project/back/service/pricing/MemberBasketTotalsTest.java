@@ -0,0 +1,164 @@
+package project.back.service.pricing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.back.dto.CartProductDto;
+import project.back.dto.DiscountInfoDto;
+import project.back.service.cart.CartVersionRegistry;
+import project.back.service.cart.InMemoryCartVersionOperations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemberBasketTotalsTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final int PRODUCT_COUNT = 30;
+    private static final int JOIN_MART_COUNT = 8;
+
+    private PriceMatrixEngine priceMatrixEngine;
+    private JoinMartBitsetIndex joinMartBitsetIndex;
+    private MartSellingCache martSellingCache;
+    private CartVersionRegistry cartVersionRegistry;
+    private MemberBasketTotals memberBasketTotals;
+    private PriceMatrix matrix;
+
+    @BeforeEach
+    void 초기_설정() {
+        Random random = new Random(9);
+        List<Long> productIds = new ArrayList<>();
+        List<DiscountInfoDto> discountInfo = new ArrayList<>();
+        for (long productId = 1; productId <= PRODUCT_COUNT; productId++) {
+            productIds.add(productId);
+            for (long joinId = 1; joinId <= JOIN_MART_COUNT; joinId++) {
+                if (random.nextInt(10) < 9) {
+                    discountInfo.add(new DiscountInfoDto(productId, "상품" + productId, joinId, null,
+                            500L + random.nextInt(5_000), random.nextBoolean() ? null : random.nextInt(3_000)));
+                }
+            }
+        }
+        matrix = PriceMatrix.build(1L, productIds, discountInfo);
+        joinMartBitsetIndex = new JoinMartBitsetIndex();
+        joinMartBitsetIndex.rebuild(discountInfo);
+        priceMatrixEngine = mock(PriceMatrixEngine.class);
+        when(priceMatrixEngine.current()).thenReturn(matrix);
+        martSellingCache = new MartSellingCache();
+        cartVersionRegistry = new CartVersionRegistry(new InMemoryCartVersionOperations());
+        memberBasketTotals = new MemberBasketTotals(
+                priceMatrixEngine, joinMartBitsetIndex, martSellingCache, cartVersionRegistry);
+    }
+
+    @Test
+    @DisplayName("임의의 장바구니 변경을 증분 반영한 합계가 전체 재계산과 같음")
+    void 증분_반영_일관성테스트() {
+        Random random = new Random(90);
+        Map<Long, Long> cart = new TreeMap<>();
+        memberBasketTotals.rebuild(MEMBER_ID, cartVersionRegistry.current(MEMBER_ID), toCartProducts(cart));
+
+        for (int step = 0; step < 2_000; step++) {
+            long version = cartVersionRegistry.bump(MEMBER_ID);
+            if (random.nextInt(50) == 0) {
+                cart.clear();
+                memberBasketTotals.onCleared(MEMBER_ID, version);
+            } else {
+                // 가격 행렬에 없는 상품(PRODUCT_COUNT + 1)도 섞어서 변경
+                long productId = 1L + random.nextInt(PRODUCT_COUNT + 1);
+                long quantity = random.nextInt(4) == 0 ? 0L : 1L + random.nextInt(5);
+                if (quantity == 0) {
+                    cart.remove(productId);
+                } else {
+                    cart.put(productId, quantity);
+                }
+                memberBasketTotals.onLineChanged(MEMBER_ID, productId, quantity, version);
+            }
+
+            MemberBasketTotals.Totals incremental = memberBasketTotals.find(MEMBER_ID, version);
+            assertThat(incremental).as("step %d", step).isNotNull();
+            assertThat(incremental).as("step %d", step).isEqualTo(recompute(cart));
+            assertThat(incremental.joinIdToTotal()).as("step %d", step).isEqualTo(naiveTotals(cart));
+        }
+    }
+
+    @Test
+    @DisplayName("장바구니 버전을 건너뛴 변경이 오면 상태를 버리고 다시 읽도록 함")
+    void 버전_건너뜀_무효화테스트() {
+        memberBasketTotals.rebuild(MEMBER_ID, 0L, toCartProducts(Map.of(1L, 1L)));
+        cartVersionRegistry.bump(MEMBER_ID);
+
+        memberBasketTotals.onLineChanged(MEMBER_ID, 2L, 1L, cartVersionRegistry.bump(MEMBER_ID));
+
+        assertThat(memberBasketTotals.find(MEMBER_ID, 2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("가격 데이터가 바뀌면 유지 중인 합계를 사용하지 않음")
+    void 가격_변경_무효화테스트() {
+        memberBasketTotals.rebuild(MEMBER_ID, 0L, toCartProducts(Map.of(1L, 1L)));
+        assertThat(memberBasketTotals.find(MEMBER_ID, 0L)).isNotNull();
+
+        martSellingCache.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(2L, 1L));
+
+        assertThat(memberBasketTotals.find(MEMBER_ID, 0L)).isNull();
+    }
+
+    @Test
+    @DisplayName("장바구니를 읽는 사이 변경이 커밋되면 재생성한 상태를 저장하지 않음")
+    void 재생성_중_변경테스트() {
+        long versionBeforeRead = cartVersionRegistry.current(MEMBER_ID);
+        cartVersionRegistry.bump(MEMBER_ID);
+
+        memberBasketTotals.rebuild(MEMBER_ID, versionBeforeRead, toCartProducts(Map.of(1L, 1L)));
+
+        assertThat(memberBasketTotals.find(MEMBER_ID, versionBeforeRead)).isNull();
+    }
+
+    /** 새 인스턴스에서 장바구니 전체로 다시 계산 */
+    private MemberBasketTotals.Totals recompute(Map<Long, Long> cart) {
+        MemberBasketTotals fresh = new MemberBasketTotals(
+                priceMatrixEngine, joinMartBitsetIndex, martSellingCache, new CartVersionRegistry(new InMemoryCartVersionOperations()));
+        return fresh.rebuild(MEMBER_ID, 0L, toCartProducts(cart));
+    }
+
+    /** 가격 행렬만으로 장바구니 상품을 모두 판매하는 조인마트 합계 계산 */
+    private Map<Long, Long> naiveTotals(Map<Long, Long> cart) {
+        Map<Long, Long> totals = new HashMap<>();
+        boolean anyPriced = cart.keySet().stream().anyMatch(productId -> matrix.productIndex(productId) >= 0);
+        if (!anyPriced) {
+            return totals;
+        }
+        for (int col = 0; col < matrix.joinCount(); col++) {
+            long total = 0L;
+            for (Map.Entry<Long, Long> line : cart.entrySet()) {
+                int row = matrix.productIndex(line.getKey());
+                if (row < 0) {
+                    continue;
+                }
+                long price = matrix.finalPrice(row, col);
+                if (price == PriceMatrix.NOT_SOLD) {
+                    total = PriceMatrix.NOT_SOLD;
+                    break;
+                }
+                total += price * line.getValue();
+            }
+            if (total != PriceMatrix.NOT_SOLD) {
+                totals.put(matrix.joinIdAt(col), total);
+            }
+        }
+        return totals;
+    }
+
+    private List<CartProductDto> toCartProducts(Map<Long, Long> cart) {
+        return cart.entrySet().stream()
+                .map(line -> new CartProductDto(line.getValue(), MEMBER_ID, line.getKey()))
+                .toList();
+    }
+}
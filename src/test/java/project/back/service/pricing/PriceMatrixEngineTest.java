@@ -0,0 +1,90 @@
+package project.back.service.pricing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import project.back.dto.DiscountInfoDto;
+import project.back.repository.MartProductRepository;
+import project.back.repository.ProductRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceMatrixEngineTest {
+
+    @Mock
+    private MartProductRepository martProductRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private PriceDataVersion priceDataVersion;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PriceMatrixEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PriceMatrixEngine(martProductRepository, productRepository, new JoinMartBitsetIndex(),
+                priceDataVersion, eventPublisher);
+        when(productRepository.findAllProductIds()).thenReturn(List.of(1L));
+        when(martProductRepository.findAllDiscountInfos()).thenReturn(List.of(
+                new DiscountInfoDto(1L, "당근", 1L, null, 1_000L, null)));
+        when(priceDataVersion.current()).thenReturn(3L);
+        engine.initialize();
+    }
+
+    @Test
+    @DisplayName("가격 데이터가 그대로면 다시 만들지 않음")
+    void 변경_없음_테스트() {
+        PriceMatrix matrix = engine.current();
+
+        engine.refreshIfChanged();
+
+        assertThat(engine.current()).isSameAs(matrix);
+        verify(martProductRepository, times(1)).findAllDiscountInfos();
+    }
+
+    @Test
+    @DisplayName("이 인스턴스의 mart_product 수정이 커밋되면 버전을 올리고 다음 주기에 다시 만듦")
+    void 수정_반영_테스트() {
+        engine.onMartProductChanged(new MartProductChangedEvent(1L, 1L, MartProductChangedEvent.Type.UPDATED));
+        verify(priceDataVersion).increment();
+        when(martProductRepository.findAllDiscountInfos()).thenReturn(List.of(
+                new DiscountInfoDto(1L, "당근", 1L, null, 800L, null)));
+
+        engine.refreshIfChanged();
+
+        assertThat(engine.current().finalPrice(0, 0)).isEqualTo(800L);
+    }
+
+    @Test
+    @DisplayName("마트가 조인마트에 연결되면 다른 인스턴스도 다시 읽도록 버전을 올림")
+    void 마트_연결_테스트() {
+        engine.onMartLinked(new MartLinkedEvent(1L, 1L));
+
+        verify(priceDataVersion).increment();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 버전을 올렸거나 Redis 를 쓸 수 없다가 다시 되면 다시 만듦")
+    void 다른_인스턴스_변경_테스트() {
+        PriceMatrix matrix = engine.current();
+
+        when(priceDataVersion.current()).thenReturn(PriceDataVersion.UNKNOWN);
+        engine.refreshIfChanged();
+        assertThat(engine.current()).isSameAs(matrix);
+
+        when(priceDataVersion.current()).thenReturn(4L);
+        engine.refreshIfChanged();
+        assertThat(engine.current()).isNotSameAs(matrix);
+        assertThat(engine.current().getVersion()).isEqualTo(matrix.getVersion() + 1);
+    }
+}
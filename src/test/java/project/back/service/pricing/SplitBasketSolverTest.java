@@ -0,0 +1,149 @@
+package project.back.service.pricing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SplitBasketSolverTest {
+
+    private static final long NOT_SOLD = SplitBasketSolver.NOT_SOLD;
+    private static final long NO_LIMIT = Long.MAX_VALUE / 4;
+
+    @Test
+    @DisplayName("한 마트보다 나눠 사는 쪽이 싸면 두 마트로 나눔")
+    void 두_마트_분할테스트() {
+        long[][] costs = {
+                {3000L, 2400L},
+                {4000L, 5000L}};
+
+        SplitBasketSolver.Result result = SplitBasketSolver.solve(costs, 2, 2, 0L, NO_LIMIT);
+
+        assertThat(result.stores()).containsExactly(0, 1);
+        assertThat(result.assignment()).containsExactly(1, 0);
+        assertThat(result.totalCost()).isEqualTo(6400L);
+        assertThat(result.optimal()).isTrue();
+    }
+
+    @Test
+    @DisplayName("추가 마트 페널티가 절약 금액보다 크면 한 마트에서 구매")
+    void 추가_마트_페널티테스트() {
+        long[][] costs = {
+                {3000L, 2400L},
+                {4000L, 5000L}};
+
+        SplitBasketSolver.Result result = SplitBasketSolver.solve(costs, 2, 2, 1000L, NO_LIMIT);
+
+        assertThat(result.stores()).containsExactly(0);
+        assertThat(result.totalCost()).isEqualTo(7000L);
+        assertThat(result.penalty()).isZero();
+    }
+
+    @Test
+    @DisplayName("추가 마트 페널티가 음수면 예외, 곱이 long 범위를 넘으면 음수로 돌지 않고 예외")
+    void 페널티_범위테스트() {
+        long[][] costs = {
+                {3000L, 2400L, 1000L},
+                {4000L, 5000L, 1000L}};
+
+        assertThatThrownBy(() -> SplitBasketSolver.solve(costs, 3, 3, -1L, NO_LIMIT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SplitBasketSolver.solve(costs, 3, 3, Long.MAX_VALUE / 2 + 1, NO_LIMIT))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("최대 마트 수 안에서 모든 상품을 살 수 없으면 조합 없음")
+    void 조합_없음테스트() {
+        long[][] costs = {
+                {1000L, NOT_SOLD, NOT_SOLD},
+                {NOT_SOLD, 1000L, NOT_SOLD},
+                {NOT_SOLD, NOT_SOLD, 1000L}};
+
+        assertThat(SplitBasketSolver.solve(costs, 3, 2, 0L, NO_LIMIT).feasible()).isFalse();
+        assertThat(SplitBasketSolver.solve(costs, 3, 3, 0L, NO_LIMIT).totalCost()).isEqualTo(3000L);
+    }
+
+    @Test
+    @DisplayName("임의 장바구니에서 전체 탐색과 같은 최저 금액")
+    void 전체_탐색_비교테스트() {
+        Random random = new Random(8);
+        for (int iteration = 0; iteration < 2_000; iteration++) {
+            int items = 1 + random.nextInt(8);
+            int stores = 1 + random.nextInt(9);
+            int maxStores = 1 + random.nextInt(3);
+            long penalty = random.nextBoolean() ? 0L : random.nextInt(2_000);
+            long[][] costs = new long[items][stores];
+            for (long[] itemCosts : costs) {
+                for (int s = 0; s < stores; s++) {
+                    itemCosts[s] = (random.nextInt(10) < 7) ? 100 + random.nextInt(5_000) : NOT_SOLD;
+                }
+            }
+
+            SplitBasketSolver.Result result = SplitBasketSolver.solve(costs, stores, maxStores, penalty, NO_LIMIT);
+
+            long expected = bruteForce(costs, stores, maxStores, penalty);
+            assertThat(result.feasible() ? result.totalCost() : NO_LIMIT).isEqualTo(expected);
+            if (result.feasible()) {
+                assertThat(cost(costs, result.stores(), penalty)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("시간 예산을 넘기면 그때까지의 최적 조합을 반환")
+    void 시간_예산테스트() {
+        Random random = new Random(80);
+        int items = 50;
+        int stores = 400;
+        long[][] costs = new long[items][stores];
+        for (long[] itemCosts : costs) {
+            for (int s = 0; s < stores; s++) {
+                itemCosts[s] = (random.nextInt(10) < 8) ? 1_000 + random.nextInt(5_000) : NOT_SOLD;
+            }
+        }
+
+        long start = System.nanoTime();
+        SplitBasketSolver.Result result = SplitBasketSolver.solve(costs, stores, 3, 500L, 1L);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(result.feasible()).isTrue();
+        assertThat(result.optimal()).isFalse();
+        assertThat(cost(costs, result.stores(), 500L)).isEqualTo(result.totalCost());
+        assertThat(elapsedMillis).isLessThan(1_000L);
+    }
+
+    private long bruteForce(long[][] costs, int stores, int maxStores, long penalty) {
+        long best = NO_LIMIT;
+        for (int a = 0; a < stores; a++) {
+            best = Math.min(best, cost(costs, new int[]{a}, penalty));
+            for (int b = a + 1; b < stores && maxStores >= 2; b++) {
+                best = Math.min(best, cost(costs, new int[]{a, b}, penalty));
+                for (int c = b + 1; c < stores && maxStores >= 3; c++) {
+                    best = Math.min(best, cost(costs, new int[]{a, b, c}, penalty));
+                }
+            }
+        }
+        return best;
+    }
+
+    private long cost(long[][] costs, int[] stores, long penalty) {
+        long total = penalty * (stores.length - 1);
+        for (long[] itemCosts : costs) {
+            long min = NO_LIMIT;
+            for (int s : stores) {
+                if (itemCosts[s] != NOT_SOLD) {
+                    min = Math.min(min, itemCosts[s]);
+                }
+            }
+            if (min == NO_LIMIT) {
+                return NO_LIMIT;
+            }
+            total += min;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,136 @@
+package project.back.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.back.dto.ProductSearchDto;
+import project.back.entity.Product;
+import project.back.repository.ProductRepository;
+import project.back.service.pricing.PriceMatrixRebuiltEvent;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(productRepository);
+    }
+
+    @Test
+    @DisplayName("가격 데이터를 불러올 때 적재하고, 일치 정도 > 짧은 이름 > 상품 id 순으로 정렬")
+    void 검색_정렬_테스트() {
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "유기농 당근"),
+                product(2L, "당근"),
+                product(3L, "흙당근"),
+                product(4L, "당근 주스"),
+                product(5L, "이준오의 당근"),
+                product(6L, "양파")));
+        assertThat(index.isReady()).isFalse();
+
+        index.onPriceMatrixRebuilt(new PriceMatrixRebuiltEvent(1L, 0L));
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("당근")).extracting(ProductSearchDto::getProductId)
+                .containsExactly(2L, 4L, 1L, 5L, 3L);
+        assertThat(index.search("당")).hasSize(5);
+        assertThat(index.search("당근 주")).extracting(ProductSearchDto::getProductName).containsExactly("당근 주스");
+        assertThat(index.search("파프리카")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조합형(NFD) 한글과 영문 대소문자도 같은 글자로 검색")
+    void 정규화_테스트() {
+        index.rebuild(List.of(product(1L, "Fresh 감자"), product(2L, "감자칩")));
+
+        assertThat(index.search(Normalizer.normalize("감자", Normalizer.Form.NFD))).hasSize(2);
+        assertThat(index.search("FRESH")).extracting(ProductSearchDto::getProductId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("상품 저장/이름 변경/삭제가 커밋되면 인덱스에 반영")
+    void 변경_반영_테스트() {
+        index.rebuild(List.of(product(1L, "마늘"), product(2L, "양파")));
+
+        index.onProductChanged(new ProductChangedEvent(3L, "깐마늘", "/garlic.jpeg", ProductChangedEvent.Type.SAVED));
+        index.onProductChanged(new ProductChangedEvent(1L, "통마늘", null, ProductChangedEvent.Type.SAVED));
+        index.onProductChanged(new ProductChangedEvent(2L, "양파", null, ProductChangedEvent.Type.DELETED));
+
+        // 적재 후 저장된 상품은 저장 순으로 뒤에
+        assertThat(index.search("마늘")).extracting(ProductSearchDto::getProductName).containsExactly("깐마늘", "통마늘");
+        assertThat(index.search("깐마늘").get(0).getProductImgUrl()).isEqualTo("/garlic.jpeg");
+        assertThat(index.search("양파")).isEmpty();
+
+        index.onProductChanged(new ProductChangedEvent(1L, "마늘", null, ProductChangedEvent.Type.SAVED));
+        assertThat(index.search("통마늘")).isEmpty();
+        assertThat(index.search("마늘")).extracting(ProductSearchDto::getProductId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("무작위 이름/검색어에서 결과가 부분 문자열 검사와 같음 (변경/삭제 후 포함)")
+    void 부분_문자열_일치_테스트() {
+        Random random = new Random(25);
+        String syllables = "가나다라마바사아자차카타파하당근 ";
+        Map<Long, String> names = new HashMap<>();
+        List<Product> products = new ArrayList<>();
+        for (long productId = 1; productId <= 2_000; productId++) {
+            String name = randomText(random, syllables, 2 + random.nextInt(8));
+            names.put(productId, name);
+            products.add(product(productId, name));
+        }
+        index.rebuild(products);
+        for (int i = 0; i < 1_500; i++) {
+            long productId = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                String name = randomText(random, syllables, 2 + random.nextInt(8));
+                names.put(productId, name);
+                index.put(productId, name, null);
+            } else {
+                names.remove(productId);
+                index.remove(productId);
+            }
+        }
+
+        for (int i = 0; i < 300; i++) {
+            String query = randomText(random, syllables, 1 + random.nextInt(4));
+            List<Long> expected = names.entrySet().stream()
+                    .filter(entry -> entry.getValue().toLowerCase(Locale.ROOT).contains(query))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(index.search(query)).extracting(ProductSearchDto::getProductId)
+                    .as(query)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    private static Product product(Long productId, String productName) {
+        return Product.builder().productId(productId).productName(productName).build();
+    }
+}